@@ -1,10 +1,31 @@
 package com.plsql.tools;
 
+import com.plsql.tools.cache.CacheRegistry;
+import com.plsql.tools.concurrent.AsyncExecutor;
+import com.plsql.tools.concurrent.MicroBatcher;
+import com.plsql.tools.session.ConnectionLease;
+import com.plsql.tools.session.PlsqlSession;
+import com.plsql.tools.warmup.CallManifest;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public abstract class DataSourceAware {
     protected DataSourceProvider dataSourceProvider;
+    protected AsyncExecutor asyncExecutor = AsyncExecutor.DEFAULT;
+    // initialized before the fields of the generated class, which register their caches in it
+    protected final CacheRegistry caches = new CacheRegistry();
+    private final List<MicroBatcher> microBatchers = new CopyOnWriteArrayList<>();
+    // one reference per data source shared by the fields of the generated class, each one listens to the provider
+    // once it resolved its data source
+    private final Map<String, DataSourceRef> dataSourceRefs = new ConcurrentHashMap<>();
+
     public DataSourceAware(DataSourceProvider dataSourceProvider) {
         this.dataSourceProvider = dataSourceProvider;
     }
@@ -16,4 +37,63 @@ public abstract class DataSourceAware {
     protected void closeCnx(Connection cnx) throws SQLException {
         cnx.close();
     }
+
+    // the connection of the session open on the thread, or a new one closed with the lease
+    protected ConnectionLease leaseCnx(String ds) throws SQLException {
+        return PlsqlSession.lease(dataSourceProvider.getDataSource(ds));
+    }
+
+    protected ConnectionLease leaseCnx(DataSourceRef ds) throws SQLException {
+        return PlsqlSession.lease(ds.get());
+    }
+
+    protected DataSourceRef dataSourceRef(String ds) {
+        return dataSourceRefs.computeIfAbsent(ds, name -> new DataSourceRef(dataSourceProvider, name));
+    }
+
+    public void setAsyncExecutor(AsyncExecutor asyncExecutor) {
+        if (asyncExecutor == null) {
+            throw new IllegalArgumentException("Async executor cannot be null");
+        }
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CacheRegistry getCaches() {
+        return caches;
+    }
+
+    /**
+     * The calls made by the service, overridden by the generated class with its {@code CALL_MANIFEST}.
+     */
+    public CallManifest getCallManifest() {
+        return CallManifest.EMPTY;
+    }
+
+    public List<MicroBatcher> getMicroBatchers() {
+        return List.copyOf(microBatchers);
+    }
+
+    /**
+     * Sends the calls queued by the {@code @MicroBatch} procedures then stops their flusher threads.
+     */
+    public void closeMicroBatches() {
+        microBatchers.forEach(MicroBatcher::close);
+    }
+
+    /**
+     * Stops following the replacements of the data sources by the provider, the service keeps the ones it resolved.
+     * A service left to the garbage collector needs no release.
+     */
+    public void releaseDataSources() {
+        dataSourceRefs.values().forEach(DataSourceRef::release);
+    }
+
+    protected MicroBatcher registerMicroBatch(MicroBatcher microBatcher) {
+        microBatchers.add(microBatcher);
+        return microBatcher;
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(String ds, Supplier<T> call) {
+        return asyncExecutor.supplyAsync(ds, call);
+    }
 }
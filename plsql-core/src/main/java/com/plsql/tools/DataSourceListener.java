@@ -0,0 +1,11 @@
+package com.plsql.tools;
+
+import javax.sql.DataSource;
+
+/**
+ * Notified by a {@link DataSourceProvider} when a data source is registered or replaced.
+ */
+@FunctionalInterface
+public interface DataSourceListener {
+    void dataSourceChanged(String dsName, DataSource ds);
+}
@@ -6,4 +6,14 @@ public interface DataSourceProvider {
     void registerDataSource(String dsName, DataSource ds);
 
     DataSource getDataSource(String dsName);
+
+    /**
+     * The generated services resolve a data source once and listen for its replacement, a provider which does not
+     * notify its listeners keeps serving the data source resolved on the first call.
+     */
+    default void addListener(DataSourceListener listener) {
+    }
+
+    default void removeListener(DataSourceListener listener) {
+    }
 }
@@ -0,0 +1,100 @@
+package com.plsql.tools;
+
+import javax.sql.DataSource;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Data source of a generated service, held in a field of the service: it is resolved from the provider on the first
+ * call, then read from the reference until the provider announces its replacement.
+ * <p>
+ * The reference listens to the provider from its first resolution, through a listener holding it weakly: a service
+ * dropped by the application is not kept alive by its provider, and its listener removes itself on the next
+ * notification.
+ */
+public final class DataSourceRef {
+    private final DataSourceProvider provider;
+    private final String name;
+    // guards the first resolution, the listener is added before the provider is read
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile DataSource dataSource;
+    private Listener listener;
+
+    DataSourceRef(DataSourceProvider provider, String name) {
+        this.provider = provider;
+        this.name = name;
+    }
+
+    public DataSource get() {
+        DataSource ds = dataSource;
+        if (ds != null) {
+            return ds;
+        }
+        lock.lock();
+        try {
+            if (dataSource != null) {
+                return dataSource;
+            }
+            if (listener == null) {
+                listener = new Listener(this);
+                provider.addListener(listener);
+            }
+            DataSource resolved = provider.getDataSource(name);
+            if (resolved == null) {
+                throw new IllegalStateException("No data source registered as: " + name);
+            }
+            // a replacement announced while resolving wins over the data source read before it
+            if (dataSource == null) {
+                dataSource = resolved;
+            }
+            return dataSource;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Stops listening to the provider, the data source resolved so far is kept.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (listener != null) {
+                provider.removeListener(listener);
+                listener = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void set(DataSource ds) {
+        dataSource = ds;
+    }
+
+    private static final class Listener implements DataSourceListener {
+        private final WeakReference<DataSourceRef> ref;
+        private final DataSourceProvider provider;
+        private final String name;
+
+        private Listener(DataSourceRef ref) {
+            this.ref = new WeakReference<>(ref);
+            this.provider = ref.provider;
+            this.name = ref.name;
+        }
+
+        @Override
+        public void dataSourceChanged(String dsName, DataSource ds) {
+            DataSourceRef target = ref.get();
+            if (target == null) {
+                provider.removeListener(this);
+            } else if (name.equals(dsName)) {
+                target.set(ds);
+            }
+        }
+    }
+}
@@ -1,20 +1,65 @@
 package com.plsql.tools;
 
 import javax.sql.DataSource;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Copy-on-write registry: a registration publishes a new immutable map, the lookups read it without taking a lock.
+ * The listeners are notified of each registration in the order of the registrations.
+ */
 public class DefaultDataSourceProvider implements DataSourceProvider {
-    private final Map<String, DataSource> map = Collections.synchronizedMap(new HashMap<>());
+    // serializes the registrations and their notifications, never taken by a lookup
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<DataSourceListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, DataSource> dataSources = Map.of();
 
     @Override
     public void registerDataSource(String dsName, DataSource ds) {
-        map.put(dsName, ds);
+        publish(dsName, ds);
     }
 
     @Override
     public DataSource getDataSource(String dsName) {
-        return map.get(dsName);
+        return dataSources.get(dsName);
+    }
+
+    /**
+     * Snapshot of the registered data sources by name.
+     */
+    public Map<String, DataSource> getDataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void addListener(DataSourceListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(DataSourceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers the data source and notifies the listeners, returns the data source it replaces or {@code null}.
+     */
+    protected DataSource publish(String dsName, DataSource ds) {
+        if (dsName == null || ds == null) {
+            throw new IllegalArgumentException("Data source name and data source cannot be null");
+        }
+        lock.lock();
+        try {
+            Map<String, DataSource> copy = new HashMap<>(dataSources);
+            DataSource replaced = copy.put(dsName, ds);
+            dataSources = Map.copyOf(copy);
+            listeners.forEach(listener -> listener.dataSourceChanged(dsName, ds));
+            return replaced;
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.plsql.tools;
+
+import com.plsql.tools.jdbc.ConnectionPool;
+import com.plsql.tools.jdbc.PoolSettings;
+
+import javax.sql.DataSource;
+
+/**
+ * Provider pooling the connections of the data sources registered in it, so the generated calls reuse open
+ * connections without an external pool library.
+ * <pre>{@code
+ * var dsProvider = new PooledDataSourceProvider(PoolSettings.defaults().withMaxSize(32));
+ * dsProvider.registerDataSource("MY_DS", oracleDataSource);
+ * }</pre>
+ * A data source which is already a {@link ConnectionPool} is registered as it is. Registering a name again switches
+ * the services to the new pool and closes the pool it replaces.
+ */
+public class PooledDataSourceProvider extends DefaultDataSourceProvider implements AutoCloseable {
+    private final PoolSettings settings;
+
+    public PooledDataSourceProvider() {
+        this(PoolSettings.defaults());
+    }
+
+    public PooledDataSourceProvider(PoolSettings settings) {
+        if (settings == null) {
+            throw new IllegalArgumentException("Pool settings cannot be null");
+        }
+        this.settings = settings;
+    }
+
+    @Override
+    public void registerDataSource(String dsName, DataSource ds) {
+        registerDataSource(dsName, ds, settings);
+    }
+
+    // the services are pointed at the new pool before the replaced one is closed
+    public void registerDataSource(String dsName, DataSource ds, PoolSettings settings) {
+        ConnectionPool pool = ds instanceof ConnectionPool connectionPool ? connectionPool : new ConnectionPool(ds, settings);
+        DataSource replaced = publish(dsName, pool);
+        if (replaced instanceof ConnectionPool replacedPool && replacedPool != pool) {
+            replacedPool.close();
+        }
+    }
+
+    public ConnectionPool getPool(String dsName) {
+        return (ConnectionPool) getDataSource(dsName);
+    }
+
+    /**
+     * Closes the pools of all the data sources.
+     */
+    @Override
+    public void close() {
+        getDataSources().values().forEach(ds -> ((ConnectionPool) ds).close());
+    }
+}
@@ -0,0 +1,18 @@
+package com.plsql.tools.annotations;
+
+import com.plsql.tools.constants.Constants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tunes a procedure called once per element of its {@code Collection} of {@link Record} parameter.
+ * The calls are sent with JDBC batching, flushed every {@link #size()} elements.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Batch {
+    int size() default Constants.DEFAULT_BATCH_SIZE;
+}
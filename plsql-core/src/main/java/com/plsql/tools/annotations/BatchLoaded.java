@@ -0,0 +1,38 @@
+package com.plsql.tools.annotations;
+
+import com.plsql.tools.constants.Constants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the value of a single key callable through a bulk callable of the same package: the keys requested within
+ * {@link #window()}, or until {@link #maxBatchSize()} keys are waiting, are sent in one call and the returned rows
+ * are handed back to their caller by key.
+ * The bulk callable takes the list of the keys and returns the list of the rows, a key with no row gives
+ * {@code null} or an empty {@code Optional}.
+ * Only the method opening its own connection is batched, the variant taking a {@code Connection} always calls the
+ * single key callable.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface BatchLoaded {
+    /**
+     * Name of the bulk callable.
+     */
+    String bulk();
+
+    /**
+     * Attribute of the returned row holding its key.
+     */
+    String key();
+
+    int maxBatchSize() default Constants.DEFAULT_BATCH_LOAD_MAX_SIZE;
+
+    long window() default Constants.DEFAULT_BATCH_LOAD_WINDOW_MILLIS;
+
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
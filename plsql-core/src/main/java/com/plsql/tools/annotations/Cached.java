@@ -0,0 +1,35 @@
+package com.plsql.tools.annotations;
+
+import com.plsql.tools.constants.Constants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the result of a callable in the service, keyed on the values of its parameters.
+ * Only the method opening its own connection is cached, the variant taking a {@code Connection} always calls the database.
+ * The cached results are shared by the callers and must not be modified.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Cached {
+    /**
+     * Name of the cache, defaults to the method name.
+     */
+    String name() default "";
+
+    int maxEntries() default Constants.DEFAULT_CACHE_MAX_ENTRIES;
+
+    long ttl() default Constants.DEFAULT_CACHE_TTL_SECONDS;
+
+    /**
+     * Time to live of the absent results, {@code null} or an empty {@code Optional}, defaults to {@link #ttl()}.
+     * 0 disables their caching.
+     */
+    long negativeTtl() default Constants.INHERIT;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,16 @@
+package com.plsql.tools.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shares one database call between the concurrent calls of a callable with the same parameter values, all of them
+ * receive its result. Combined with {@link Cached}, the misses of the same key load the result once.
+ * Only the method opening its own connection is coalesced, the variant taking a {@code Connection} always calls the database.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Coalesced {
+}
@@ -0,0 +1,29 @@
+package com.plsql.tools.annotations;
+
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.enums.CommitPolicy;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commit policy of a {@link PlsqlCallable}, the group settings only apply to {@link CommitPolicy#GROUPED}.
+ * <pre>{@code
+ * @PlsqlCallable(name = "log_customer_event", dataSource = "MY_DS",
+ *         commit = @Commit(value = CommitPolicy.GROUPED, groupSize = 64, maxDelay = 2))
+ * }</pre>
+ * Inside a transaction of the session the call is committed with the transaction, whatever its policy.
+ */
+@Target({})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Commit {
+    CommitPolicy value() default CommitPolicy.IMMEDIATE;
+
+    int groupSize() default Constants.DEFAULT_COMMIT_GROUP_SIZE;
+
+    long maxDelay() default Constants.DEFAULT_COMMIT_GROUP_MAX_DELAY_MILLIS;
+
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
@@ -0,0 +1,33 @@
+package com.plsql.tools.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Evicts entries of a {@link Cached} callable of the same service once the call has been executed.
+ * The eviction happens in the statement scope, so a caller managing its own transaction still evicts before committing.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+@Repeatable(Evicts.List.class)
+public @interface Evicts {
+    /**
+     * Name of the cache, the method name of the cached callable unless it names its cache.
+     */
+    String cache();
+
+    /**
+     * Expressions over the parameters giving the key to evict, one per parameter of the cached callable and in the
+     * same order, for example {@code "id"} or {@code "customer.getId()"}. The whole cache is cleared when empty.
+     */
+    String[] key() default {};
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.SOURCE)
+    @interface List {
+        Evicts[] value();
+    }
+}
@@ -1,6 +1,18 @@
 package com.plsql.tools.annotations;
 
+import com.plsql.tools.constants.Constants;
+
 public @interface InnerOutput {
     String value() default "";
     String field() default "";
+
+    /**
+     * Rows fetched per round trip for this cursor, inherited from the enclosing {@link Output} when unset.
+     */
+    int fetchSize() default Constants.INHERIT;
+
+    /**
+     * LOB prefetch size for this cursor, inherited from the enclosing {@link Output} when unset.
+     */
+    int lobPrefetchSize() default Constants.INHERIT;
 }
@@ -0,0 +1,25 @@
+package com.plsql.tools.annotations;
+
+import com.plsql.tools.constants.Constants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues the calls of a void procedure made by concurrent callers and sends them as one JDBC batch, on one
+ * connection, once {@link #maxSize()} calls are waiting or {@link #maxDelay()} after the oldest one was queued.
+ * The method returns when the batch holding its call is committed, its {@code Async} variant returns at once.
+ * Only the method opening its own connection is batched, the variant taking a {@code Connection} always calls the database.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface MicroBatch {
+    int maxSize() default Constants.DEFAULT_MICRO_BATCH_MAX_SIZE;
+
+    long maxDelay() default Constants.DEFAULT_MICRO_BATCH_MAX_DELAY_MILLIS;
+
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
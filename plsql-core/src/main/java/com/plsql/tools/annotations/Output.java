@@ -1,5 +1,7 @@
 package com.plsql.tools.annotations;
 
+import com.plsql.tools.constants.Constants;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -13,4 +15,14 @@ public @interface Output {
     String field() default "";
 
     InnerOutput[] innerOutputs() default {};
+
+    /**
+     * Rows fetched per round trip when reading a cursor output, inherited from {@link PlsqlCallable} when unset.
+     */
+    int fetchSize() default Constants.INHERIT;
+
+    /**
+     * LOB bytes/chars prefetched with each row of a cursor output, inherited from {@link PlsqlCallable} when unset.
+     */
+    int lobPrefetchSize() default Constants.INHERIT;
 }
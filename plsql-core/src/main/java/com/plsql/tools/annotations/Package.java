@@ -13,4 +13,9 @@ public @interface Package {
     String schema() default "";
 
     String datasource() default "";
+
+    /**
+     * Generates a {@code CompletableFuture} returning variant of every callable of the package.
+     */
+    boolean async() default false;
 }
@@ -1,6 +1,8 @@
 package com.plsql.tools.annotations;
 
+import com.plsql.tools.constants.Constants;
 import com.plsql.tools.enums.CallableType;
+import com.plsql.tools.enums.CommitPolicy;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -18,4 +20,24 @@ public @interface PlsqlCallable {
 
     CallableType type() default CallableType.PROCEDURE;
 
+    /**
+     * Default fetch size of the cursor outputs, falls back to the {@code plsql.fetchSize} processor option.
+     */
+    int fetchSize() default Constants.INHERIT;
+
+    /**
+     * Default LOB prefetch size of the cursor outputs, falls back to the {@code plsql.lobPrefetchSize} processor option.
+     */
+    int lobPrefetchSize() default Constants.INHERIT;
+
+    /**
+     * Generates a {@code <methodName>Async} variant returning a {@code CompletableFuture}.
+     */
+    boolean async() default false;
+
+    /**
+     * How the call is committed, {@link CommitPolicy#IMMEDIATE} leaves it to the connection.
+     */
+    Commit commit() default @Commit;
+
 }
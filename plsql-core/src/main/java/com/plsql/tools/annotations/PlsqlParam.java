@@ -10,5 +10,10 @@ import java.lang.annotation.Target;
 public @interface PlsqlParam {
     String value() default "";
 
+    /**
+     * Schema level SQL collection type (for example {@code NUM_TAB}) the collection or array parameter is bound to.
+     */
+    String sqlType() default "";
+
     boolean ignore() default false; // TODO : should I use it ?
 }
@@ -0,0 +1,19 @@
+package com.plsql.tools.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a method written in the {@link Package} class in a transaction: the generated implementation overrides it,
+ * the callables it calls share one connection per data source with auto-commit off and are committed together
+ * when it returns, or rolled back when it throws.
+ * The method must be overridable and declare no checked exception.
+ *
+ * @see com.plsql.tools.session.PlsqlSession#inTransaction(java.util.function.Supplier)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface PlsqlTransaction {
+}
@@ -0,0 +1,41 @@
+package com.plsql.tools.cache;
+
+import java.util.Arrays;
+
+/**
+ * Key of a cached call, made of the values bound to the call in parameter order.
+ * Array parameters are compared by content, the other values with {@code equals}.
+ */
+public final class CacheKey {
+    private static final CacheKey EMPTY = new CacheKey(new Object[0]);
+
+    private final Object[] values;
+    private final int hash;
+
+    private CacheKey(Object[] values) {
+        this.values = values;
+        this.hash = Arrays.deepHashCode(values);
+    }
+
+    public static CacheKey of(Object... values) {
+        return values.length == 0 ? EMPTY : new CacheKey(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CacheKey other && hash == other.hash && Arrays.deepEquals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(values);
+    }
+}
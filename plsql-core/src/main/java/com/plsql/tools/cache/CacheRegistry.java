@@ -0,0 +1,46 @@
+package com.plsql.tools.cache;
+
+import com.plsql.tools.concurrent.SingleFlight;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result caches of a generated service, registered by name when the service is created.
+ */
+public class CacheRegistry {
+    private final Map<String, ResultCache> caches = new ConcurrentHashMap<>();
+
+    public ResultCache register(String name, int maxEntries, long ttl, long negativeTtl, TimeUnit unit) {
+        return register(name, maxEntries, ttl, negativeTtl, unit, false);
+    }
+
+    /**
+     * @param coalesced the concurrent misses of a key share a single load
+     */
+    public ResultCache register(String name, int maxEntries, long ttl, long negativeTtl, TimeUnit unit, boolean coalesced) {
+        ResultCache cache = new ResultCache(name, maxEntries, ttl, negativeTtl, unit, coalesced ? new SingleFlight() : null);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    public ResultCache get(String name) {
+        ResultCache cache = caches.get(name);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + name + ", registered caches: " + caches.keySet());
+        }
+        return cache;
+    }
+
+    public Collection<ResultCache> all() {
+        return caches.values();
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(ResultCache::invalidateAll);
+    }
+}
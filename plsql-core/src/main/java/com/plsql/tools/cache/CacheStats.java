@@ -0,0 +1,21 @@
+package com.plsql.tools.cache;
+
+/**
+ * Snapshot of the counters of a result cache.
+ *
+ * @param hits        lookups answered from the cache
+ * @param misses      lookups that called the database
+ * @param evictions   entries dropped to stay under the maximum size
+ * @param expirations entries dropped because their time to live elapsed
+ * @param size        entries currently cached
+ */
+public record CacheStats(long hits, long misses, long evictions, long expirations, long size) {
+
+    public long requests() {
+        return hits + misses;
+    }
+
+    public double hitRatio() {
+        return requests() == 0 ? 0 : (double) hits / requests();
+    }
+}
@@ -0,0 +1,291 @@
+package com.plsql.tools.cache;
+
+import com.plsql.tools.concurrent.SingleFlight;
+import com.plsql.tools.session.PlsqlSession;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Size bounded cache of call results with a time to live.
+ * <p>
+ * The keys are spread over segments, each one an access ordered {@link LinkedHashMap} guarded by its own
+ * {@link ReentrantLock}, so the least recently used entry of a segment is evicted when it is full and lookups
+ * of different keys rarely contend. The result is loaded outside the lock: two threads missing the same key
+ * at the same time both call the database, unless the loads go through a {@link SingleFlight}.
+ * <p>
+ * Absent results, {@code null} or an empty {@link Optional}, are cached too with their own time to live,
+ * so repeated lookups of a missing key don't reach the database; a time to live of 0 disables it.
+ * <p>
+ * A key invalidated while its result is loaded is not cached with that result, which may predate the write that
+ * invalidated it: each segment counts the loads in flight per key, with a generation bumped by the invalidations.
+ * An invalidation made in a transaction of the {@link PlsqlSession} of the thread runs again once the transaction
+ * ends, the lookups of other threads may have cached the values it replaces until its commit. The lookups made
+ * in the transaction itself bypass the cache.
+ */
+public class ResultCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Segment[] segments;
+    private final SingleFlight loads;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ResultCache(String name, int maxEntries, long ttl, long negativeTtl, TimeUnit unit) {
+        this(name, maxEntries, ttl, negativeTtl, unit, null);
+    }
+
+    /**
+     * @param loads shares the load of a key between the concurrent misses, null to load on every miss
+     */
+    public ResultCache(String name, int maxEntries, long ttl, long negativeTtl, TimeUnit unit, SingleFlight loads) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache max entries must be positive, found: " + maxEntries + " in " + name);
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("Cache time to live must be positive, found: " + ttl + " in " + name);
+        }
+        if (negativeTtl < 0) {
+            throw new IllegalArgumentException("Cache negative time to live must not be negative, found: " + negativeTtl + " in " + name);
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.negativeTtlNanos = unit.toNanos(negativeTtl);
+        this.loads = loads;
+        // a segment keeps at least 16 entries so that small caches still evict the least recently used key
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries / 16)));
+        int segmentCapacity = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns the cached result of the key, or loads it and caches it. A loader failure is not cached.
+     * Inside a transaction of the session the result is loaded on the connection of the session and not cached,
+     * it may see writes of the transaction that are not committed yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Object key, Supplier<V> loader) {
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            return loader.get();
+        }
+        Segment segment = segmentFor(key);
+        Entry entry = segment.get(key, System.nanoTime());
+        if (entry != null) {
+            hits.increment();
+            return (V) entry.value;
+        }
+        misses.increment();
+        if (loads == null) {
+            return load(segment, key, loader);
+        }
+        // the leader caches the result before the flight ends, and a caller that missed it just before opens
+        // a new flight finding it cached
+        return loads.execute(key, () -> {
+            Entry cached = segment.get(key, System.nanoTime());
+            return cached != null ? (V) cached.value : load(segment, key, loader);
+        });
+    }
+
+    private <V> V load(Segment segment, Object key, Supplier<V> loader) {
+        long generation = segment.startLoad(key);
+        Entry loaded = null;
+        try {
+            V value = loader.get();
+            long ttl = isAbsent(value) ? negativeTtlNanos : ttlNanos;
+            if (ttl > 0) {
+                loaded = new Entry(value, System.nanoTime() + ttl);
+            }
+            return value;
+        } finally {
+            segment.endLoad(key, generation, loaded);
+        }
+    }
+
+    public void invalidate(Object key) {
+        segmentFor(key).remove(key);
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            session.afterTransaction(() -> segmentFor(key).remove(key));
+        }
+    }
+
+    public void invalidateAll() {
+        clear();
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            session.afterTransaction(this::clear);
+        }
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        expirations.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static boolean isAbsent(Object value) {
+        return value == null || (value instanceof Optional<?> optional && optional.isEmpty());
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    // the loads of a key in flight, and the generation they started from
+    private static final class Load {
+        private int pending;
+        private long generation;
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, Entry> entries;
+        // only the keys being loaded, removed once their last load ends
+        private final Map<Object, Load> loading = new HashMap<>();
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, ResultCache.Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private Entry get(Object key, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (now - entry.expiresAt >= 0) {
+                    entries.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long startLoad(Object key) {
+            lock.lock();
+            try {
+                Load load = loading.computeIfAbsent(key, k -> new Load());
+                load.pending++;
+                return load.generation;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // the entry is dropped when the key was invalidated since the load started
+        private void endLoad(Object key, long generation, Entry entry) {
+            lock.lock();
+            try {
+                // kept in the map by the pending count of this load
+                Load load = loading.get(key);
+                if (--load.pending == 0) {
+                    loading.remove(key);
+                }
+                if (entry != null && load.generation == generation) {
+                    entries.put(key, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(Object key) {
+            lock.lock();
+            try {
+                entries.remove(key);
+                Load load = loading.get(key);
+                if (load != null) {
+                    load.generation++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+                loading.values().forEach(load -> load.generation++);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // expired entries are only dropped when looked up, they are not counted
+        private int size() {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                int size = 0;
+                for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                    if (now - it.next().expiresAt < 0) {
+                        size++;
+                    }
+                }
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.plsql.tools.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs the asynchronous variants of the generated methods. Share one instance between the services using the same
+ * data sources so the concurrency caps apply to all their calls.
+ */
+public class AsyncExecutor {
+
+    /**
+     * Runs every call on its own thread from {@link CallExecutors}, a virtual thread on Java 21, without any cap.
+     * The blocking calls never occupy the common pool.
+     */
+    public static final AsyncExecutor DEFAULT = threadPerCall();
+
+    private final Executor executor;
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Runs every call on its own thread from {@link CallExecutors}, a virtual thread on Java 21.
+     */
+    public static AsyncExecutor threadPerCall() {
+        return new AsyncExecutor(CallExecutors.newCallExecutor());
+    }
+
+    public AsyncExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Caps the calls running at once on the data source, keep it at or below its pool size.
+     */
+    public AsyncExecutor withMaxConcurrency(String dataSource, int maxConcurrency) {
+        limiters.put(dataSource, new ConcurrencyLimiter(maxConcurrency));
+        return this;
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(String dataSource, Supplier<T> call) {
+        ConcurrencyLimiter limiter = limiters.get(dataSource);
+        if (limiter == null) {
+            return CompletableFuture.supplyAsync(call, executor);
+        }
+        return limiter.submit(call, executor);
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,172 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.session.PlsqlSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Merges the single key lookups arriving within a window into one call of a bulk loader, each caller receives the
+ * value of its own key, or {@code null} when the bulk call returned no row for it.
+ * The first caller of a batch leads it: it waits for the window to elapse, or for the batch to be full, then runs the
+ * bulk call on its own thread and completes the waiting callers. No lock is taken and no thread is started, the
+ * callers claim their slot in the open batch with a counter and park on a {@link CompletableFuture}.
+ * <p>
+ * A lookup made in a transaction of the {@link PlsqlSession} of the thread calls the bulk loader for its key alone,
+ * on the connection of the session, instead of joining a batch run on the connection of another caller.
+ */
+public class BatchLoader<K, V> {
+    // the leader spins this many times for the claimed slots left to publish, then parks until the last one is
+    private static final int PUBLISH_SPINS = 1 << 7;
+    private final Function<List<K>, List<V>> bulk;
+    private final Function<V, K> keyOf;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final AtomicReference<Batch<K, V>> open = new AtomicReference<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public BatchLoader(Function<List<K>, List<V>> bulk, Function<V, K> keyOf, int maxBatchSize, long window, TimeUnit unit) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive, found: " + maxBatchSize);
+        }
+        this.bulk = bulk;
+        this.keyOf = keyOf;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    public V load(K key) {
+        loads.increment();
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            return loadAlone(key);
+        }
+        while (true) {
+            Batch<K, V> batch = open.get();
+            if (batch == null) {
+                Batch<K, V> created = new Batch<>(maxBatchSize);
+                batch = open.compareAndSet(null, created) ? created : open.get();
+                if (batch == null) {
+                    continue;
+                }
+            }
+            int slot = batch.claimed.getAndIncrement();
+            if (slot >= maxBatchSize) {
+                // the batch is full or already sent, the next caller opens a new one
+                open.compareAndSet(batch, null);
+                continue;
+            }
+            claimed(slot);
+            Request<K, V> request = new Request<>(key);
+            batch.requests.set(slot, request);
+            // the slots are published out of order, the one filling the batch, or the last one of a sealed batch,
+            // wakes its leader up
+            int published = batch.published.incrementAndGet();
+            if (slot == 0) {
+                lead(batch);
+            } else if (published == maxBatchSize || published == batch.sealed) {
+                Thread leader = batch.leader;
+                if (leader != null) {
+                    LockSupport.unpark(leader);
+                }
+            }
+            return Futures.await(request.result);
+        }
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Called between the claim of a slot and its publication, the tests slow a claimant down there.
+     */
+    void claimed(int slot) {
+    }
+
+    private V loadAlone(K key) {
+        for (V row : bulk.apply(List.of(key))) {
+            if (key.equals(keyOf.apply(row))) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private void lead(Batch<K, V> batch) {
+        batch.leader = Thread.currentThread();
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining = windowNanos;
+        while (remaining > 0 && batch.published.get() < maxBatchSize) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        open.compareAndSet(batch, null);
+        // no slot is claimed once the batch is sealed, the claimed ones are published shortly after
+        int size = Math.min(batch.claimed.getAndSet(maxBatchSize), maxBatchSize);
+        // either the leader reads the last slot published, or its publisher reads the sealed size and unparks it
+        batch.sealed = size;
+        for (int spins = 0; batch.published.get() < size; spins++) {
+            if (spins < PUBLISH_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        batches.increment();
+        dispatch(batch, size);
+    }
+
+    private void dispatch(Batch<K, V> batch, int size) {
+        Map<K, List<Request<K, V>>> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Request<K, V> request = batch.requests.get(i);
+            byKey.computeIfAbsent(request.key, k -> new ArrayList<>(1)).add(request);
+        }
+        try {
+            List<V> rows = bulk.apply(new ArrayList<>(byKey.keySet()));
+            Map<K, V> values = new HashMap<>(rows.size() * 2);
+            for (V row : rows) {
+                values.putIfAbsent(keyOf.apply(row), row);
+            }
+            byKey.forEach((key, requests) -> requests.forEach(r -> r.result.complete(values.get(key))));
+        } catch (RuntimeException | Error e) {
+            byKey.values().forEach(requests -> requests.forEach(r -> r.result.completeExceptionally(e)));
+        }
+    }
+
+    private static final class Batch<K, V> {
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final AtomicInteger published = new AtomicInteger();
+        private final AtomicReferenceArray<Request<K, V>> requests;
+        private volatile Thread leader;
+        // the number of slots of the batch once its leader sealed it
+        private volatile int sealed = -1;
+
+        private Batch(int maxBatchSize) {
+            this.requests = new AtomicReferenceArray<>(maxBatchSize);
+        }
+    }
+
+    private record Request<K, V>(K key, CompletableFuture<V> result) {
+        private Request(K key) {
+            this(key, new CompletableFuture<>());
+        }
+    }
+}
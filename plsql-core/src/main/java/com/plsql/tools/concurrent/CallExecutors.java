@@ -0,0 +1,37 @@
+package com.plsql.tools.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the blocking PL/SQL calls. On Java 21 and later the multi-release jar replaces this class with one
+ * starting a virtual thread per call, on Java 17 the calls run on a cached pool of daemon platform threads.
+ */
+public final class CallExecutors {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private CallExecutors() {
+    }
+
+    /**
+     * Starts a thread per call, without bound, cap the calls per data source with a {@link ConnectionGate}
+     * or {@link AsyncExecutor#withMaxConcurrency(String, int)}.
+     */
+    public static ExecutorService newCallExecutor() {
+        return Executors.newCachedThreadPool(platformThreads());
+    }
+
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    private static ThreadFactory platformThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "plsql-call-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
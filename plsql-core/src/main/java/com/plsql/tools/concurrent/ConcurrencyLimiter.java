@@ -0,0 +1,101 @@
+package com.plsql.tools.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of tasks running at once without blocking any thread: the tasks over the cap wait in a queue
+ * and are handed to the executor as the running ones complete.
+ */
+public class ConcurrencyLimiter {
+    private final int maxConcurrency;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Queue<Task<?>> pending = new ConcurrentLinkedQueue<>();
+
+    public ConcurrencyLimiter(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive, found: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> supplier, Executor executor) {
+        Task<T> task = new Task<>(supplier, executor);
+        pending.add(task);
+        drain();
+        return task.future;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int running() {
+        return running.get();
+    }
+
+    public int pending() {
+        return pending.size();
+    }
+
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                // the task completing next drains the queue
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Task<?> task = pending.poll();
+            if (task == null) {
+                // taken by a concurrent drain, check again in case a task was added meanwhile
+                running.decrementAndGet();
+                continue;
+            }
+            task.start();
+        }
+    }
+
+    private void release() {
+        running.decrementAndGet();
+        drain();
+    }
+
+    private final class Task<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final Executor executor;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(Supplier<T> supplier, Executor executor) {
+            this.supplier = supplier;
+            this.executor = executor;
+        }
+
+        private void start() {
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                // rejected by the executor
+                future.completeExceptionally(e);
+                release();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.plsql.tools.concurrent;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Limits the connections borrowed at once from a data source with a semaphore. A permit is taken when a connection
+ * is opened and given back when it is closed, the threads over the limit wait on the semaphore, which parks a
+ * virtual thread without pinning its carrier, instead of queuing in the pool.
+ * <pre>{@code
+ * provider.registerDataSource("MY_DS", ConnectionGate.gate(pool, 64, Duration.ofSeconds(5)));
+ * }</pre>
+ */
+public class ConnectionGate implements DataSource {
+    private final DataSource dataSource;
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long timeoutNanos;
+
+    private ConnectionGate(DataSource dataSource, int maxConnections, Duration timeout) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Max connections must be positive, found: " + maxConnections);
+        }
+        this.dataSource = dataSource;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+        this.timeoutNanos = timeout == null ? -1 : timeout.toNanos();
+    }
+
+    /**
+     * Waits without limit for a permit.
+     */
+    public static ConnectionGate gate(DataSource dataSource, int maxConnections) {
+        return new ConnectionGate(dataSource, maxConnections, null);
+    }
+
+    /**
+     * Fails with a {@link SQLTimeoutException} when no permit is released within the timeout.
+     */
+    public static ConnectionGate gate(DataSource dataSource, int maxConnections, Duration timeout) {
+        return new ConnectionGate(dataSource, maxConnections, timeout);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return open(dataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return open(() -> dataSource.getConnection(username, password));
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (timeoutNanos < 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTimeoutException("No connection available within %d ms, %d connections in use"
+                        .formatted(TimeUnit.NANOSECONDS.toMillis(timeoutNanos), maxConnections));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection open(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(ConnectionGate.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ReleasingHandler(connection));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    // gives the permit back on the first close, the other calls go to the connection
+    private final class ReleasingHandler implements InvocationHandler {
+        private final Connection connection;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.session.Committer;
+import com.plsql.tools.session.PlsqlSession;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Commits the calls of concurrent callers together: the calls run one after the other on the connection of the
+ * open group, with auto-commit off, and the group is committed once {@code groupSize} calls joined it, or
+ * {@code maxDelay} after its first call. Each caller returns when its group is committed, the group pays one wait
+ * for the redo log instead of one per call.
+ * <p>
+ * The first caller of a group leads it, it waits for the delay and commits the group when no other caller filled
+ * it, no thread is started. The connection is taken from the pool when a group opens and closed with its commit.
+ * A failing call rolls back its group: the callers of the group fail with it and may retry.
+ * The calls are serialized by a {@link ReentrantLock}, a virtual thread waiting for it does not pin its carrier.
+ */
+public class GroupCommitter implements Committer {
+    private final Supplier<DataSource> dataSource;
+    private final int groupSize;
+    private final long maxDelayNanos;
+    // guards the open group and its connection
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private Group open;
+
+    public GroupCommitter(Supplier<DataSource> dataSource, int groupSize, long maxDelay, TimeUnit unit) {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Commit group size must be positive, found: " + groupSize);
+        }
+        this.dataSource = dataSource;
+        this.groupSize = groupSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    @Override
+    public <T> T execute(Work<T> work) {
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            return executeInSession(session, work);
+        }
+        Group group;
+        T result;
+        lock.lock();
+        try {
+            if (open == null) {
+                open = new Group(openCnx(), System.nanoTime() + maxDelayNanos);
+            }
+            group = open;
+            try {
+                result = work.run(group.cnx);
+            } catch (SQLException e) {
+                rollback(group, e);
+                throw new PlsqlException(e);
+            } catch (RuntimeException | Error e) {
+                rollback(group, e);
+                throw e;
+            }
+            calls.increment();
+            if (++group.size == 1) {
+                group.leader = Thread.currentThread();
+            }
+            if (group.size >= groupSize) {
+                commit(group);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (group.leader == Thread.currentThread()) {
+            lead(group);
+        }
+        Futures.await(group.committed);
+        return result;
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long commits() {
+        return commits.sum();
+    }
+
+    private <T> T executeInSession(PlsqlSession session, Work<T> work) {
+        try {
+            return work.run(session.connection(dataSource.get()));
+        } catch (SQLException e) {
+            throw new PlsqlException(e);
+        }
+    }
+
+    private Connection openCnx() {
+        try {
+            Connection cnx = dataSource.get().getConnection();
+            try {
+                cnx.setAutoCommit(false);
+            } catch (SQLException e) {
+                closeQuietly(cnx, e);
+                throw e;
+            }
+            return cnx;
+        } catch (SQLException e) {
+            throw new PlsqlException("Unable to open the connection of the commit group", e);
+        }
+    }
+
+    // the caller filling the group commits it and wakes the leader up
+    private void lead(Group group) {
+        long remaining;
+        while (!group.committed.isDone() && (remaining = group.deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+        if (group.committed.isDone()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (open == group) {
+                commit(group);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commit(Group group) {
+        open = null;
+        try {
+            group.cnx.commit();
+            commits.increment();
+            group.committed.complete(null);
+        } catch (SQLException e) {
+            group.committed.completeExceptionally(new PlsqlException("Unable to commit the group of " + group.size + " calls", e));
+        } finally {
+            release(group.cnx, null);
+            LockSupport.unpark(group.leader);
+        }
+    }
+
+    private void rollback(Group group, Throwable cause) {
+        open = null;
+        try {
+            group.cnx.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+        release(group.cnx, cause);
+        group.committed.completeExceptionally(new PlsqlException("Commit group rolled back by a failing call", cause));
+        LockSupport.unpark(group.leader);
+    }
+
+    // the connection goes back to the pool as it was taken
+    private static void release(Connection cnx, Throwable cause) {
+        try {
+            cnx.setAutoCommit(true);
+        } catch (SQLException e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+            }
+        }
+        closeQuietly(cnx, cause);
+    }
+
+    private static void closeQuietly(Connection cnx, Throwable cause) {
+        try {
+            cnx.close();
+        } catch (SQLException e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private static final class Group {
+        private final Connection cnx;
+        private final long deadline;
+        private final CompletableFuture<Void> committed = new CompletableFuture<>();
+        private int size;
+        private volatile Thread leader;
+
+        private Group(Connection cnx, long deadline) {
+            this.cnx = cnx;
+            this.deadline = deadline;
+        }
+    }
+}
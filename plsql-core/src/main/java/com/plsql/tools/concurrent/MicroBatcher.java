@@ -0,0 +1,213 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.jdbc.StatementCache;
+import com.plsql.tools.session.PlsqlSession;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends the calls of a procedure made one at a time by many threads as JDBC batches: the calls are queued and a
+ * flusher thread sends them on one connection once {@code maxSize} calls are waiting, or {@code maxDelay} after the
+ * oldest one was queued. Each caller is completed when the batch holding its call is committed, or failed with it.
+ * The callers only touch a {@link ConcurrentLinkedQueue} and a counter, no lock is taken. A call queued while the
+ * batcher closes is either taken out again by its caller, which is rejected, or failed by the close.
+ */
+public class MicroBatcher implements AutoCloseable {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Binds the parameters of one call, the connection creates the SQL collections.
+     */
+    @FunctionalInterface
+    public interface Call {
+        void bind(Connection cnx, CallableStatement stmt) throws SQLException;
+    }
+
+    private final Supplier<DataSource> dataSource;
+    private final String sql;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicReference<Thread> flusher = new AtomicReference<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean closed;
+
+    public MicroBatcher(Supplier<DataSource> dataSource, String call, int maxSize, long maxDelay, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive, found: " + maxSize);
+        }
+        this.dataSource = dataSource;
+        this.sql = call;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    public CompletableFuture<Void> submit(Call call) {
+        if (closed) {
+            throw new IllegalStateException("Micro batcher is closed");
+        }
+        Pending pending = new Pending(call, System.nanoTime(), new CompletableFuture<>());
+        queue.offer(pending);
+        int size = queued.incrementAndGet();
+        // closed meanwhile, the close may have drained the queue already: a call still queued is taken back,
+        // one taken by the flusher or the close is completed by them
+        if (closed && queue.remove(pending)) {
+            queued.decrementAndGet();
+            throw new IllegalStateException("Micro batcher is closed");
+        }
+        // the flusher is woken up to start the delay of the first call, then to send a full batch
+        if (size == 1 || size >= maxSize) {
+            LockSupport.unpark(flusher());
+        }
+        return pending.result;
+    }
+
+    /**
+     * Waits for the batch holding the call to be committed, its failure is rethrown.
+     * Inside a transaction of the session the call is made at once on the connection of the session,
+     * and committed with the transaction.
+     */
+    public void execute(Call call) {
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            executeInSession(session, call);
+            return;
+        }
+        Futures.await(submit(call));
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * Sends the queued calls then stops the flusher, the calls submitted from now on are rejected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = flusher.get();
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // a call queued while the flusher was stopping
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            pending.result.completeExceptionally(new IllegalStateException("Micro batcher is closed"));
+        }
+    }
+
+    private void executeInSession(PlsqlSession session, Call call) {
+        try {
+            Connection cnx = session.connection(dataSource.get());
+            try (CallableStatement stmt = StatementCache.prepareCall(cnx, sql)) {
+                call.bind(cnx, stmt);
+                stmt.execute();
+            }
+        } catch (SQLException e) {
+            throw new PlsqlException(e);
+        }
+    }
+
+    private Thread flusher() {
+        Thread thread = flusher.get();
+        if (thread != null) {
+            return thread;
+        }
+        Thread started = new Thread(this::flushLoop, "plsql-micro-batch-" + THREAD_COUNT.incrementAndGet());
+        started.setDaemon(true);
+        if (flusher.compareAndSet(null, started)) {
+            started.start();
+            return started;
+        }
+        return flusher.get();
+    }
+
+    private void flushLoop() {
+        while (!closed || queued.get() > 0) {
+            Pending oldest = queue.peek();
+            if (oldest == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            long deadline = oldest.queuedAt + maxDelayNanos;
+            long remaining;
+            while (!closed && queued.get() < maxSize && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<Pending> batch = new ArrayList<>(Math.min(queued.get(), maxSize));
+        Pending pending;
+        while (batch.size() < maxSize && (pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (Connection cnx = dataSource.get().getConnection();
+             CallableStatement stmt = StatementCache.prepareCall(cnx, sql)) {
+            List<Pending> bound = new ArrayList<>(batch.size());
+            for (Pending candidate : batch) {
+                // a call failing to bind is failed alone, every call binds all the parameters
+                try {
+                    candidate.call.bind(cnx, stmt);
+                    stmt.addBatch();
+                    bound.add(candidate);
+                } catch (SQLException | RuntimeException e) {
+                    candidate.result.completeExceptionally(new PlsqlException(e));
+                }
+            }
+            if (!bound.isEmpty()) {
+                stmt.executeBatch();
+                if (!cnx.getAutoCommit()) {
+                    cnx.commit();
+                }
+            }
+            calls.add(bound.size());
+            batches.increment();
+            bound.forEach(p -> p.result.complete(null));
+        } catch (SQLException | RuntimeException e) {
+            PlsqlException failure = new PlsqlException(e);
+            batch.forEach(p -> p.result.completeExceptionally(failure));
+        }
+    }
+
+    private record Pending(Call call, long queuedAt, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.session.PlsqlSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares one execution between the concurrent calls with the same key: the first caller runs the call, the callers
+ * arriving while it is in flight wait for its result, or its failure, instead of running the call again.
+ * The in-flight calls are registered with {@code putIfAbsent} in a concurrent map, no lock is taken; the waiting
+ * callers park on a {@link CompletableFuture}, which does not pin a virtual thread.
+ * <p>
+ * A call made in a transaction of the {@link PlsqlSession} of the thread runs alone on the connection of the
+ * session: it neither shares a result that may see writes not committed yet, nor waits for one that misses them.
+ */
+public class SingleFlight {
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Supplier<V> call) {
+        PlsqlSession session = PlsqlSession.current();
+        if (session != null && session.isTransactional()) {
+            return call.get();
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return (V) Futures.await(leader);
+        }
+        executions.increment();
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // the callers arriving from now on start a new execution
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
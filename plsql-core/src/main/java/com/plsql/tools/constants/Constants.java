@@ -3,4 +3,55 @@ package com.plsql.tools.constants;
 public class Constants {
 
     public static final String DEFAULT_OUTPUT_NAME = "p_curs";
+
+    // fetch tuning attributes left to this value inherit the enclosing or global setting
+    public static final int INHERIT = -1;
+
+    // annotation processor options (-A) holding the global fetch tuning defaults
+    public static final String FETCH_SIZE_OPTION = "plsql.fetchSize";
+    public static final String LOB_PREFETCH_SIZE_OPTION = "plsql.lobPrefetchSize";
+    // turns the report of the generated methods too large to be JIT compiled into compilation errors
+    public static final String FAIL_ON_HUGE_METHODS_OPTION = "plsql.failOnHugeMethods";
+
+    // bytecode size above which HotSpot does not JIT compile a method (-XX:HugeMethodLimit)
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    // number of calls sent per executeBatch when a procedure is called for a collection of records
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // rows fetched per round trip at least by a publisher, whatever the demand, bounded by the fetch size of the output
+    public static final int DEFAULT_PUBLISHER_MIN_FETCH_SIZE = 32;
+
+    // statements kept by each physical connection for the generated calls, 0 disables the caching
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+
+    // size and time to live in seconds of the result cache of a @Cached callable
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_CACHE_TTL_SECONDS = 60;
+
+    // keys merged into one bulk call by a @BatchLoaded callable, and the time in milliseconds a batch stays open
+    public static final int DEFAULT_BATCH_LOAD_MAX_SIZE = 100;
+    public static final long DEFAULT_BATCH_LOAD_WINDOW_MILLIS = 2;
+
+    // calls sent per JDBC batch by a @MicroBatch procedure, and the time in milliseconds a call waits for the others
+    public static final int DEFAULT_MICRO_BATCH_MAX_SIZE = 500;
+    public static final long DEFAULT_MICRO_BATCH_MAX_DELAY_MILLIS = 10;
+
+    // calls committed together by a GROUPED commit policy, and the time in milliseconds a call waits for the others
+    public static final int DEFAULT_COMMIT_GROUP_SIZE = 32;
+    public static final long DEFAULT_COMMIT_GROUP_MAX_DELAY_MILLIS = 5;
+
+    // connections kept by a PooledDataSourceProvider for each data source, the time in milliseconds a caller waits for
+    // one and the time an idle one stays open, 0 disables the leak detection and validates every borrowed connection
+    public static final int DEFAULT_POOL_MAX_SIZE = 20;
+    public static final long DEFAULT_POOL_ACQUIRE_TIMEOUT_MILLIS = 30_000;
+    public static final long DEFAULT_POOL_IDLE_TIMEOUT_MILLIS = 600_000;
+    public static final long DEFAULT_POOL_LEAK_THRESHOLD_MILLIS = 0;
+    public static final long DEFAULT_POOL_VALIDATION_BYPASS_MILLIS = 0;
+
+    // connections prepared by a PlsqlWarmup for each data source, the threads preparing them and the time in
+    // milliseconds the warm-up may take
+    public static final int DEFAULT_WARMUP_CONNECTIONS = 4;
+    public static final int DEFAULT_WARMUP_PARALLELISM = 4;
+    public static final long DEFAULT_WARMUP_TIME_BUDGET_MILLIS = 30_000;
 }
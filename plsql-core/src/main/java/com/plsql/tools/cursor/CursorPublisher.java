@@ -0,0 +1,235 @@
+package com.plsql.tools.cursor;
+
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.metrics.CallPhase;
+import com.plsql.tools.metrics.CallTrace;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the rows of a cursor to a single subscriber, a row is fetched and mapped only once it has been requested.
+ * The fetch size follows the outstanding demand, bounded by the fetch size of the cursor when it is handed over,
+ * so a slow subscriber throttles the database read instead of buffering rows. It does not drop below
+ * {@link Constants#DEFAULT_PUBLISHER_MIN_FETCH_SIZE} rows, a subscriber requesting one row at a time would otherwise
+ * pay a round trip per row.
+ * <p>
+ * The rows are read on the thread calling {@link Flow.Subscription#request(long)}. The cursor and its resources are
+ * released once drained, on failure, on cancel or when the subscriber fails to take the subscription.
+ * <p>
+ * The rows are counted by the trace of the call, its fetch phase lasts until the cursor is drained or cancelled.
+ * A cursor released after a failure leaves the call failed.
+ */
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+    private final ResultSet rs;
+    private final RowReader<T> rowReader;
+    private final CallTrace trace;
+    private final AutoCloseable[] resources;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public CursorPublisher(ResultSet rs, RowReader<T> rowReader, CallTrace trace, AutoCloseable... resources) {
+        this.rs = rs;
+        this.rowReader = rowReader;
+        this.trace = trace;
+        this.resources = resources;
+    }
+
+    /**
+     * Returns a publisher releasing the given resources, typically the connection, after the cursor.
+     */
+    public CursorPublisher<T> closing(AutoCloseable... others) {
+        if (subscribed.get()) {
+            throw new IllegalStateException("The cursor is already published");
+        }
+        AutoCloseable[] closing = Arrays.copyOf(resources, resources.length + others.length);
+        System.arraycopy(others, 0, closing, resources.length, others.length);
+        return new CursorPublisher<>(rs, rowReader, trace, closing);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A cursor can only be published to one subscriber"));
+            return;
+        }
+        CursorSubscription subscription = new CursorSubscription(subscriber);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException | Error e) {
+            subscription.abandon();
+            throw e;
+        }
+        subscription.drain();
+    }
+
+    private final class CursorSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // serializes the reads, a request made from onNext is served by the loop already running
+        private final AtomicInteger wip = new AtomicInteger();
+        private final int maxFetchSize;
+        private final int minFetchSize;
+        private volatile boolean cancelled;
+        private volatile boolean abandoned;
+        private volatile Throwable invalidRequest;
+        private volatile boolean demandChanged;
+        private boolean done;
+        private int fetchSize;
+
+        private CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.maxFetchSize = currentFetchSize();
+            this.minFetchSize = Math.min(Constants.DEFAULT_PUBLISHER_MIN_FETCH_SIZE, maxFetchSize);
+            this.fetchSize = maxFetchSize;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested rows must be positive, found: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+                demandChanged = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        // a subscriber failing to take the subscription leaves the call failed
+        private void abandon() {
+            abandoned = true;
+            cancel();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            while (!done) {
+                if (cancelled) {
+                    if (!abandoned) {
+                        trace.complete();
+                    }
+                    release();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                long requested = demand.get();
+                if (requested == 0) {
+                    return;
+                }
+                T row;
+                try {
+                    if (demandChanged) {
+                        demandChanged = false;
+                        adjustFetchSize(requested);
+                    }
+                    if (!rs.next()) {
+                        complete();
+                        return;
+                    }
+                    trace.row();
+                    row = rowReader.read();
+                } catch (SQLException | RuntimeException e) {
+                    fail(e instanceof SQLException ? new PlsqlException(e) : e);
+                    return;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(row);
+                } catch (RuntimeException e) {
+                    // a failing subscriber is treated as cancelled
+                    release();
+                    throw e;
+                }
+            }
+        }
+
+        // the next round trip brings back no more rows than requested, above the minimum, resized when the
+        // subscriber asks for more
+        private void adjustFetchSize(long requested) throws SQLException {
+            int wanted = (int) Math.max(Math.min(requested, maxFetchSize), minFetchSize);
+            if (wanted != fetchSize) {
+                rs.setFetchSize(wanted);
+                fetchSize = wanted;
+            }
+        }
+
+        private int currentFetchSize() {
+            try {
+                return Math.max(rs.getFetchSize(), 1);
+            } catch (SQLException e) {
+                return 1;
+            }
+        }
+
+        private void complete() {
+            trace.complete();
+            RuntimeException failure = release();
+            if (failure != null) {
+                subscriber.onError(failure);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(Throwable failure) {
+            RuntimeException releaseFailure = release();
+            if (releaseFailure != null) {
+                failure.addSuppressed(releaseFailure);
+            }
+            subscriber.onError(failure);
+        }
+
+        private RuntimeException release() {
+            if (done) {
+                return null;
+            }
+            done = true;
+            try {
+                Cursors.closeAll(rs, resources);
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            } finally {
+                trace.phase(CallPhase.CLOSE);
+            }
+        }
+    }
+}
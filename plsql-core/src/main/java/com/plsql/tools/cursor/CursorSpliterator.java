@@ -0,0 +1,93 @@
+package com.plsql.tools.cursor;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.metrics.CallPhase;
+import com.plsql.tools.metrics.CallTrace;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Reads a cursor one row at a time. The number of rows is unknown until the cursor is drained,
+ * so the spliterator is ordered but never sized and does not split.
+ * The cursor and its resources are released once drained, on failure or on {@link #close()}.
+ * <p>
+ * The rows are counted by the trace of the call, its fetch phase lasts until the cursor is drained or closed.
+ * A cursor closed after a failure leaves the call failed.
+ */
+public class CursorSpliterator<T> implements Spliterator<T>, AutoCloseable {
+    private final ResultSet rs;
+    private final RowReader<T> rowReader;
+    private final CallTrace trace;
+    private final AutoCloseable[] resources;
+    private boolean failed;
+    private boolean closed;
+
+    public CursorSpliterator(ResultSet rs, RowReader<T> rowReader, CallTrace trace, AutoCloseable... resources) {
+        this.rs = rs;
+        this.rowReader = rowReader;
+        this.trace = trace;
+        this.resources = resources;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (!rs.next()) {
+                close();
+                return false;
+            }
+            trace.row();
+            action.accept(rowReader.read());
+            return true;
+        } catch (SQLException e) {
+            fail();
+            throw new PlsqlException(e);
+        } catch (RuntimeException | Error e) {
+            // a failing consumer stops the read as well, the cursor is not read again
+            fail();
+            throw e;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!failed) {
+            trace.complete();
+        }
+        try {
+            Cursors.closeAll(rs, resources);
+        } finally {
+            trace.phase(CallPhase.CLOSE);
+        }
+    }
+
+    private void fail() {
+        failed = true;
+        Cursors.closeQuietly(this);
+    }
+}
@@ -0,0 +1,96 @@
+package com.plsql.tools.cursor;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.metrics.CallTrace;
+
+import java.sql.ResultSet;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Entry points used by the generated code to hand an open cursor over to the caller.
+ */
+public class Cursors {
+
+    /**
+     * Lazily maps the rows of the cursor, the cursor and the given resources are closed with the stream.
+     */
+    public static <T> Stream<T> stream(ResultSet rs, RowReader<T> rowReader, CallTrace trace,
+                                       AutoCloseable... resources) {
+        CursorSpliterator<T> spliterator = new CursorSpliterator<>(rs, rowReader, trace, resources);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Releases the given resources in order, typically the connection then the trace of the call, after the cursor
+     * once the stream is closed.
+     */
+    public static <T> Stream<T> closing(Stream<T> stream, AutoCloseable... resources) {
+        return stream.onClose(() -> closeAll(null, resources));
+    }
+
+    /**
+     * Publishes the rows of the cursor as they are requested, the cursor and the given resources are closed
+     * once drained or on cancel.
+     */
+    public static <T> Flow.Publisher<T> publisher(ResultSet rs, RowReader<T> rowReader, CallTrace trace,
+                                                  AutoCloseable... resources) {
+        return new CursorPublisher<>(rs, rowReader, trace, resources);
+    }
+
+    /**
+     * Releases the given resources in order, typically the connection then the trace of the call, after the cursor
+     * once the publisher completes, fails or is cancelled.
+     */
+    public static <T> Flow.Publisher<T> closing(Flow.Publisher<T> publisher, AutoCloseable... resources) {
+        if (!(publisher instanceof CursorPublisher<T> cursorPublisher)) {
+            throw new IllegalArgumentException("Only cursor publishers can release a resource, found: " + publisher);
+        }
+        return cursorPublisher.closing(resources);
+    }
+
+    /**
+     * Defers the call opening the cursor to the subscription, the publisher holds no connection until then.
+     */
+    public static <T> Flow.Publisher<T> deferred(Supplier<Flow.Publisher<T>> call) {
+        return new DeferredPublisher<>(call);
+    }
+
+    public static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // the original failure is the one reported
+        }
+    }
+
+    static void closeAll(AutoCloseable first, AutoCloseable... others) {
+        Exception failure = close(first, null);
+        for (AutoCloseable resource : others) {
+            failure = close(resource, failure);
+        }
+        if (failure != null) {
+            throw failure instanceof PlsqlException plsqlException ? plsqlException : new PlsqlException(failure);
+        }
+    }
+
+    private static Exception close(AutoCloseable resource, Exception failure) {
+        if (resource == null) {
+            return failure;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            if (failure == null) {
+                return e;
+            }
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+}
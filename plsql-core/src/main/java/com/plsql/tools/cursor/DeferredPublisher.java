@@ -0,0 +1,44 @@
+package com.plsql.tools.cursor;
+
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+
+/**
+ * Makes the call opening the cursor when a subscriber comes, on its thread: a publisher that is never subscribed
+ * holds no connection. Each subscriber gets the rows of its own call.
+ * <p>
+ * A call failing to open the cursor is reported to the subscriber with {@link Flow.Subscriber#onError(Throwable)}.
+ */
+final class DeferredPublisher<T> implements Flow.Publisher<T> {
+    private static final Flow.Subscription NO_ROWS = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Supplier<Flow.Publisher<T>> call;
+
+    DeferredPublisher(Supplier<Flow.Publisher<T>> call) {
+        this.call = call;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        Flow.Publisher<T> publisher;
+        try {
+            publisher = call.get();
+        } catch (RuntimeException e) {
+            subscriber.onSubscribe(NO_ROWS);
+            subscriber.onError(e);
+            return;
+        }
+        publisher.subscribe(subscriber);
+    }
+}
@@ -0,0 +1,11 @@
+package com.plsql.tools.cursor;
+
+import java.sql.SQLException;
+
+/**
+ * Maps the row the cursor is currently positioned on, the cursor itself is advanced by the caller.
+ */
+@FunctionalInterface
+public interface RowReader<T> {
+    T read() throws SQLException;
+}
@@ -0,0 +1,22 @@
+package com.plsql.tools.enums;
+
+/**
+ * Commit of a write callable, the policies other than {@link #IMMEDIATE} trade the durability of the last calls
+ * on a crash for the time spent waiting for the redo log to be written.
+ */
+public enum CommitPolicy {
+    /**
+     * The call is committed as the connection is set up to, auto-commit by default.
+     */
+    IMMEDIATE,
+    /**
+     * The call is committed with {@code COMMIT WRITE BATCH NOWAIT}, the method returns before the redo is on disk.
+     */
+    BATCH_NOWAIT,
+    /**
+     * The calls of concurrent callers share one connection and are committed together, once per group of
+     * {@link com.plsql.tools.annotations.Commit#groupSize()} calls or after
+     * {@link com.plsql.tools.annotations.Commit#maxDelay()}. The method returns once its group is committed.
+     */
+    GROUPED
+}
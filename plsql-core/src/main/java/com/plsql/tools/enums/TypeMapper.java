@@ -123,6 +123,14 @@ public enum TypeMapper {
                 this == CHARACTER_WRAPPER;
     }
 
+    /**
+     * Wrapper whose JDBC setter and getter work on the primitive: a null has to be bound with setNull
+     * and a SQL NULL detected with wasNull. Character goes through setString/getString and is left out.
+     */
+    public boolean isUnboxedByJdbc() {
+        return isWrapper() && this != CHARACTER_WRAPPER;
+    }
+
     public static boolean isSimple(String type) {
         TypeMapper typeMapper = fromSimpleName(type);
         return typeMapper != null && typeMapper.isSimple();
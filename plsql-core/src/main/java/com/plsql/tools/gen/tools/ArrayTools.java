@@ -0,0 +1,76 @@
+package com.plsql.tools.gen.tools;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Iterator;
+
+public class ArrayTools {
+
+    /**
+     * Elements handed to the driver to build a SQL collection. Numbers are copied into a primitive array
+     * when the collection has no null, which the driver converts without boxing; otherwise an {@code Object[]}.
+     */
+    public static Object toArrayElements(Collection<?> values) {
+        if (values == null) {
+            return null;
+        }
+        Class<?> elementType = commonType(values);
+        if (elementType == Long.class) {
+            long[] elements = new long[values.size()];
+            int i = 0;
+            for (Object value : values) {
+                elements[i++] = (Long) value;
+            }
+            return elements;
+        } else if (elementType == Integer.class) {
+            int[] elements = new int[values.size()];
+            int i = 0;
+            for (Object value : values) {
+                elements[i++] = (Integer) value;
+            }
+            return elements;
+        } else if (elementType == Double.class) {
+            double[] elements = new double[values.size()];
+            int i = 0;
+            for (Object value : values) {
+                elements[i++] = (Double) value;
+            }
+            return elements;
+        }
+        return values.toArray();
+    }
+
+    /**
+     * Binds the SQL collection, a null one is bound as a null of the given SQL type.
+     */
+    public static void setArray(PreparedStatement stmt, int pos, String sqlType, Array array) throws SQLException {
+        if (array == null) {
+            stmt.setNull(pos, Types.ARRAY, sqlType);
+        } else {
+            stmt.setArray(pos, array);
+        }
+    }
+
+    // the class shared by all the elements, null when empty, mixed or holding a null
+    private static Class<?> commonType(Collection<?> values) {
+        Iterator<?> iterator = values.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Object first = iterator.next();
+        if (first == null) {
+            return null;
+        }
+        Class<?> type = first.getClass();
+        while (iterator.hasNext()) {
+            Object value = iterator.next();
+            if (value == null || value.getClass() != type) {
+                return null;
+            }
+        }
+        return type;
+    }
+}
@@ -0,0 +1,67 @@
+package com.plsql.tools.gen.tools;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Sends the batched calls every {@code batchSize} elements and keeps the update counts and the duration of all the
+ * flushes.
+ */
+public class BatchTracker {
+    private final int batchSize;
+    private int pending;
+    private int[] counts = new int[0];
+    private long executeNanos;
+
+    public BatchTracker(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, found: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void addBatch(PreparedStatement stmt) throws SQLException {
+        stmt.addBatch();
+        if (++pending == batchSize) {
+            flush(stmt);
+        }
+    }
+
+    public void flush(Statement stmt) throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] executed = stmt.executeBatch();
+        executeNanos += System.nanoTime() - start;
+        pending = 0;
+        int offset = counts.length;
+        counts = Arrays.copyOf(counts, offset + executed.length);
+        System.arraycopy(executed, 0, counts, offset, executed.length);
+    }
+
+    /**
+     * Time spent sending the batches so far.
+     */
+    public long executeNanos() {
+        return executeNanos;
+    }
+
+    public int[] counts() {
+        return counts.clone();
+    }
+
+    /**
+     * Sum of the update counts, a call executed without count information
+     * ({@link Statement#SUCCESS_NO_INFO}, as Oracle reports for PL/SQL blocks) counts as one.
+     */
+    public long total() {
+        long total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+}
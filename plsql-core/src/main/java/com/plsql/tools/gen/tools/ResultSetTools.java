@@ -0,0 +1,74 @@
+package com.plsql.tools.gen.tools;
+
+import com.plsql.tools.exceptions.PlsqlException;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultSetTools {
+
+    /**
+     * Resolves the index of a cursor column once, before the rows are iterated.
+     * Fails with the list of the columns returned by the cursor when the alias is unknown.
+     */
+    public static int findColumn(ResultSet rs, String alias) throws SQLException {
+        try {
+            return rs.findColumn(alias);
+        } catch (SQLException e) {
+            throw new PlsqlException(
+                    "Column '%s' is not returned by the cursor, available columns: %s"
+                            .formatted(alias, columnLabels(rs)), e);
+        }
+    }
+
+    /*
+     * Readers of the wrapper columns: the primitive getter is followed by wasNull() so a SQL NULL stays null
+     * instead of becoming 0 or false. Primitive fields keep calling the ResultSet getter and never box.
+     */
+    public static Byte getByte(ResultSet rs, int columnIndex) throws SQLException {
+        byte value = rs.getByte(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Short getShort(ResultSet rs, int columnIndex) throws SQLException {
+        short value = rs.getShort(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Integer getInt(ResultSet rs, int columnIndex) throws SQLException {
+        int value = rs.getInt(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Long getLong(ResultSet rs, int columnIndex) throws SQLException {
+        long value = rs.getLong(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Float getFloat(ResultSet rs, int columnIndex) throws SQLException {
+        float value = rs.getFloat(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Double getDouble(ResultSet rs, int columnIndex) throws SQLException {
+        double value = rs.getDouble(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    public static Boolean getBoolean(ResultSet rs, int columnIndex) throws SQLException {
+        boolean value = rs.getBoolean(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static List<String> columnLabels(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> labels = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.add(metaData.getColumnLabel(i));
+        }
+        return labels;
+    }
+}
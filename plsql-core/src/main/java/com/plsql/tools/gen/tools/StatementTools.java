@@ -0,0 +1,105 @@
+package com.plsql.tools.gen.tools;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Binding and reading of the wrapper parameters. The JDBC setters and getters only take primitives:
+ * a null wrapper is bound with {@code setNull} of its SQL type instead of being unboxed, and a SQL NULL
+ * out parameter is read back as null instead of 0 or false. Primitive parameters don't go through here.
+ */
+public class StatementTools {
+
+    public static void setByte(PreparedStatement stmt, int pos, Byte value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.TINYINT);
+        } else {
+            stmt.setByte(pos, value);
+        }
+    }
+
+    public static void setShort(PreparedStatement stmt, int pos, Short value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.SMALLINT);
+        } else {
+            stmt.setShort(pos, value);
+        }
+    }
+
+    public static void setInt(PreparedStatement stmt, int pos, Integer value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.INTEGER);
+        } else {
+            stmt.setInt(pos, value);
+        }
+    }
+
+    public static void setLong(PreparedStatement stmt, int pos, Long value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.BIGINT);
+        } else {
+            stmt.setLong(pos, value);
+        }
+    }
+
+    public static void setFloat(PreparedStatement stmt, int pos, Float value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.REAL);
+        } else {
+            stmt.setFloat(pos, value);
+        }
+    }
+
+    public static void setDouble(PreparedStatement stmt, int pos, Double value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.DOUBLE);
+        } else {
+            stmt.setDouble(pos, value);
+        }
+    }
+
+    public static void setBoolean(PreparedStatement stmt, int pos, Boolean value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(pos, Types.BOOLEAN);
+        } else {
+            stmt.setBoolean(pos, value);
+        }
+    }
+
+    public static Byte getByte(CallableStatement stmt, int pos) throws SQLException {
+        byte value = stmt.getByte(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Short getShort(CallableStatement stmt, int pos) throws SQLException {
+        short value = stmt.getShort(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Integer getInt(CallableStatement stmt, int pos) throws SQLException {
+        int value = stmt.getInt(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Long getLong(CallableStatement stmt, int pos) throws SQLException {
+        long value = stmt.getLong(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Float getFloat(CallableStatement stmt, int pos) throws SQLException {
+        float value = stmt.getFloat(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Double getDouble(CallableStatement stmt, int pos) throws SQLException {
+        double value = stmt.getDouble(pos);
+        return stmt.wasNull() ? null : value;
+    }
+
+    public static Boolean getBoolean(CallableStatement stmt, int pos) throws SQLException {
+        boolean value = stmt.getBoolean(pos);
+        return stmt.wasNull() ? null : value;
+    }
+}
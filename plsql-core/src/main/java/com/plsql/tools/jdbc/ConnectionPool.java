@@ -0,0 +1,354 @@
+package com.plsql.tools.jdbc;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the physical connections of a data source open between the calls. Closing a borrowed connection hands it
+ * back to the pool, and the statements cached on it by {@link StatementCache} are reused by the next caller.
+ * <p>
+ * A fair semaphore bounds the connections handed out, the callers over the limit wait in arrival order, parked
+ * without pinning the carrier of a virtual thread, and fail with a {@link SQLTimeoutException} after the acquire
+ * timeout. The idle connections sit in a {@link ConcurrentLinkedDeque}, the last one returned is borrowed first
+ * so the others grow idle and are closed. No lock is taken when a connection is available.
+ * <p>
+ * An idle connection is validated before being handed out again, unless it was returned within the validation
+ * bypass of the settings, and one whose borrower hit a connection failure is closed when returned. A daemon
+ * thread closes the connections idle for too long and reports, with the stack of their borrower, the connections
+ * held beyond the leak threshold.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(ConnectionPool.class.getName());
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 1000;
+
+    private final DataSource dataSource;
+    private final PoolSettings settings;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(DataSource dataSource, PoolSettings settings) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        this.dataSource = dataSource;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize(), true);
+        String threadName = "plsql-pool-housekeeper-" + POOL_COUNT.incrementAndGet();
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleAtFixedRate(this::houseKeep, HOUSEKEEPING_PERIOD_MILLIS, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        acquire();
+        try {
+            PooledConnection pooled = take();
+            pooled.borrowedAt = System.nanoTime();
+            pooled.borrower = settings.detectsLeaks() ? new Exception("Connection borrowed by " + Thread.currentThread().getName()) : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            borrows.increment();
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ReturningHandler(pooled));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * The pool holds the connections of a single user, those of another one are not pooled.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connection pool does not open connections for another user");
+    }
+
+    public PoolSettings getSettings() {
+        return settings;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public PoolStats stats() {
+        return new PoolStats(size.get(), idle.size(), borrowed.size(), permits.getQueueLength(),
+                borrows.sum(), created.sum(), timeouts.sum(), evicted.sum(), leaks.sum());
+    }
+
+    /**
+     * Closes the idle connections and stops the housekeeping, the borrowed ones are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(settings.acquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("No connection available within %d ms, %d connections in use"
+                        .formatted(settings.acquireTimeout().toMillis(), settings.maxSize()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    // the permit holder opens a connection only when none is idle, so the pool never exceeds its max size
+    private PooledConnection take() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            evicted.increment();
+            destroy(pooled);
+        }
+        Connection connection = dataSource.getConnection();
+        size.incrementAndGet();
+        created.increment();
+        return new PooledConnection(connection);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long idleNanos = System.nanoTime() - pooled.returnedAt;
+        if (idleNanos >= settings.idleTimeout().toNanos()) {
+            return false;
+        }
+        if (idleNanos < settings.validationBypass().toNanos()) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void giveBack(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (pooled.broken) {
+                evicted.increment();
+            }
+            if (closed || pooled.broken || !reset(pooled.connection)) {
+                destroy(pooled);
+                return;
+            }
+            pooled.returnedAt = System.nanoTime();
+            idle.offerFirst(pooled);
+            // a pool closed meanwhile does not see the connection
+            if (closed && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // the work left uncommitted by the borrower is rolled back, the next one finds the connection in auto-commit
+    private boolean reset(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        size.decrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+            // the connection is dropped either way
+        }
+    }
+
+    // run by the housekeeping thread, called directly by the tests
+    void houseKeep() {
+        long now = System.nanoTime();
+        long idleTimeoutNanos = settings.idleTimeout().toNanos();
+        for (PooledConnection pooled : idle) {
+            // a connection borrowed meanwhile is no longer in the deque
+            if (now - pooled.returnedAt >= idleTimeoutNanos && idle.removeFirstOccurrence(pooled)) {
+                evicted.increment();
+                destroy(pooled);
+            }
+        }
+        if (!settings.detectsLeaks()) {
+            return;
+        }
+        long leakThresholdNanos = settings.leakThreshold().toNanos();
+        for (PooledConnection pooled : borrowed) {
+            if (!pooled.leakReported && now - pooled.borrowedAt >= leakThresholdNanos) {
+                pooled.leakReported = true;
+                leaks.increment();
+                LOGGER.log(System.Logger.Level.WARNING, "Connection held for more than %d ms, it may have leaked"
+                        .formatted(settings.leakThreshold().toMillis()), pooled.borrower);
+            }
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    // SQL state class 08 reports a lost or refused connection
+    private static boolean isConnectionFailure(Throwable failure) {
+        return failure instanceof SQLRecoverableException
+                || failure instanceof SQLNonTransientConnectionException
+                || failure instanceof SQLException sqlException
+                && sqlException.getSQLState() != null && sqlException.getSQLState().startsWith("08");
+    }
+
+    private static final class PooledConnection {
+        private final Connection connection;
+        private volatile long returnedAt = System.nanoTime();
+        private volatile long borrowedAt;
+        private volatile Exception borrower;
+        private volatile boolean leakReported;
+        // set when the connection failed its borrower, it is not handed out again
+        private volatile boolean broken;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    // hands the connection back on the first close, the borrower can't use it once returned
+    private final class ReturningHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private ReturningHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + pooled.connection;
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection returned to the pool");
+            }
+            // asked on every prepared call by the statement cache, answered without reflection
+            if (method.getName().equals("isWrapperFor")) {
+                return pooled.connection.isWrapperFor((Class<?>) args[0]);
+            }
+            if (method.getName().equals("unwrap")) {
+                return pooled.connection.unwrap((Class<?>) args[0]);
+            }
+            try {
+                return method.invoke(pooled.connection, args);
+            } catch (InvocationTargetException e) {
+                if (isConnectionFailure(e.getCause())) {
+                    pooled.broken = true;
+                }
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.plsql.tools.jdbc;
+
+import com.plsql.tools.constants.Constants;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link ConnectionPool}.
+ * <pre>{@code
+ * PoolSettings.defaults().withMaxSize(32).withLeakThreshold(Duration.ofSeconds(30))
+ * }</pre>
+ *
+ * @param maxSize        physical connections open at most
+ * @param acquireTimeout time a caller waits for a connection before failing
+ * @param idleTimeout    time an unused connection stays open
+ * @param leakThreshold  time a connection may be held before being reported as leaked, zero disables the detection
+ * @param validationBypass time after its return a connection is handed out again without being validated, zero
+ *                       validates it on every borrow. Within that time a connection killed by the server is handed
+ *                       out and fails the call using it.
+ */
+public record PoolSettings(int maxSize, Duration acquireTimeout, Duration idleTimeout, Duration leakThreshold,
+                           Duration validationBypass) {
+
+    public PoolSettings {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool max size must be positive, found: " + maxSize);
+        }
+        if (acquireTimeout == null || acquireTimeout.isNegative()) {
+            throw new IllegalArgumentException("Acquire timeout must not be negative, found: " + acquireTimeout);
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive, found: " + idleTimeout);
+        }
+        if (leakThreshold == null || leakThreshold.isNegative()) {
+            throw new IllegalArgumentException("Leak threshold must not be negative, found: " + leakThreshold);
+        }
+        if (validationBypass == null || validationBypass.isNegative()) {
+            throw new IllegalArgumentException("Validation bypass must not be negative, found: " + validationBypass);
+        }
+    }
+
+    public static PoolSettings defaults() {
+        return new PoolSettings(Constants.DEFAULT_POOL_MAX_SIZE,
+                Duration.ofMillis(Constants.DEFAULT_POOL_ACQUIRE_TIMEOUT_MILLIS),
+                Duration.ofMillis(Constants.DEFAULT_POOL_IDLE_TIMEOUT_MILLIS),
+                Duration.ofMillis(Constants.DEFAULT_POOL_LEAK_THRESHOLD_MILLIS),
+                Duration.ofMillis(Constants.DEFAULT_POOL_VALIDATION_BYPASS_MILLIS));
+    }
+
+    public PoolSettings withMaxSize(int maxSize) {
+        return new PoolSettings(maxSize, acquireTimeout, idleTimeout, leakThreshold, validationBypass);
+    }
+
+    public PoolSettings withAcquireTimeout(Duration acquireTimeout) {
+        return new PoolSettings(maxSize, acquireTimeout, idleTimeout, leakThreshold, validationBypass);
+    }
+
+    public PoolSettings withIdleTimeout(Duration idleTimeout) {
+        return new PoolSettings(maxSize, acquireTimeout, idleTimeout, leakThreshold, validationBypass);
+    }
+
+    public PoolSettings withLeakThreshold(Duration leakThreshold) {
+        return new PoolSettings(maxSize, acquireTimeout, idleTimeout, leakThreshold, validationBypass);
+    }
+
+    public PoolSettings withValidationBypass(Duration validationBypass) {
+        return new PoolSettings(maxSize, acquireTimeout, idleTimeout, leakThreshold, validationBypass);
+    }
+
+    public boolean detectsLeaks() {
+        return !leakThreshold.isZero();
+    }
+}
@@ -0,0 +1,18 @@
+package com.plsql.tools.jdbc;
+
+/**
+ * Snapshot of the state and the counters of a connection pool.
+ *
+ * @param size     physical connections open
+ * @param idle     connections waiting in the pool
+ * @param borrowed connections held by callers
+ * @param waiting  callers waiting for a connection
+ * @param borrows  connections handed out
+ * @param created  physical connections opened
+ * @param timeouts callers failed for want of a connection
+ * @param evicted  connections closed for being idle too long or failing their validation
+ * @param leaks    connections reported as held beyond the leak threshold
+ */
+public record PoolStats(int size, int idle, int borrowed, int waiting,
+                        long borrows, long created, long timeouts, long evicted, long leaks) {
+}
@@ -0,0 +1,244 @@
+package com.plsql.tools.jdbc;
+
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.exceptions.PlsqlException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Prepares the generated calls with Oracle implicit statement caching enabled on the physical connection,
+ * closing the statement then hands it back to the connection cache instead of closing the cursor,
+ * and the next call with the same string skips the parse.
+ * <p>
+ * Hits and misses are counted by mirroring the least recently used eviction of the driver cache for each
+ * physical connection. Connections of other drivers are used as they are.
+ * The mirrors are held per physical connection, weakly, in a concurrent map: a call takes the lock of its own
+ * connection once and no lock is shared between connections. It is a {@link ReentrantLock} rather than a monitor,
+ * and the driver is never called while holding it, so virtual threads going through the cache do not pin their
+ * carrier.
+ */
+public class StatementCache {
+    private static final String ORACLE_CONNECTION = "oracle.jdbc.OracleConnection";
+
+    private static volatile StatementCache instance = new StatementCache(Constants.DEFAULT_STATEMENT_CACHE_SIZE);
+
+    private final int cacheSize;
+    private final OracleCaching oracleCaching;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // weak keys, the physical connections are released by the pool
+    private final Map<Object, CallMirror> mirrors = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> releasedConnections = new ReferenceQueue<>();
+
+    public StatementCache(int cacheSize) {
+        this(cacheSize, cacheSize > 0 ? OracleCaching.load() : null);
+    }
+
+    // the tests stand in for the driver with their own connection class
+    StatementCache(int cacheSize, Class<?> connectionClass) {
+        this(cacheSize, OracleCaching.of(connectionClass));
+    }
+
+    private StatementCache(int cacheSize, OracleCaching oracleCaching) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size must not be negative, found: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.oracleCaching = oracleCaching;
+    }
+
+    public static StatementCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the cache used by the generated code, a size of 0 disables the caching.
+     * Connections already configured keep their previous cache size.
+     */
+    public static void configure(int cacheSize) {
+        instance = new StatementCache(cacheSize);
+    }
+
+    public static CallableStatement prepareCall(Connection cnx, String call) throws SQLException {
+        return instance.prepare(cnx, call);
+    }
+
+    public CallableStatement prepare(Connection cnx, String call) throws SQLException {
+        if (oracleCaching != null) {
+            Object physicalConnection = oracleCaching.physicalConnection(cnx);
+            if (physicalConnection != null) {
+                record(physicalConnection, call);
+            }
+        }
+        return cnx.prepareCall(call);
+    }
+
+    public StatementCacheStats stats() {
+        return new StatementCacheStats(hits.sum(), misses.sum());
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    private void record(Object physicalConnection, String call) {
+        if (mirrorOf(physicalConnection).record(call)) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+
+    // the first call on a connection enables its caching, the driver is called outside any lock
+    private CallMirror mirrorOf(Object physicalConnection) {
+        CallMirror mirror = mirrors.get(new Lookup(physicalConnection));
+        if (mirror != null) {
+            return mirror;
+        }
+        expungeReleased();
+        CallMirror created = new CallMirror(cacheSize);
+        ConnectionKey key = new ConnectionKey(physicalConnection, releasedConnections);
+        mirror = mirrors.putIfAbsent(key, created);
+        if (mirror != null) {
+            return mirror;
+        }
+        try {
+            oracleCaching.enable(physicalConnection, cacheSize);
+        } catch (RuntimeException e) {
+            mirrors.remove(key, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private void expungeReleased() {
+        Reference<?> released;
+        while ((released = releasedConnections.poll()) != null) {
+            mirrors.remove(released);
+        }
+    }
+
+    // the calls cached by one physical connection, in least recently used order
+    private static final class CallMirror {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Boolean> calls;
+
+        private CallMirror(int cacheSize) {
+            this.calls = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        // true when the call was still cached
+        private boolean record(String call) {
+            lock.lock();
+            try {
+                return calls.put(call, Boolean.TRUE) != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // identity of the physical connection, cleared once the connection is collected
+    private static final class ConnectionKey extends WeakReference<Object> {
+        private final int hash;
+
+        private ConnectionKey(Object connection, ReferenceQueue<Object> queue) {
+            super(connection, queue);
+            this.hash = System.identityHashCode(connection);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Object connection = get();
+            return connection != null && other instanceof ConnectionKey key && key.get() == connection;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // looks a connection up without registering a weak reference
+    private static final class Lookup {
+        private final Object connection;
+
+        private Lookup(Object connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ConnectionKey key && key.get() == connection;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(connection);
+        }
+    }
+
+    // the driver is optional, its caching methods are resolved once
+    private record OracleCaching(Class<?> connectionClass, Method setImplicitCachingEnabled, Method setStatementCacheSize) {
+
+        static OracleCaching load() {
+            try {
+                return of(Class.forName(ORACLE_CONNECTION));
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        static OracleCaching of(Class<?> connectionClass) {
+            try {
+                return new OracleCaching(connectionClass,
+                        connectionClass.getMethod("setImplicitCachingEnabled", boolean.class),
+                        connectionClass.getMethod("setStatementCacheSize", int.class));
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        // a physical connection is used as it is, a wrapper such as a pooled connection is asked for it
+        Object physicalConnection(Connection cnx) throws SQLException {
+            if (connectionClass.isInstance(cnx)) {
+                return cnx;
+            }
+            return cnx.isWrapperFor(connectionClass) ? cnx.unwrap(connectionClass) : null;
+        }
+
+        void enable(Object physicalConnection, int cacheSize) {
+            try {
+                setStatementCacheSize.invoke(physicalConnection, cacheSize);
+                setImplicitCachingEnabled.invoke(physicalConnection, true);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new PlsqlException("Unable to enable the statement cache", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.plsql.tools.jdbc;
+
+/**
+ * Snapshot of the statement cache counters.
+ *
+ * @param hits   calls whose statement was still cached by the physical connection
+ * @param misses calls parsed again by the database
+ */
+public record StatementCacheStats(long hits, long misses) {
+
+    public long requests() {
+        return hits + misses;
+    }
+
+    public double hitRatio() {
+        return requests() == 0 ? 0 : (double) hits / requests();
+    }
+}
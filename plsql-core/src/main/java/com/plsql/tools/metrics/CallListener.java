@@ -0,0 +1,24 @@
+package com.plsql.tools.metrics;
+
+/**
+ * Receives the timings of the generated calls once registered with {@link CallTracing#addListener}.
+ * The methods are called on the thread making the call, they must be quick and must not throw.
+ */
+public interface CallListener {
+
+    /**
+     * A phase of a call ended.
+     *
+     * @param nanos duration of the phase
+     */
+    void phaseEnded(CallableId callable, CallPhase phase, long nanos);
+
+    /**
+     * A call ended.
+     *
+     * @param nanos   duration of the call, from the acquire of the connection to its release
+     * @param rows    rows read from the cursors of the call, or elements sent by a batch
+     * @param outcome failure when the call threw
+     */
+    void callEnded(CallableId callable, long nanos, long rows, CallOutcome outcome);
+}
@@ -0,0 +1,55 @@
+package com.plsql.tools.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link CallListener}: records the latency of each call and of each of its phases in a
+ * {@link LatencyHistogram} per callable, and counts the calls, the failures and the rows.
+ * <pre>{@code
+ * CallMetrics metrics = new CallMetrics();
+ * CallTracing.addListener(metrics);
+ * ...
+ * metrics.get("pkg_customer_management", "get_customer_by_id").latency(CallPhase.EXECUTE).p99();
+ * }</pre>
+ */
+public class CallMetrics implements CallListener {
+    private final Map<CallableId, CallableMetrics> callables = new ConcurrentHashMap<>();
+
+    @Override
+    public void phaseEnded(CallableId callable, CallPhase phase, long nanos) {
+        metrics(callable).recordPhase(phase, nanos);
+    }
+
+    @Override
+    public void callEnded(CallableId callable, long nanos, long rows, CallOutcome outcome) {
+        metrics(callable).recordCall(nanos, rows, outcome);
+    }
+
+    /**
+     * The metrics of the callable, null when it was not called yet.
+     */
+    public CallableMetrics get(CallableId callable) {
+        return callables.get(callable);
+    }
+
+    /**
+     * The metrics of the callable of the package, null when it was not called yet.
+     */
+    public CallableMetrics get(String packageName, String name) {
+        return callables.entrySet().stream()
+                .filter(entry -> entry.getKey().packageName().equals(packageName) && entry.getKey().name().equals(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public Map<CallableId, CallableMetrics> getCallables() {
+        return Map.copyOf(callables);
+    }
+
+    private CallableMetrics metrics(CallableId callable) {
+        CallableMetrics metrics = callables.get(callable);
+        return metrics != null ? metrics : callables.computeIfAbsent(callable, id -> new CallableMetrics());
+    }
+}
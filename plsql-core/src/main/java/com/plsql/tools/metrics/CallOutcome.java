@@ -0,0 +1,6 @@
+package com.plsql.tools.metrics;
+
+public enum CallOutcome {
+    SUCCESS,
+    FAILURE
+}
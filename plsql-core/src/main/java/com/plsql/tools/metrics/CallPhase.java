@@ -0,0 +1,21 @@
+package com.plsql.tools.metrics;
+
+/**
+ * Phases of a generated call, in the order they run. Each phase lasts from the end of the previous one.
+ */
+public enum CallPhase {
+    // the connection is taken from the data source, or from the session
+    ACQUIRE,
+    // the statement is prepared, or found in the statement cache
+    PREPARE,
+    // the parameters are bound and the outputs registered, for a batch the elements are also sent
+    BIND,
+    // the call runs in the database
+    EXECUTE,
+    // the cursors are fetched and mapped to the result, an open cursor is only opened
+    FETCH,
+    // the statement is closed, handed back to the statement cache
+    CLOSE,
+    // the connection is closed, handed back to the pool
+    RELEASE
+}
@@ -0,0 +1,122 @@
+package com.plsql.tools.metrics;
+
+/**
+ * Times the phases of one call for the listeners of {@link CallTracing} and for the {@link PlsqlCallEvent} and
+ * {@link PlsqlFetchEvent} when a flight recording enables them. Without listener nor enabled event the shared
+ * {@link #NOOP} trace is used: nothing is allocated and each method only checks a field.
+ * A trace is confined to the thread making the call, or to the one reading the cursor the call handed over.
+ */
+public final class CallTrace {
+    static final CallTrace NOOP = new CallTrace(null, null, false);
+
+    private final CallableId callable;
+    private final CallListener listener;
+    // null unless the recording enables the event
+    private final PlsqlCallEvent event;
+    private PlsqlFetchEvent fetchEvent;
+    private final boolean recording;
+    private final boolean enabled;
+    private final long start;
+    private long last;
+    private long rows;
+    private CallOutcome outcome = CallOutcome.FAILURE;
+    private boolean ended;
+
+    CallTrace(CallableId callable, CallListener listener, boolean recording) {
+        this.callable = callable;
+        this.listener = listener;
+        this.recording = recording;
+        this.event = recording ? callEvent(callable) : null;
+        this.enabled = listener != null || recording;
+        this.start = enabled ? System.nanoTime() : 0;
+        this.last = start;
+    }
+
+    public void phase(CallPhase phase) {
+        phase(phase, 0);
+    }
+
+    /**
+     * Ends a phase interleaved with the next one, as the binding of a batch with the batches it sends: the nanos
+     * spent in the next phase meanwhile are reported when that phase ends.
+     */
+    public void phase(CallPhase phase, long nextPhaseNanos) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long nanos = now - last - nextPhaseNanos;
+        last = now - nextPhaseNanos;
+        if (listener != null) {
+            listener.phaseEnded(callable, phase, nanos);
+        }
+        if (event != null) {
+            event.phase(phase, nanos);
+        }
+        if (recording && phase == CallPhase.EXECUTE) {
+            fetchEvent = fetchEvent(callable);
+        }
+    }
+
+    public void row() {
+        if (enabled) {
+            rows++;
+        }
+    }
+
+    /**
+     * Ends the fetch phase, the call succeeded unless the statement or the connection fail to close.
+     * A call returning early on an empty cursor completes there.
+     */
+    public void complete() {
+        if (!enabled || outcome == CallOutcome.SUCCESS) {
+            return;
+        }
+        phase(CallPhase.FETCH);
+        outcome = CallOutcome.SUCCESS;
+        if (fetchEvent != null) {
+            fetchEvent.rows = rows;
+            fetchEvent.commit();
+            fetchEvent = null;
+        }
+    }
+
+    /**
+     * Reports the call, a cursor handed over to the caller ends the trace once closed.
+     */
+    public void end() {
+        if (!enabled || ended) {
+            return;
+        }
+        ended = true;
+        if (listener != null) {
+            listener.callEnded(callable, System.nanoTime() - start, rows, outcome);
+        }
+        if (event != null) {
+            event.rows = rows;
+            event.succeeded = outcome == CallOutcome.SUCCESS;
+            event.commit();
+        }
+    }
+
+    // the event lasts from its creation, the threshold of the recording is checked on commit
+    private static PlsqlCallEvent callEvent(CallableId callable) {
+        PlsqlCallEvent callEvent = new PlsqlCallEvent();
+        if (!callEvent.isEnabled()) {
+            return null;
+        }
+        callEvent.callable(callable);
+        callEvent.begin();
+        return callEvent;
+    }
+
+    private static PlsqlFetchEvent fetchEvent(CallableId callable) {
+        PlsqlFetchEvent fetch = new PlsqlFetchEvent();
+        if (!fetch.isEnabled()) {
+            return null;
+        }
+        fetch.callable(callable);
+        fetch.begin();
+        return fetch;
+    }
+}
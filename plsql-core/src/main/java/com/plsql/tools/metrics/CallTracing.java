@@ -0,0 +1,86 @@
+package com.plsql.tools.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registry of the {@link CallListener}s notified by the generated calls, which also emit a {@link PlsqlCallEvent}
+ * and a {@link PlsqlFetchEvent} when a flight recording enables them.
+ * <pre>{@code
+ * CallMetrics metrics = new CallMetrics();
+ * CallTracing.addListener(metrics);
+ * }</pre>
+ * Each generated call starts a {@link CallTrace}: with no listener registered and neither event enabled by a recording
+ * it is a shared no-op trace, the cost of the tracing is a volatile read and two event settings read per call and
+ * a field check per phase.
+ */
+public final class CallTracing {
+    private static final List<CallListener> LISTENERS = new CopyOnWriteArrayList<>();
+    // guards the publication of the listener called by the traces
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    // null when no listener is registered, the only one, or a listener calling them all
+    private static volatile CallListener listener;
+
+    private CallTracing() {
+    }
+
+    public static CallTrace start(CallableId callable) {
+        CallListener current = listener;
+        boolean recording = JfrEvents.isEnabled();
+        return current == null && !recording ? CallTrace.NOOP : new CallTrace(callable, current, recording);
+    }
+
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    public static void addListener(CallListener callListener) {
+        if (callListener == null) {
+            throw new IllegalArgumentException("Call listener cannot be null");
+        }
+        LOCK.lock();
+        try {
+            LISTENERS.add(callListener);
+            publish();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    public static void removeListener(CallListener callListener) {
+        LOCK.lock();
+        try {
+            LISTENERS.remove(callListener);
+            publish();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void publish() {
+        CallListener[] registered = LISTENERS.toArray(CallListener[]::new);
+        listener = switch (registered.length) {
+            case 0 -> null;
+            case 1 -> registered[0];
+            default -> new Multicast(registered);
+        };
+    }
+
+    private record Multicast(CallListener[] listeners) implements CallListener {
+
+        @Override
+        public void phaseEnded(CallableId callable, CallPhase phase, long nanos) {
+            for (CallListener callListener : listeners) {
+                callListener.phaseEnded(callable, phase, nanos);
+            }
+        }
+
+        @Override
+        public void callEnded(CallableId callable, long nanos, long rows, CallOutcome outcome) {
+            for (CallListener callListener : listeners) {
+                callListener.callEnded(callable, nanos, rows, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.plsql.tools.metrics;
+
+/**
+ * Identifies a generated callable in the events of a {@link CallListener} and in the JFR events, the generated
+ * class holds one per callable.
+ *
+ * @param packageName name of the PL/SQL package
+ * @param name        name of the procedure or function
+ * @param dataSource  name of the data source the callable is called on
+ * @param binds       parameters bound by a call, outputs included
+ */
+public record CallableId(String packageName, String name, String dataSource, int binds) {
+
+    @Override
+    public String toString() {
+        return packageName + "." + name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.plsql.tools.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and counters of one callable, recorded by {@link CallMetrics}.
+ */
+public class CallableMetrics {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram[] phases = new LatencyHistogram[CallPhase.values().length];
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    CallableMetrics() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    void recordPhase(CallPhase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    void recordCall(long nanos, long rows, CallOutcome outcome) {
+        latency.record(nanos);
+        this.rows.add(rows);
+        if (outcome == CallOutcome.FAILURE) {
+            failures.increment();
+        }
+    }
+
+    public long calls() {
+        return latency.count();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public LatencyStats latency() {
+        return latency.stats();
+    }
+
+    public LatencyStats latency(CallPhase phase) {
+        return phases[phase.ordinal()].stats();
+    }
+
+    public LatencyHistogram histogram() {
+        return latency;
+    }
+
+    public LatencyHistogram histogram(CallPhase phase) {
+        return phases[phase.ordinal()];
+    }
+}
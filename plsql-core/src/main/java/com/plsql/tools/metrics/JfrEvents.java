@@ -0,0 +1,35 @@
+package com.plsql.tools.metrics;
+
+import jdk.jfr.EventType;
+
+/**
+ * Tells the traces whether a flight recording enables the {@link PlsqlCallEvent} or the {@link PlsqlFetchEvent},
+ * the events are only created then. A recording running with other settings, as the default continuous one,
+ * leaves the calls on the no-op trace.
+ */
+final class JfrEvents {
+    // null on a runtime without the jdk.jfr module, which records nothing
+    private static final EventType CALL;
+    private static final EventType FETCH;
+
+    static {
+        EventType call;
+        EventType fetch;
+        try {
+            call = EventType.getEventType(PlsqlCallEvent.class);
+            fetch = EventType.getEventType(PlsqlFetchEvent.class);
+        } catch (LinkageError | SecurityException e) {
+            call = null;
+            fetch = null;
+        }
+        CALL = call;
+        FETCH = fetch;
+    }
+
+    private JfrEvents() {
+    }
+
+    static boolean isEnabled() {
+        return CALL != null && (CALL.isEnabled() || FETCH.isEnabled());
+    }
+}
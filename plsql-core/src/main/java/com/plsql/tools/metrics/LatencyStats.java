@@ -0,0 +1,15 @@
+package com.plsql.tools.metrics;
+
+/**
+ * Snapshot of a {@link LatencyHistogram}, the durations are in nanoseconds.
+ *
+ * @param count durations recorded
+ * @param mean  average duration
+ * @param p50   median duration
+ * @param p90   90th percentile
+ * @param p99   99th percentile
+ * @param p999  99.9th percentile
+ * @param max   longest duration
+ */
+public record LatencyStats(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+}
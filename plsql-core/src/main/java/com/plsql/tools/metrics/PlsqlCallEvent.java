@@ -0,0 +1,93 @@
+package com.plsql.tools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a generated call, from the acquire of its connection to its release, with the duration of each
+ * {@link CallPhase}. Disabled by default, the recording settings enable it and set its threshold.
+ */
+@Name(PlsqlCallEvent.NAME)
+@Label("PL/SQL Call")
+@Category({"PL/SQL"})
+@Description("Call of a generated PL/SQL callable and the duration of its phases")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public class PlsqlCallEvent extends Event {
+    public static final String NAME = "com.plsql.PlsqlCall";
+
+    @Label("Package")
+    String packageName;
+
+    @Label("Procedure")
+    String procedure;
+
+    @Label("Data Source")
+    String dataSource;
+
+    @Label("Binds")
+    @Description("Parameters bound by the call, outputs included")
+    int binds;
+
+    @Label("Rows")
+    @Description("Rows read from the cursors of the call, or elements sent by a batch")
+    long rows;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Acquire")
+    @Timespan(Timespan.NANOSECONDS)
+    long acquire;
+
+    @Label("Prepare")
+    @Timespan(Timespan.NANOSECONDS)
+    long prepare;
+
+    @Label("Bind")
+    @Timespan(Timespan.NANOSECONDS)
+    long bind;
+
+    @Label("Execute")
+    @Timespan(Timespan.NANOSECONDS)
+    long execute;
+
+    @Label("Fetch")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetch;
+
+    @Label("Close")
+    @Timespan(Timespan.NANOSECONDS)
+    long close;
+
+    @Label("Release")
+    @Timespan(Timespan.NANOSECONDS)
+    long release;
+
+    void callable(CallableId callable) {
+        packageName = callable.packageName();
+        procedure = callable.name();
+        dataSource = callable.dataSource();
+        binds = callable.binds();
+    }
+
+    void phase(CallPhase phase, long nanos) {
+        switch (phase) {
+            case ACQUIRE -> acquire += nanos;
+            case PREPARE -> prepare += nanos;
+            case BIND -> bind += nanos;
+            case EXECUTE -> execute += nanos;
+            case FETCH -> fetch += nanos;
+            case CLOSE -> close += nanos;
+            case RELEASE -> release += nanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.plsql.tools.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of the fetch phase of a generated call: the cursors are read and mapped to the result.
+ * For an open cursor only its opening is recorded, the rows are read by the caller.
+ * Disabled by default, the recording settings enable it and set its threshold.
+ */
+@Name(PlsqlFetchEvent.NAME)
+@Label("PL/SQL Fetch")
+@Category({"PL/SQL"})
+@Description("Rows of a generated PL/SQL call fetched and mapped")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public class PlsqlFetchEvent extends Event {
+    public static final String NAME = "com.plsql.PlsqlFetch";
+
+    @Label("Package")
+    String packageName;
+
+    @Label("Procedure")
+    String procedure;
+
+    @Label("Data Source")
+    String dataSource;
+
+    @Label("Rows")
+    long rows;
+
+    void callable(CallableId callable) {
+        packageName = callable.packageName();
+        procedure = callable.name();
+        dataSource = callable.dataSource();
+    }
+}
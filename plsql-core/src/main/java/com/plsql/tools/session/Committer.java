@@ -0,0 +1,35 @@
+package com.plsql.tools.session;
+
+import com.plsql.tools.concurrent.GroupCommitter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the call of a callable with a {@link com.plsql.tools.enums.CommitPolicy} other than the immediate one,
+ * and commits it. Inside a transaction of the session the call runs on the connection of the session and is
+ * committed with the transaction.
+ */
+public interface Committer {
+
+    /**
+     * Call made on the connection chosen by the committer, auto-commit is off.
+     */
+    @FunctionalInterface
+    interface Work<T> {
+        T run(Connection cnx) throws SQLException;
+    }
+
+    <T> T execute(Work<T> work);
+
+    static Committer batchNowait(Supplier<DataSource> dataSource) {
+        return new NowaitCommitter(dataSource);
+    }
+
+    static Committer grouped(Supplier<DataSource> dataSource, int groupSize, long maxDelay, TimeUnit unit) {
+        return new GroupCommitter(dataSource, groupSize, maxDelay, unit);
+    }
+}
@@ -0,0 +1,33 @@
+package com.plsql.tools.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection used by one generated call: closing the lease closes a connection opened for the call and leaves
+ * the connection of a {@link PlsqlSession} open for the next calls of the session.
+ */
+public final class ConnectionLease implements AutoCloseable {
+    private final Connection connection;
+    private final boolean owned;
+
+    ConnectionLease(Connection connection, boolean owned) {
+        this.connection = connection;
+        this.owned = owned;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    public boolean isShared() {
+        return !owned;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (owned) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.plsql.tools.session;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.jdbc.StatementCache;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Commits each call with {@code COMMIT WRITE BATCH NOWAIT}: the commit returns without waiting for the log writer,
+ * and the redo is written with the next ones. A crash may lose the last calls, which the caller has seen succeed.
+ */
+final class NowaitCommitter implements Committer {
+    private static final String COMMIT_NOWAIT = "COMMIT WRITE BATCH NOWAIT";
+
+    private final Supplier<DataSource> dataSource;
+
+    NowaitCommitter(Supplier<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public <T> T execute(Work<T> work) {
+        PlsqlSession session = PlsqlSession.current();
+        try (ConnectionLease lease = PlsqlSession.lease(dataSource.get())) {
+            Connection cnx = lease.connection();
+            if (session != null && session.isTransactional()) {
+                return work.run(cnx);
+            }
+            boolean autoCommit = cnx.getAutoCommit();
+            if (autoCommit) {
+                cnx.setAutoCommit(false);
+            }
+            try {
+                T result = work.run(cnx);
+                // prepared through the statement cache, the commit is parsed once per connection
+                try (CallableStatement stmt = StatementCache.prepareCall(cnx, COMMIT_NOWAIT)) {
+                    stmt.execute();
+                }
+                return result;
+            } catch (SQLException | RuntimeException | Error e) {
+                // restoring auto-commit would commit what the call did before failing
+                if (autoCommit) {
+                    rollback(cnx, e);
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    cnx.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new PlsqlException(e);
+        }
+    }
+
+    private static void rollback(Connection cnx, Throwable cause) {
+        try {
+            cnx.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
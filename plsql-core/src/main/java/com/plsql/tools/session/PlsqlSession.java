@@ -0,0 +1,226 @@
+package com.plsql.tools.session;
+
+import com.plsql.tools.exceptions.PlsqlException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one connection per data source for the calls of a scope: the generated methods called on the thread that
+ * opened the session borrow its connection instead of taking one from the pool, and reuse the statements
+ * cached on it.
+ * <pre>{@code
+ * try (PlsqlSession session = PlsqlSession.open()) {
+ *     Optional<CustomerGet> customer = customerService.getCustomerById(id);
+ *     customerService.updateCustomer(id, ...);
+ * }
+ * }</pre>
+ * The connections are taken on the first call and closed with the session. A session opened while another one
+ * is open on the thread joins it, and only the outermost close releases the connections.
+ * The session belongs to its thread, the {@code Async} methods and the micro batches run on other threads
+ * and take their own connection.
+ * <p>
+ * {@link #inTransaction(Supplier)} runs the calls of the session with auto-commit off and commits them once at the
+ * end, or rolls them back on failure. {@link #afterTransaction(Runnable)} defers an action until then, such as the
+ * eviction of the cached results the transaction changes.
+ */
+public final class PlsqlSession implements AutoCloseable {
+    private static final ThreadLocal<PlsqlSession> CURRENT = new ThreadLocal<>();
+
+    private final Thread owner = Thread.currentThread();
+    // the data sources are told apart by identity, a pool does not define its equality
+    private final Map<DataSource, ConnectionLease> leases = new IdentityHashMap<>(4);
+    private final List<Runnable> transactionEndActions = new ArrayList<>();
+    private int depth = 1;
+    private boolean transactional;
+
+    private PlsqlSession() {
+    }
+
+    public static PlsqlSession open() {
+        PlsqlSession current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        PlsqlSession session = new PlsqlSession();
+        CURRENT.set(session);
+        return session;
+    }
+
+    /**
+     * Session open on the current thread, {@code null} outside a session.
+     */
+    public static PlsqlSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Connection of the session open on the current thread for the data source, or a new connection closed
+     * with the lease outside a session.
+     */
+    public static ConnectionLease lease(DataSource dataSource) throws SQLException {
+        PlsqlSession session = CURRENT.get();
+        if (session == null) {
+            return new ConnectionLease(dataSource.getConnection(), true);
+        }
+        return session.leaseOf(dataSource);
+    }
+
+    /**
+     * Runs the work in a transaction: the generated calls made by the work share the connections of the session,
+     * with auto-commit off, and are committed together when it returns. A {@link RuntimeException} or an
+     * {@link Error} rolls them back and is rethrown. Inside a transaction the work joins it.
+     * Each data source commits on its own, a transaction over several of them is not atomic.
+     */
+    public static <T> T inTransaction(Supplier<T> work) {
+        try (PlsqlSession session = open()) {
+            if (session.transactional) {
+                return work.get();
+            }
+            session.begin();
+            try {
+                T result = work.get();
+                session.commit();
+                return result;
+            } catch (RuntimeException | Error e) {
+                session.rollback(e);
+                throw e;
+            } finally {
+                session.end();
+            }
+        }
+    }
+
+    public static void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    /**
+     * Runs the action once the transaction of the session ends, committed or rolled back.
+     */
+    public void afterTransaction(Runnable action) {
+        checkOwner();
+        if (!transactional) {
+            throw new IllegalStateException("No transaction is running in the session");
+        }
+        transactionEndActions.add(action);
+    }
+
+    /**
+     * Connection of the session for the data source, taken from it on the first use.
+     */
+    public Connection connection(DataSource dataSource) throws SQLException {
+        return leaseOf(dataSource).connection();
+    }
+
+    @Override
+    public void close() {
+        checkOwner();
+        if (--depth > 0) {
+            return;
+        }
+        CURRENT.remove();
+        List<SQLException> failures = new ArrayList<>();
+        for (ConnectionLease lease : leases.values()) {
+            try {
+                lease.connection().close();
+            } catch (SQLException e) {
+                failures.add(e);
+            }
+        }
+        leases.clear();
+        if (!failures.isEmpty()) {
+            PlsqlException failure = new PlsqlException("Unable to close the connections of the session", failures.get(0));
+            failures.stream().skip(1).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private ConnectionLease leaseOf(DataSource dataSource) throws SQLException {
+        checkOwner();
+        ConnectionLease lease = leases.get(dataSource);
+        if (lease == null) {
+            Connection connection = dataSource.getConnection();
+            lease = new ConnectionLease(connection, false);
+            leases.put(dataSource, lease);
+            if (transactional) {
+                connection.setAutoCommit(false);
+            }
+        }
+        return lease;
+    }
+
+    private void begin() {
+        transactional = true;
+        try {
+            for (ConnectionLease lease : leases.values()) {
+                lease.connection().setAutoCommit(false);
+            }
+        } catch (SQLException e) {
+            end();
+            throw new PlsqlException("Unable to start the transaction", e);
+        }
+    }
+
+    private void commit() {
+        for (ConnectionLease lease : leases.values()) {
+            try {
+                lease.connection().commit();
+            } catch (SQLException e) {
+                PlsqlException failure = new PlsqlException("Unable to commit the transaction", e);
+                // the data sources already committed are not rolled back
+                rollback(failure);
+                throw failure;
+            }
+        }
+    }
+
+    private void rollback(Throwable cause) {
+        for (ConnectionLease lease : leases.values()) {
+            try {
+                lease.connection().rollback();
+            } catch (SQLException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    // the connections stay in the session, the calls made after the transaction commit on their own
+    private void end() {
+        transactional = false;
+        for (ConnectionLease lease : leases.values()) {
+            try {
+                lease.connection().setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // a connection failing here is broken, its next call reports it without hiding the outcome of the work
+            }
+        }
+        List<Runnable> actions = List.copyOf(transactionEndActions);
+        transactionEndActions.clear();
+        actions.forEach(Runnable::run);
+    }
+
+    // the connection is not meant to be shared between threads
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Session opened by " + owner.getName() + " used by " + Thread.currentThread().getName());
+        }
+        if (depth == 0) {
+            throw new IllegalStateException("Session is closed");
+        }
+    }
+}
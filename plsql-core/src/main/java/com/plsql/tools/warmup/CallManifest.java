@@ -0,0 +1,55 @@
+package com.plsql.tools.warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The calls made by a generated service, emitted by the processor as the {@code CALL_MANIFEST} constant of each
+ * {@code *Impl} and returned by {@code getCallManifest()}. It lists the call strings and the data source each one
+ * is made on, {@link PlsqlWarmup} prepares them before the service takes traffic.
+ *
+ * @param calls the calls in the order of the methods of the service
+ */
+public record CallManifest(List<Call> calls) {
+    public static final CallManifest EMPTY = new CallManifest(List.of());
+
+    /**
+     * @param dataSource name of the data source the call is made on
+     * @param sql        the call string, as prepared by the generated method
+     */
+    public record Call(String dataSource, String sql) {
+    }
+
+    public CallManifest {
+        calls = List.copyOf(calls);
+    }
+
+    public static CallManifest of(Call... calls) {
+        return new CallManifest(List.of(calls));
+    }
+
+    public static Call call(String dataSource, String sql) {
+        return new Call(dataSource, sql);
+    }
+
+    public CallManifest merge(CallManifest other) {
+        List<Call> merged = new ArrayList<>(calls);
+        merged.addAll(other.calls);
+        return new CallManifest(merged);
+    }
+
+    /**
+     * The distinct call strings of each data source, methods sharing a callable share its call string.
+     */
+    public Map<String, Set<String>> byDataSource() {
+        Map<String, Set<String>> byDataSource = new LinkedHashMap<>();
+        for (Call call : calls) {
+            byDataSource.computeIfAbsent(call.dataSource(), name -> new LinkedHashSet<>()).add(call.sql());
+        }
+        return byDataSource;
+    }
+}
@@ -0,0 +1,258 @@
+package com.plsql.tools.warmup;
+
+import com.plsql.tools.DataSourceAware;
+import com.plsql.tools.DataSourceProvider;
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.jdbc.ConnectionPool;
+import com.plsql.tools.jdbc.StatementCache;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Brings the generated services to their steady-state latency before they take traffic: for each data source of
+ * their {@link CallManifest} it opens {@code connections} connections, filling the pool, and prepares every call
+ * string on each of them, filling the statement cache of the connection.
+ * <pre>{@code
+ * WarmupReport report = PlsqlWarmup.of(dsProvider)
+ *         .withDescribe(true)
+ *         .withTimeBudget(Duration.ofSeconds(10))
+ *         .run(customerService, customerService2);
+ * }</pre>
+ * The connections are held until the end of the run, so each one is a distinct physical connection, then handed
+ * back to the pool. The driver only sends a call to the database when it is executed, the describe option has the
+ * database parse each call with {@code DBMS_SQL.PARSE}, without running it: the procedures are resolved and
+ * loaded, and a call the database rejects is reported as a failure.
+ * <p>
+ * The connections are prepared in parallel, the run stops when the time budget runs out and reports what was done.
+ */
+public final class PlsqlWarmup {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    // parses the call without executing it, a PL/SQL block is only run by DBMS_SQL.EXECUTE
+    private static final String DESCRIBE_CALL = """
+            DECLARE
+                c INTEGER := DBMS_SQL.OPEN_CURSOR;
+            BEGIN
+                DBMS_SQL.PARSE(c, ?, DBMS_SQL.NATIVE);
+                DBMS_SQL.CLOSE_CURSOR(c);
+            EXCEPTION
+                WHEN OTHERS THEN
+                    DBMS_SQL.CLOSE_CURSOR(c);
+                    RAISE;
+            END;""";
+    // time left to the tasks cancelled by the time budget to hand their connection back
+    private static final long TERMINATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSourceProvider dataSourceProvider;
+    private final int connections;
+    private final int parallelism;
+    private final Duration timeBudget;
+    private final boolean describe;
+
+    private PlsqlWarmup(DataSourceProvider dataSourceProvider, int connections, int parallelism,
+                        Duration timeBudget, boolean describe) {
+        if (dataSourceProvider == null) {
+            throw new IllegalArgumentException("Data source provider cannot be null");
+        }
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Warm-up connections must be positive, found: " + connections);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Warm-up parallelism must be positive, found: " + parallelism);
+        }
+        if (timeBudget == null || timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("Warm-up time budget must be positive, found: " + timeBudget);
+        }
+        this.dataSourceProvider = dataSourceProvider;
+        this.connections = connections;
+        this.parallelism = parallelism;
+        this.timeBudget = timeBudget;
+        this.describe = describe;
+    }
+
+    public static PlsqlWarmup of(DataSourceProvider dataSourceProvider) {
+        return new PlsqlWarmup(dataSourceProvider, Constants.DEFAULT_WARMUP_CONNECTIONS,
+                Constants.DEFAULT_WARMUP_PARALLELISM,
+                Duration.ofMillis(Constants.DEFAULT_WARMUP_TIME_BUDGET_MILLIS), false);
+    }
+
+    /**
+     * Connections prepared for each data source, bounded by the size of a {@link ConnectionPool}.
+     */
+    public PlsqlWarmup withConnections(int connections) {
+        return new PlsqlWarmup(dataSourceProvider, connections, parallelism, timeBudget, describe);
+    }
+
+    public PlsqlWarmup withParallelism(int parallelism) {
+        return new PlsqlWarmup(dataSourceProvider, connections, parallelism, timeBudget, describe);
+    }
+
+    public PlsqlWarmup withTimeBudget(Duration timeBudget) {
+        return new PlsqlWarmup(dataSourceProvider, connections, parallelism, timeBudget, describe);
+    }
+
+    /**
+     * Has the database parse each call once per data source, on the first connection prepared.
+     */
+    public PlsqlWarmup withDescribe(boolean describe) {
+        return new PlsqlWarmup(dataSourceProvider, connections, parallelism, timeBudget, describe);
+    }
+
+    public WarmupReport run(DataSourceAware... services) {
+        CallManifest manifest = CallManifest.EMPTY;
+        for (DataSourceAware service : services) {
+            manifest = manifest.merge(service.getCallManifest());
+        }
+        return run(manifest);
+    }
+
+    public WarmupReport run(CallManifest manifest) {
+        long start = System.nanoTime();
+        Run run = new Run();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : manifest.byDataSource().entrySet()) {
+            String name = entry.getKey();
+            DataSource dataSource = dataSourceProvider.getDataSource(name);
+            if (dataSource == null) {
+                run.failures.add(new WarmupReport.Failure(name, null, new SQLException("Unknown data source: " + name)));
+                continue;
+            }
+            List<String> calls = List.copyOf(entry.getValue());
+            for (int i = 0; i < connectionsOf(dataSource); i++) {
+                boolean describing = describe && i == 0;
+                tasks.add(() -> {
+                    run.warm(name, dataSource, calls, describing);
+                    return null;
+                });
+            }
+        }
+        boolean completed = tasks.isEmpty() || execute(tasks, run);
+        return new WarmupReport(run.connections.intValue(), run.prepared.intValue(), run.described.intValue(),
+                List.copyOf(run.failures), completed, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private boolean execute(List<Callable<Void>> tasks, Run run) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), task -> {
+            Thread thread = new Thread(task, "plsql-warmup-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> futures = executor.invokeAll(tasks, timeBudget.toNanos(), TimeUnit.NANOSECONDS);
+            return futures.stream().noneMatch(Future::isCancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            run.release();
+        }
+    }
+
+    // more connections than the pool holds would wait for the acquire timeout
+    private int connectionsOf(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ConnectionPool.class)) {
+                return Math.min(connections, dataSource.unwrap(ConnectionPool.class).getSettings().maxSize());
+            }
+        } catch (SQLException ignored) {
+            // not a pool
+        }
+        return connections;
+    }
+
+    private static final class Run {
+        private final Queue<Connection> held = new ConcurrentLinkedQueue<>();
+        private final Queue<WarmupReport.Failure> failures = new ConcurrentLinkedQueue<>();
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder prepared = new LongAdder();
+        private final LongAdder described = new LongAdder();
+        private volatile boolean released;
+
+        private void warm(String name, DataSource dataSource, List<String> calls, boolean describing) {
+            Connection cnx;
+            try {
+                cnx = dataSource.getConnection();
+            } catch (SQLException e) {
+                failures.add(new WarmupReport.Failure(name, null, e));
+                return;
+            }
+            hold(cnx);
+            connections.increment();
+            for (String call : calls) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    prepare(cnx, call);
+                    if (describing) {
+                        describe(cnx, call);
+                    }
+                } catch (SQLException e) {
+                    failures.add(new WarmupReport.Failure(name, call, e));
+                }
+            }
+        }
+
+        // closing the statement hands it to the cache of the connection
+        private void prepare(Connection cnx, String call) throws SQLException {
+            try (CallableStatement ignored = StatementCache.prepareCall(cnx, call)) {
+                prepared.increment();
+            }
+        }
+
+        // the native form of the call is the text the driver sends, the database parses the same statement
+        private void describe(Connection cnx, String call) throws SQLException {
+            try (CallableStatement stmt = StatementCache.prepareCall(cnx, DESCRIBE_CALL)) {
+                stmt.setString(1, cnx.nativeSQL(call));
+                stmt.execute();
+                described.increment();
+            }
+        }
+
+        // a connection opened by a task outliving the run is closed by the task itself
+        private void hold(Connection cnx) {
+            held.add(cnx);
+            if (released) {
+                closeHeld();
+            }
+        }
+
+        private void release() {
+            released = true;
+            closeHeld();
+        }
+
+        private void closeHeld() {
+            Connection cnx;
+            while ((cnx = held.poll()) != null) {
+                try {
+                    cnx.close();
+                } catch (SQLException ignored) {
+                    // the connection is dropped either way
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.plsql.tools.warmup;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link PlsqlWarmup} run.
+ *
+ * @param connections connections opened and prepared, over all the data sources
+ * @param prepared    calls prepared, once per connection
+ * @param described   calls parsed by the database
+ * @param failures    the calls the database or the driver rejected, and the connections that could not be opened
+ * @param completed   false when the time budget ran out before every connection was prepared
+ * @param elapsed     duration of the run
+ */
+public record WarmupReport(int connections, int prepared, int described, List<Failure> failures,
+                           boolean completed, Duration elapsed) {
+
+    /**
+     * @param dataSource name of the data source
+     * @param call       the rejected call string, null when no connection could be opened
+     * @param cause      the error of the driver
+     */
+    public record Failure(String dataSource, String call, SQLException cause) {
+    }
+
+    public WarmupReport {
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * True when every call was prepared within the time budget, without failure.
+     */
+    public boolean isReady() {
+        return completed && failures.isEmpty();
+    }
+}
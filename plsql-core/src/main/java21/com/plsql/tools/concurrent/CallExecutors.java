@@ -0,0 +1,26 @@
+package com.plsql.tools.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 version of the call executors, every call runs on its own virtual thread, the carrier is released while
+ * the call waits on the database.
+ */
+public final class CallExecutors {
+
+    private CallExecutors() {
+    }
+
+    /**
+     * Starts a virtual thread per call, without bound, cap the calls per data source with a {@link ConnectionGate}
+     * or {@link AsyncExecutor#withMaxConcurrency(String, int)}.
+     */
+    public static ExecutorService newCallExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("plsql-call-", 1).factory());
+    }
+
+    public static boolean isVirtual() {
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package com.plsql.tools;
+
+import com.plsql.tools.stubs.StubDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSourceRefTest {
+    private final CountingProvider provider = new CountingProvider();
+    private final StubDataSource first = new StubDataSource();
+    private final StubDataSource second = new StubDataSource();
+
+    @Test
+    void shouldFollowTheReplacementsOfItsDataSource() {
+        provider.registerDataSource("ds", first);
+        DataSourceRef ref = new DataSourceRef(provider, "ds");
+
+        assertSame(first, ref.get());
+        provider.registerDataSource("other", second);
+        assertSame(first, ref.get());
+        provider.registerDataSource("ds", second);
+        assertSame(second, ref.get());
+
+        ref.release();
+        provider.registerDataSource("ds", first);
+        assertSame(second, ref.get());
+        assertTrue(provider.listeners.isEmpty());
+    }
+
+    @Test
+    void shouldListenToTheProviderOnceResolved() {
+        provider.registerDataSource("ds", first);
+        DataSourceAware service = new DataSourceAware(provider) {
+        };
+        DataSourceRef ref = service.dataSourceRef("ds");
+
+        // the service does not hand itself to the provider while it is constructed
+        assertTrue(provider.listeners.isEmpty());
+        ref.get();
+        ref.get();
+        assertEquals(1, provider.listeners.size());
+
+        service.releaseDataSources();
+        assertTrue(provider.listeners.isEmpty());
+    }
+
+    @Test
+    void shouldNotKeepACollectedReferenceListening() throws InterruptedException {
+        provider.registerDataSource("ds", first);
+        WeakReference<DataSourceRef> collected = resolvedRef();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collected.get() != null) {
+            if (System.nanoTime() > deadline) {
+                fail("The reference was not collected");
+            }
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, provider.listeners.size());
+        provider.registerDataSource("ds", second);
+
+        assertTrue(provider.listeners.isEmpty());
+    }
+
+    @Test
+    void shouldResolveWhileTheDataSourceIsReplacedConcurrently() throws Exception {
+        int threads = 64;
+        int writers = 4;
+        int rounds = 500;
+        provider.registerDataSource("ds", first);
+        List<DataSourceAware> services = new CopyOnWriteArrayList<>();
+        List<DataSourceRef> refs = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                boolean writer = i < writers;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (writer) {
+                        for (int round = 0; round < rounds; round++) {
+                            provider.registerDataSource("ds", round % 2 == 0 ? second : first);
+                        }
+                        return null;
+                    }
+                    // a service living through the replacements, and one resolving and releasing its data source
+                    DataSourceAware service = new DataSourceAware(provider) {
+                    };
+                    DataSourceRef ref = service.dataSourceRef("ds");
+                    services.add(service);
+                    refs.add(ref);
+                    for (int round = 0; round < rounds; round++) {
+                        assertRegistered(ref.get());
+                        assertRegistered(provider.getDataSource("ds"));
+                        DataSourceAware shortLived = new DataSourceAware(provider) {
+                        };
+                        assertRegistered(shortLived.dataSourceRef("ds").get());
+                        shortLived.releaseDataSources();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every reference follows the last replacement, and stops listening once released
+        StubDataSource last = new StubDataSource();
+        provider.registerDataSource("ds", last);
+        assertEquals(threads - writers, refs.size());
+        assertTrue(refs.stream().allMatch(ref -> ref.get() == last));
+        assertEquals(threads - writers, provider.listeners.size());
+        services.forEach(DataSourceAware::releaseDataSources);
+        assertTrue(provider.listeners.isEmpty());
+    }
+
+    private void assertRegistered(DataSource ds) {
+        assertTrue(ds == first || ds == second, "Not a registered data source: " + ds);
+    }
+
+    private WeakReference<DataSourceRef> resolvedRef() {
+        DataSourceRef ref = new DataSourceRef(provider, "ds");
+        ref.get();
+        return new WeakReference<>(ref);
+    }
+
+    private static final class CountingProvider extends DefaultDataSourceProvider {
+        private final List<DataSourceListener> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void addListener(DataSourceListener listener) {
+            listeners.add(listener);
+            super.addListener(listener);
+        }
+
+        @Override
+        public void removeListener(DataSourceListener listener) {
+            listeners.remove(listener);
+            super.removeListener(listener);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.plsql.tools.cache;
+
+import com.plsql.tools.concurrent.SingleFlight;
+import com.plsql.tools.session.PlsqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedKey() {
+        ResultCache cache = new ResultCache("customers", 2, 1, 1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> load(loads, "a"));
+        cache.get("b", () -> load(loads, "b"));
+        cache.get("a", () -> load(loads, "a"));
+        cache.get("c", () -> load(loads, "c"));
+        cache.get("a", () -> load(loads, "a"));
+        cache.get("b", () -> load(loads, "b"));
+
+        // b, the least recently used when c came, is loaded again
+        assertEquals(4, loads.get());
+        assertEquals(new CacheStats(2, 4, 2, 0, 2), cache.stats());
+    }
+
+    @Test
+    void shouldLoadAgainOnceTheTimeToLiveElapsed() throws InterruptedException {
+        ResultCache cache = new ResultCache("customers", 10, 20, 0, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> load(loads, "a"));
+        assertEquals("a", cache.get("a", () -> load(loads, "a")));
+        Thread.sleep(40);
+        cache.get("a", () -> load(loads, "a"));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void shouldCacheAnAbsentResultForTheNegativeTimeToLive() throws InterruptedException {
+        ResultCache cache = new ResultCache("customers", 10, 60_000, 20, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("missing", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.get("missing", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertEquals(1, loads.get());
+        Thread.sleep(40);
+        cache.get("missing", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheAnAbsentResultWithoutNegativeTimeToLive() {
+        ResultCache cache = new ResultCache("customers", 10, 1, 0, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("missing", () -> load(loads, null));
+        cache.get("missing", () -> load(loads, null));
+        cache.get("present", () -> load(loads, "present"));
+        cache.get("present", () -> load(loads, "present"));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    void shouldNotCacheAFailedLoad() {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("a", () -> {
+            throw new IllegalStateException("ORA-00054");
+        }));
+
+        assertEquals("a", cache.get("a", () -> "a"));
+    }
+
+    @Test
+    void shouldNotCacheAResultLoadedAcrossAnInvalidation() throws Exception {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            loading.countDown();
+            await(invalidated);
+            return "before the write";
+        }));
+        loading.await();
+        cache.invalidate("a");
+        invalidated.countDown();
+
+        assertEquals("before the write", stale.get(5, TimeUnit.SECONDS));
+        assertEquals("after the write", cache.get("a", () -> "after the write"));
+        assertEquals("after the write", cache.get("a", () -> "reloaded"));
+    }
+
+    @Test
+    void shouldNotCacheAResultLoadedAcrossAClear() throws Exception {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch cleared = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            loading.countDown();
+            await(cleared);
+            return "before the write";
+        }));
+        loading.await();
+        cache.invalidateAll();
+        cleared.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+
+        assertEquals("after the write", cache.get("a", () -> "after the write"));
+    }
+
+    @Test
+    void shouldNotLetACallerJoiningAStaleLoadCacheIt() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES, flight);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            loading.countDown();
+            await(invalidated);
+            return "before the write";
+        }));
+        loading.await();
+        cache.invalidate("a");
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> cache.get("a", () -> "joined"));
+        awaitCoalesced(flight);
+        invalidated.countDown();
+
+        assertEquals("before the write", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("before the write", follower.get(5, TimeUnit.SECONDS));
+        assertEquals("after the write", cache.get("a", () -> "after the write"));
+    }
+
+    @Test
+    void shouldInvalidateAgainOnceTheTransactionEnds() {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES);
+
+        PlsqlSession.inTransaction(() -> {
+            cache.invalidate("a");
+            cache.invalidateAll();
+            // other threads still read the values the transaction replaces
+            CompletableFuture.runAsync(() -> {
+                cache.get("a", () -> "before the commit");
+                cache.get("b", () -> "before the commit");
+            }).join();
+            assertEquals(2, cache.stats().size());
+        });
+
+        assertEquals(0, cache.stats().size());
+        assertEquals("after the commit", cache.get("a", () -> "after the commit"));
+    }
+
+    @Test
+    void shouldBypassTheCacheInsideATransaction() {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES, new SingleFlight());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", () -> load(loads, "committed"));
+
+        PlsqlSession.inTransaction(() -> {
+            // the transaction reads its own writes, and does not cache them for the other threads
+            assertEquals("written", cache.get("a", () -> load(loads, "written")));
+            assertEquals("written", cache.get("b", () -> load(loads, "written")));
+        });
+
+        assertEquals(3, loads.get());
+        assertEquals(new CacheStats(0, 1, 0, 0, 1), cache.stats());
+        assertEquals("committed", cache.get("a", () -> load(loads, "reloaded")));
+    }
+
+    @Test
+    void shouldCacheTheLoadsNotCrossingAnInvalidation() throws Exception {
+        ResultCache cache = new ResultCache("customers", 10, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            loading.countDown();
+            await(release);
+            return "a";
+        }));
+        loading.await();
+        cache.invalidate("b");
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        assertEquals("a", cache.get("a", () -> "reloaded"));
+    }
+
+    @Test
+    void shouldLoadEachKeyOnceThroughTheSingleFlight() throws Exception {
+        ResultCache cache = new ResultCache("customers", 1000, 1, 1, TimeUnit.MINUTES, new SingleFlight());
+        AtomicInteger loads = new AtomicInteger();
+        int threads = 8;
+        int keys = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int key = 0; key < keys; key++) {
+                        int current = key;
+                        assertEquals(current, cache.get(current, () -> {
+                            loads.incrementAndGet();
+                            return current;
+                        }));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the result is cached before the flight ends, a caller missing the flight hits it
+        assertEquals(keys, loads.get());
+        assertEquals(keys, cache.stats().size());
+        assertEquals(threads * keys, cache.stats().requests());
+    }
+
+    private static String load(AtomicInteger loads, String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCoalesced(SingleFlight flight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalesced() == 0) {
+            if (System.nanoTime() > deadline) {
+                fail("No caller joined the flight");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.plsql.tools.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncExecutorTest {
+
+    @Test
+    void shouldRunTheDefaultCallsOffTheCommonPool() throws Exception {
+        Thread thread = AsyncExecutor.DEFAULT.supplyAsync("MY_DS", Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.getName().startsWith("plsql-call-"), thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+}
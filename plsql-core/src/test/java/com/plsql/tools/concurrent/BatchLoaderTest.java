@@ -0,0 +1,211 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.session.PlsqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+    private final List<List<Integer>> bulkCalls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldMergeTheLookupsOfTheWindowIntoOneBulkCall() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> keys.stream()
+                .map(BatchLoaderTest::row).toList()), BatchLoaderTest::keyOf, 100, 500, TimeUnit.MILLISECONDS);
+
+        List<String> values = loadConcurrently(loader, List.of(1, 2, 3, 2, 1, 4));
+
+        assertEquals(List.of("row-1", "row-2", "row-3", "row-2", "row-1", "row-4"), values);
+        assertEquals(1, bulkCalls.size());
+        // each key is sent once
+        assertEquals(4, bulkCalls.get(0).size());
+        assertEquals(1, loader.batches());
+        assertEquals(6, loader.loads());
+    }
+
+    @Test
+    void shouldSendAFullBatchWithoutWaitingForTheWindow() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> keys.stream()
+                .map(BatchLoaderTest::row).toList()), BatchLoaderTest::keyOf, 4, 1, TimeUnit.MINUTES);
+        long start = System.nanoTime();
+
+        List<String> values = loadConcurrently(loader, List.of(1, 2, 3, 4, 5, 6, 7, 8));
+
+        assertEquals(List.of("row-1", "row-2", "row-3", "row-4", "row-5", "row-6", "row-7", "row-8"), values);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+        assertEquals(2, bulkCalls.size());
+        assertTrue(bulkCalls.stream().allMatch(keys -> keys.size() == 4));
+    }
+
+    @Test
+    void shouldAnswerNullForAKeyWithoutRow() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> List.of()), BatchLoaderTest::keyOf,
+                10, 0, TimeUnit.MILLISECONDS);
+
+        assertNull(loader.load(1));
+    }
+
+    @Test
+    void shouldFailEveryCallerOfTheBatchWithTheFailureOfTheLeader() throws Exception {
+        PlsqlException failure = new PlsqlException("ORA-01555");
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> {
+            throw failure;
+        }), BatchLoaderTest::keyOf, 3, 1, TimeUnit.MINUTES);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (int key = 1; key <= 3; key++) {
+                int current = key;
+                futures.add(executor.submit(() -> loader.load(current)));
+            }
+            for (Future<String> future : futures) {
+                ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertSame(failure, thrown.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, bulkCalls.size());
+    }
+
+    @Test
+    void shouldGiveEveryCallerTheValueOfItsOwnKey() throws Exception {
+        int maxBatchSize = 8;
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> keys.stream()
+                .map(BatchLoaderTest::row).toList()), BatchLoaderTest::keyOf, maxBatchSize, 1, TimeUnit.MILLISECONDS);
+        int threads = 16;
+        int rounds = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        int key = thread * rounds + round;
+                        assertEquals(row(key), loader.load(key));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every lookup claimed a slot of one batch, and a batch never exceeds its size
+        assertEquals(threads * rounds, bulkCalls.stream().mapToInt(List::size).sum());
+        assertTrue(bulkCalls.stream().allMatch(keys -> keys.size() <= maxBatchSize));
+        assertEquals(bulkCalls.size(), loader.batches());
+    }
+
+    @Test
+    void shouldParkTheLeaderUntilASlowClaimantPublishesItsSlot() throws Exception {
+        long slowNanos = TimeUnit.MILLISECONDS.toNanos(300);
+        CountDownLatch led = new CountDownLatch(1);
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> keys.stream()
+                .map(BatchLoaderTest::row).toList()), BatchLoaderTest::keyOf, 10, 20, TimeUnit.MILLISECONDS) {
+            @Override
+            void claimed(int slot) {
+                if (slot == 0) {
+                    led.countDown();
+                } else {
+                    // the batch is sealed while this slot is claimed and not yet published
+                    LockSupport.parkNanos(slowNanos);
+                }
+            }
+        };
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> leader = executor.submit(() -> {
+                long cpu = threads.getCurrentThreadCpuTime();
+                assertEquals(row(1), loader.load(1));
+                return threads.getCurrentThreadCpuTime() - cpu;
+            });
+            assertTrue(led.await(5, TimeUnit.SECONDS));
+            Future<String> slow = executor.submit(() -> loader.load(2));
+
+            assertEquals(row(2), slow.get(5, TimeUnit.SECONDS));
+            long leaderCpuNanos = leader.get(5, TimeUnit.SECONDS);
+            // the leader waited for the slow slot parked, a spinning leader burns the whole wait
+            assertTrue(leaderCpuNanos < slowNanos / 3, "CPU time of the leader: " + leaderCpuNanos);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(List.of(1, 2)), bulkCalls);
+    }
+
+    @Test
+    void shouldLoadTheKeyAloneInsideATransaction() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(bulk(keys -> List.of(row(2), row(keys.get(0)))),
+                BatchLoaderTest::keyOf, 100, 1, TimeUnit.MINUTES);
+
+        // no window is waited for, the bulk call runs at once on the connection of the transaction
+        String value = PlsqlSession.inTransaction(() -> loader.load(1));
+
+        assertEquals(row(1), value);
+        assertEquals(List.of(List.of(1)), bulkCalls);
+        assertEquals(0, loader.batches());
+    }
+
+    private Function<List<Integer>, List<String>> bulk(Function<List<Integer>, List<String>> rows) {
+        return keys -> {
+            bulkCalls.add(List.copyOf(keys));
+            return rows.apply(keys);
+        };
+    }
+
+    private static List<String> loadConcurrently(BatchLoader<Integer, String> loader, List<Integer> keys)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(keys.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (Integer key : keys) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return loader.load(key);
+                }));
+            }
+            start.countDown();
+            List<String> values = new ArrayList<>();
+            for (Future<String> future : futures) {
+                values.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String row(int key) {
+        return "row-" + key;
+    }
+
+    private static Integer keyOf(String row) {
+        return Integer.valueOf(row.substring("row-".length()));
+    }
+}
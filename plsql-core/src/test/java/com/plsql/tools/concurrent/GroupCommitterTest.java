@@ -0,0 +1,131 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.stubs.StubConnection;
+import com.plsql.tools.stubs.StubDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitterTest {
+    private final StubDataSource dataSource = new StubDataSource();
+
+    @Test
+    void shouldCommitTheCallsOfAFullGroupOnce() throws Exception {
+        GroupCommitter committer = new GroupCommitter(() -> dataSource, 4, 1, TimeUnit.MINUTES);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                int call = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return committer.execute(cnx -> call);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(4, committer.calls());
+        assertEquals(1, committer.commits());
+        assertEquals(1, dataSource.opened().size());
+        StubConnection cnx = dataSource.last();
+        assertEquals(1, cnx.commits());
+        assertTrue(cnx.isClosed());
+    }
+
+    @Test
+    void shouldCommitAPartialGroupOnceTheDelayElapsed() {
+        GroupCommitter committer = new GroupCommitter(() -> dataSource, 10, 20, TimeUnit.MILLISECONDS);
+
+        assertEquals("done", committer.execute(cnx -> "done"));
+
+        assertEquals(1, committer.commits());
+        assertEquals(1, dataSource.last().commits());
+    }
+
+    @Test
+    void shouldRollBackTheWholeGroupOnAFailingCall() throws Exception {
+        GroupCommitter committer = new GroupCommitter(() -> dataSource, 3, 1, TimeUnit.MINUTES);
+        SQLException failure = new SQLException("ORA-00001: unique constraint violated");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<String>> joined = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                joined.add(executor.submit(() -> committer.execute(cnx -> "joined")));
+            }
+            awaitCalls(committer, 2);
+
+            PlsqlException thrown = assertThrows(PlsqlException.class, () -> committer.execute(cnx -> {
+                throw failure;
+            }));
+            assertSame(failure, thrown.getCause());
+            // the calls made before the failing one are rolled back with it
+            for (Future<String> future : joined) {
+                ExecutionException rolledBack = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(PlsqlException.class, rolledBack.getCause());
+                assertSame(failure, rolledBack.getCause().getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        StubConnection cnx = dataSource.last();
+        assertEquals(1, cnx.rollbacks());
+        assertEquals(0, cnx.commits());
+        assertTrue(cnx.isClosed());
+        assertEquals(0, committer.commits());
+
+        assertEquals(1, dataSource.opened().size());
+    }
+
+    @Test
+    void shouldFailEveryCallerOfTheGroupWhenItsCommitFails() throws Exception {
+        GroupCommitter committer = new GroupCommitter(() -> dataSource, 2, 1, TimeUnit.MINUTES);
+        SQLException failure = new SQLException("ORA-03113: end-of-file on communication channel");
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            Future<String> first = executor.submit(() -> committer.execute(cnx -> "first"));
+            awaitCalls(committer, 1);
+
+            PlsqlException thrown = assertThrows(PlsqlException.class, () -> committer.execute(cnx -> {
+                dataSource.last().failCommits(failure);
+                return "second";
+            }));
+            assertSame(failure, thrown.getCause());
+            ExecutionException failed = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertSame(failure, failed.getCause().getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, committer.commits());
+        assertTrue(dataSource.last().isClosed());
+    }
+
+    private static void awaitCalls(GroupCommitter committer, long calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (committer.calls() < calls) {
+            if (System.nanoTime() > deadline) {
+                fail("The calls did not join the group");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
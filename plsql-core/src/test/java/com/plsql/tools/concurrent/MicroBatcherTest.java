@@ -0,0 +1,106 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.stubs.StubDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatcherTest {
+    private static final MicroBatcher.Call CALL = (cnx, stmt) -> stmt.setLong(1, 1L);
+
+    private final StubDataSource dataSource = new StubDataSource();
+
+    @Test
+    void shouldSendAFullBatchAtOnce() throws Exception {
+        MicroBatcher batcher = new MicroBatcher(() -> dataSource, "{ call p(?) }", 4, 1, TimeUnit.MINUTES);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(batcher.submit(CALL));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        batcher.close();
+        assertEquals(1, batcher.batches());
+        assertEquals(4, batcher.calls());
+        assertEquals(1, dataSource.opened().size());
+        assertTrue(dataSource.last().isClosed());
+    }
+
+    @Test
+    void shouldSendTheCallsQueuedOnceTheDelayElapsed() throws Exception {
+        try (MicroBatcher batcher = new MicroBatcher(() -> dataSource, "{ call p(?) }", 100, 20, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<Void> first = batcher.submit(CALL);
+            CompletableFuture<Void> second = batcher.submit(CALL);
+
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+            assertEquals(1, batcher.batches());
+            assertEquals(2, batcher.calls());
+        }
+    }
+
+    @Test
+    void shouldSendTheQueuedCallsOnClose() throws Exception {
+        MicroBatcher batcher = new MicroBatcher(() -> dataSource, "{ call p(?) }", 100, 1, TimeUnit.MINUTES);
+        CompletableFuture<Void> queued = batcher.submit(CALL);
+
+        batcher.close();
+
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(1, batcher.calls());
+        assertThrows(IllegalStateException.class, () -> batcher.submit(CALL));
+    }
+
+    @Test
+    void shouldCompleteEveryCallSubmittedWhileClosing() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                MicroBatcher batcher = new MicroBatcher(() -> dataSource, "{ call p(?) }", 8, 1, TimeUnit.MILLISECONDS);
+                List<CompletableFuture<Void>> results = new CopyOnWriteArrayList<>();
+                CountDownLatch submitting = new CountDownLatch(threads);
+                List<Future<?>> submitters = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    submitters.add(executor.submit(() -> {
+                        submitting.countDown();
+                        try {
+                            while (true) {
+                                results.add(batcher.submit(CALL));
+                            }
+                        } catch (IllegalStateException closed) {
+                            // the batcher is closed, the calls made so far are all accounted for
+                        }
+                    }));
+                }
+                submitting.await();
+                batcher.close();
+                for (Future<?> submitter : submitters) {
+                    submitter.get(5, TimeUnit.SECONDS);
+                }
+
+                // a call queued behind the drain of the close would never complete
+                for (CompletableFuture<Void> result : results) {
+                    try {
+                        result.get(5, TimeUnit.SECONDS);
+                    } catch (ExecutionException failed) {
+                        assertInstanceOf(IllegalStateException.class, failed.getCause());
+                    }
+                }
+                assertEquals(0, batcher.queued());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
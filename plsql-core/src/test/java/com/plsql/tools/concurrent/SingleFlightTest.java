@@ -0,0 +1,129 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.session.PlsqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+    private final SingleFlight flight = new SingleFlight();
+
+    @Test
+    void shouldShareTheResultOfTheCallInFlight() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> {
+            calls.incrementAndGet();
+            running.countDown();
+            await(release);
+            return "customer";
+        }));
+        running.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> {
+            calls.incrementAndGet();
+            return "again";
+        }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertEquals("customer", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("customer", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.executions());
+    }
+
+    @Test
+    void shouldFailTheCallersWithTheFailureOfTheCall() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PlsqlException failure = new PlsqlException("ORA-00060");
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> {
+            running.countDown();
+            await(release);
+            throw failure;
+        }));
+        running.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> "again"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderFailure.getCause());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, followerFailure.getCause());
+    }
+
+    @Test
+    void shouldRunTheCallAgainOnceTheFlightEnded() {
+        assertThrows(PlsqlException.class, () -> flight.execute("a", () -> {
+            throw new PlsqlException("ORA-00060");
+        }));
+        assertEquals(0, flight.inFlight());
+
+        assertEquals("first", flight.execute("a", () -> "first"));
+        assertEquals("second", flight.execute("a", () -> "second"));
+        assertEquals(0, flight.inFlight());
+        assertEquals(3, flight.executions());
+        assertEquals(0, flight.coalesced());
+    }
+
+    @Test
+    void shouldNotShareTheCallsOfOtherKeys() {
+        String value = flight.execute("a", () -> flight.execute("b", () -> "nested"));
+
+        assertEquals("nested", value);
+        assertEquals(2, flight.executions());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldNotShareACallMadeInATransaction() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> outside = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> {
+            running.countDown();
+            await(release);
+            return "committed";
+        }));
+        running.await();
+
+        try {
+            // the transaction runs the call on its own connection instead of waiting for the one in flight
+            String value = PlsqlSession.inTransaction(() -> flight.execute("a", () -> "written"));
+
+            assertEquals("written", value);
+            assertEquals(0, flight.coalesced());
+        } finally {
+            release.countDown();
+        }
+        assertEquals("committed", outside.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitCoalesced(long coalesced) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalesced() < coalesced) {
+            if (System.nanoTime() > deadline) {
+                fail("No caller joined the flight");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
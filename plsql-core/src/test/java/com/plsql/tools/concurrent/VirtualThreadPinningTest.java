@@ -0,0 +1,271 @@
+package com.plsql.tools.concurrent;
+
+import com.plsql.tools.DataSourceAware;
+import com.plsql.tools.DataSourceProvider;
+import com.plsql.tools.DataSourceRef;
+import com.plsql.tools.DefaultDataSourceProvider;
+import com.plsql.tools.cache.ResultCache;
+import com.plsql.tools.cursor.Cursors;
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.jdbc.ConnectionPool;
+import com.plsql.tools.jdbc.PoolSettings;
+import com.plsql.tools.jdbc.StatementCache;
+import com.plsql.tools.metrics.CallTracing;
+import com.plsql.tools.metrics.CallableId;
+import com.plsql.tools.session.ConnectionLease;
+import com.plsql.tools.session.PlsqlSession;
+import com.plsql.tools.stubs.StubCursor;
+import com.plsql.tools.stubs.StubDataSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the runtime pieces the generated methods block in on virtual threads blocking while they hold their locks or
+ * wait on them: the pool, the statement cache, the sessions, the gates, the committers, the shared calls and the
+ * cursor publisher. The {@code jdk.VirtualThreadPinned} event of a flight recording checks that no carrier is pinned.
+ * The JDBC driver is a stub: the monitors of a real driver are not covered, run with
+ * {@code -Djdk.tracePinnedThreads=full} to check them.
+ */
+public class VirtualThreadPinningTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int CALLS = 200;
+
+    @BeforeEach
+    void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21");
+    }
+
+    @Test
+    void shouldDetectAVirtualThreadBlockingInAMonitor() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = recordPinned(() -> {
+            synchronized (monitor) {
+                sleep();
+            }
+        });
+
+        // from Java 24 a monitor no longer pins the carrier, there is nothing left to detect
+        assumeTrue(!pinned.isEmpty(), "Monitors do not pin virtual threads on this JVM");
+        assertTrue(pinned.stream().anyMatch(event -> isFrom(event, getClass().getName())));
+    }
+
+    @Test
+    void shouldNotPinOnTheCallPath() throws Exception {
+        StubDataSource dataSource = new StubDataSource();
+        try (ConnectionPool pool = new ConnectionPool(dataSource, PoolSettings.defaults().withMaxSize(4))) {
+            GroupCommitter committer = new GroupCommitter(() -> pool, 8, 2, TimeUnit.MILLISECONDS);
+            SingleFlight flight = new SingleFlight();
+
+            List<RecordedEvent> pinned = recordPinned(() -> {
+                // the pool semaphore, then the statement cache, with the connections all borrowed
+                try (Connection cnx = pool.getConnection()) {
+                    StatementCache.prepareCall(cnx, "{ call p }");
+                    sleep();
+                }
+                // the group lock held while the call runs, then the wait for the group commit
+                committer.execute(cnx -> {
+                    sleep();
+                    return null;
+                });
+                // the callers of the flight waiting for its leader
+                flight.execute("key", () -> {
+                    sleep();
+                    return null;
+                });
+            });
+
+            assertEquals(List.of(), pinned.stream().filter(event -> isFrom(event, "com.plsql.tools")).toList());
+            assertEquals(CALLS, committer.calls());
+        }
+    }
+
+    @Test
+    void shouldNotPinInTheSessionsAndTheGates() throws Exception {
+        StubDataSource dataSource = new StubDataSource();
+        DefaultDataSourceProvider provider = new DefaultDataSourceProvider();
+        provider.registerDataSource("ds", dataSource);
+        ConnectionGate gate = ConnectionGate.gate(dataSource, 4);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4);
+
+        List<RecordedEvent> pinned = recordPinned(() -> {
+            // the first resolution of a data source, and the replacement notifying the references
+            Service service = new Service(provider);
+            service.ref("ds").get();
+            provider.registerDataSource("ds", dataSource);
+            service.releaseDataSources();
+            // the calls of a transaction sharing the connection of the session
+            PlsqlSession.inTransaction(() -> {
+                try (ConnectionLease lease = PlsqlSession.lease(dataSource)) {
+                    lease.connection();
+                    sleep();
+                } catch (SQLException e) {
+                    throw new PlsqlException(e);
+                }
+            });
+            // the gate semaphore, with its permits all taken
+            try (Connection cnx = gate.getConnection()) {
+                sleep();
+            }
+            // the tasks queued by the limiter, run on the submitting thread
+            limiter.submit(() -> {
+                sleep();
+                return null;
+            }, Runnable::run).join();
+        });
+
+        assertEquals(List.of(), pinned.stream().filter(event -> isFrom(event, "com.plsql.tools")).toList());
+    }
+
+    @Test
+    void shouldNotPinInTheSharedCalls() throws Exception {
+        StubDataSource dataSource = new StubDataSource();
+        ResultCache cache = new ResultCache("customers", 100, 1, 1, TimeUnit.MINUTES, new SingleFlight());
+        BatchLoader<Integer, Integer> loader = new BatchLoader<>(keys -> {
+            sleep();
+            return keys;
+        }, key -> key, 16, 1, TimeUnit.MILLISECONDS);
+        MicroBatcher batcher = new MicroBatcher(() -> dataSource, "{ call p(?) }", 16, 1, TimeUnit.MILLISECONDS);
+        AtomicInteger keys = new AtomicInteger();
+
+        try {
+            List<RecordedEvent> pinned = recordPinned(() -> {
+                int key = keys.incrementAndGet();
+                // the loads of the cache coalesced in a flight, then the invalidation
+                cache.get(key % 8, () -> {
+                    sleep();
+                    return key;
+                });
+                cache.invalidate(key % 8);
+                // the leader waiting for the window and the callers waiting for the leader
+                assertEquals(key, loader.load(key));
+                // the caller waiting for the flusher to send its batch
+                batcher.execute((cnx, stmt) -> stmt.setInt(1, key));
+                // the subscriber reading the cursor on its own thread
+                drain(new StubCursor(8, 8));
+            });
+
+            assertEquals(List.of(), pinned.stream().filter(event -> isFrom(event, "com.plsql.tools")).toList());
+            assertEquals(CALLS, batcher.calls());
+        } finally {
+            batcher.close();
+        }
+    }
+
+    private static List<RecordedEvent> recordPinned(Call call) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            runOnVirtualThreads(call);
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // resolved at run time, the tests are compiled for Java 17
+    private static void runOnVirtualThreads(Call call) throws Exception {
+        ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                futures.add(executor.submit(() -> {
+                    call.run();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void drain(StubCursor cursor) {
+        Flow.Publisher<Integer> publisher = Cursors.publisher(cursor.resultSet(), cursor::row,
+                CallTracing.start(new CallableId("pkg", "rows", "ds", 1)));
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer row) {
+                sleep();
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertTrue(cursor.isClosed());
+    }
+
+    private static boolean isFrom(RecordedEvent event, String prefix) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(method -> method.getType().getName().startsWith(prefix));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Service extends DataSourceAware {
+
+        private Service(DataSourceProvider provider) {
+            super(provider);
+        }
+
+        private DataSourceRef ref(String ds) {
+            return dataSourceRef(ds);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.plsql.tools.cursor;
+
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.exceptions.PlsqlException;
+import com.plsql.tools.metrics.CallTrace;
+import com.plsql.tools.metrics.CallTracing;
+import com.plsql.tools.metrics.CallableId;
+import com.plsql.tools.stubs.StubCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPublisherTest {
+    private static final CallableId CALLABLE = new CallableId("pkg", "rows", "MY_DS", 1);
+
+    @Test
+    void shouldMakeTheCallOnceSubscribed() {
+        StubCursor cursor = new StubCursor(3, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Flow.Publisher<Integer> publisher = Cursors.deferred(() -> {
+            calls.incrementAndGet();
+            return publisher(cursor);
+        });
+        assertEquals(0, calls.get());
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> subscription.request(Long.MAX_VALUE));
+        publisher.subscribe(subscriber);
+
+        assertEquals(1, calls.get());
+        assertEquals(List.of(1, 2, 3), subscriber.rows);
+        assertTrue(subscriber.completed);
+        assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    void shouldReportACallFailingToOpenTheCursor() {
+        PlsqlException failure = new PlsqlException("ORA-04068");
+        Flow.Publisher<Integer> publisher = Cursors.deferred(() -> {
+            throw failure;
+        });
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> subscription.request(1));
+        publisher.subscribe(subscriber);
+
+        assertTrue(subscriber.subscribed);
+        assertSame(failure, subscriber.failure);
+    }
+
+    @Test
+    void shouldReleaseTheCursorOnCancel() {
+        StubCursor cursor = new StubCursor(10, 10);
+        AtomicInteger released = new AtomicInteger();
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> subscription.request(2));
+
+        Cursors.publisher(cursor.resultSet(), cursor::row, trace(), released::incrementAndGet).subscribe(subscriber);
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+
+        assertEquals(List.of(1, 2), subscriber.rows);
+        assertTrue(cursor.isClosed());
+        assertEquals(1, released.get());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void shouldReleaseTheCursorWhenTheSubscriberRejectsIt() {
+        StubCursor cursor = new StubCursor(10, 10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> {
+            throw new IllegalStateException("Already subscribed");
+        });
+
+        assertThrows(IllegalStateException.class, () -> publisher(cursor).subscribe(subscriber));
+
+        assertTrue(cursor.isClosed());
+        assertEquals(0, cursor.row());
+    }
+
+    @Test
+    void shouldNotFetchFewerRowsThanTheMinimum() {
+        StubCursor cursor = new StubCursor(100, 500);
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> subscription.request(1));
+
+        publisher(cursor).subscribe(subscriber);
+        subscriber.subscription.request(1000);
+
+        assertEquals(List.of(Constants.DEFAULT_PUBLISHER_MIN_FETCH_SIZE, 500), cursor.fetchSizes());
+        assertEquals(100, subscriber.rows.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldKeepASmallerFetchSizeOfTheOutput() {
+        StubCursor cursor = new StubCursor(5, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(subscription -> subscription.request(1));
+
+        publisher(cursor).subscribe(subscriber);
+
+        assertEquals(List.of(), cursor.fetchSizes());
+        assertEquals(List.of(1), subscriber.rows);
+    }
+
+    private static Flow.Publisher<Integer> publisher(StubCursor cursor) {
+        return Cursors.publisher(cursor.resultSet(), cursor::row, trace());
+    }
+
+    private static CallTrace trace() {
+        return CallTracing.start(CALLABLE);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        private final Consumer<Flow.Subscription> onSubscribe;
+        private final List<Integer> rows = new CopyOnWriteArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean subscribed;
+        private boolean completed;
+        private Throwable failure;
+
+        private RecordingSubscriber(Consumer<Flow.Subscription> onSubscribe) {
+            this.onSubscribe = onSubscribe;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed = true;
+            onSubscribe.accept(subscription);
+        }
+
+        @Override
+        public void onNext(Integer row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.plsql.tools.gen.tools;
+
+import com.plsql.tools.stubs.StubCursor;
+import com.plsql.tools.stubs.StubDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the bytes allocated per row by the wrapper readers of {@link ResultSetTools} and the null-safe setters of
+ * {@link StatementTools}, against the same JDBC calls made inline. The stubs are proxies, which allocate on each call:
+ * the inline loop pays the same, the difference is what the wrappers add. The values stay within the cache of
+ * {@link Integer#valueOf} and {@link Long#valueOf}, any allocation left would come from the wrappers themselves.
+ */
+public class WrapperAllocationTest {
+    private static final int ROWS = 5_000;
+    private static final int WARM_UP_PASSES = 30;
+    private static final int MEASURED_PASSES = 5;
+    // a boxed Long is 16 bytes, a wrapper allocating anything per row goes over
+    private static final long MAX_BYTES_PER_ROW = 8;
+
+    private com.sun.management.ThreadMXBean threads;
+    private long sink;
+
+    @BeforeEach
+    void requireAllocationCounter() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "The JVM does not count the bytes allocated by a thread");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "The JVM does not count the bytes allocated by a thread");
+    }
+
+    @Test
+    void shouldReadTheWrapperColumnsWithoutAllocating() throws SQLException {
+        Pass inline = this::readInline;
+        Pass wrapped = this::readWrapped;
+        warmUp(inline, wrapped);
+
+        long added = allocatedPerPass(wrapped) - allocatedPerPass(inline);
+
+        assertTrue(added / ROWS < MAX_BYTES_PER_ROW, "Bytes allocated per row by the readers: " + added / ROWS);
+    }
+
+    @Test
+    void shouldBindTheWrapperParametersWithoutAllocating() throws SQLException {
+        PreparedStatement stmt = new StubDataSource().getConnection().prepareCall("{ call p(?, ?) }");
+        Integer[] ints = new Integer[ROWS];
+        Long[] longs = new Long[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            ints[i] = i % 10 == 0 ? null : i % 100;
+            longs[i] = i % 10 == 0 ? null : (long) (i % 100);
+        }
+        Pass inline = () -> bindInline(stmt, ints, longs);
+        Pass wrapped = () -> bindWrapped(stmt, ints, longs);
+        warmUp(inline, wrapped);
+
+        long added = allocatedPerPass(wrapped) - allocatedPerPass(inline);
+
+        assertTrue(added / ROWS < MAX_BYTES_PER_ROW, "Bytes allocated per row by the setters: " + added / ROWS);
+    }
+
+    private void readInline() throws SQLException {
+        ResultSet rs = new StubCursor(ROWS, ROWS).resultSet();
+        long total = 0;
+        while (rs.next()) {
+            int id = rs.getInt(1);
+            if (!rs.wasNull()) {
+                total += id;
+            }
+            long amount = rs.getLong(2);
+            if (!rs.wasNull()) {
+                total += amount;
+            }
+        }
+        sink += total;
+    }
+
+    private void readWrapped() throws SQLException {
+        ResultSet rs = new StubCursor(ROWS, ROWS).resultSet();
+        long total = 0;
+        while (rs.next()) {
+            Integer id = ResultSetTools.getInt(rs, 1);
+            if (id != null) {
+                total += id;
+            }
+            Long amount = ResultSetTools.getLong(rs, 2);
+            if (amount != null) {
+                total += amount;
+            }
+        }
+        sink += total;
+    }
+
+    private static void bindInline(PreparedStatement stmt, Integer[] ints, Long[] longs) throws SQLException {
+        for (int i = 0; i < ROWS; i++) {
+            if (ints[i] == null) {
+                stmt.setNull(1, Types.INTEGER);
+            } else {
+                stmt.setInt(1, ints[i]);
+            }
+            if (longs[i] == null) {
+                stmt.setNull(2, Types.BIGINT);
+            } else {
+                stmt.setLong(2, longs[i]);
+            }
+        }
+    }
+
+    private static void bindWrapped(PreparedStatement stmt, Integer[] ints, Long[] longs) throws SQLException {
+        for (int i = 0; i < ROWS; i++) {
+            StatementTools.setInt(stmt, 1, ints[i]);
+            StatementTools.setLong(stmt, 2, longs[i]);
+        }
+    }
+
+    private static void warmUp(Pass inline, Pass wrapped) throws SQLException {
+        for (int i = 0; i < WARM_UP_PASSES; i++) {
+            inline.run();
+            wrapped.run();
+        }
+    }
+
+    // the least of several passes, a pass may pay for a compilation or a TLAB refill
+    private long allocatedPerPass(Pass pass) throws SQLException {
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            pass.run();
+            least = Math.min(least, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return least;
+    }
+
+    @FunctionalInterface
+    private interface Pass {
+        void run() throws SQLException;
+    }
+}
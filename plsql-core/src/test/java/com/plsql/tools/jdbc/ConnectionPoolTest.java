@@ -0,0 +1,211 @@
+package com.plsql.tools.jdbc;
+
+import com.plsql.tools.stubs.StubConnection;
+import com.plsql.tools.stubs.StubDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+    private final StubDataSource dataSource = new StubDataSource();
+    private ConnectionPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void shouldReuseTheConnectionReturnedLast() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults());
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        second.close();
+        first.close();
+        pool.getConnection().close();
+
+        PoolStats stats = pool.stats();
+        assertEquals(2, stats.created());
+        assertEquals(3, stats.borrows());
+        assertEquals(2, stats.idle());
+        assertEquals(0, stats.borrowed());
+        assertEquals(1, dataSource.opened().get(0).validations());
+        assertEquals(0, dataSource.opened().get(1).validations());
+    }
+
+    @Test
+    void shouldTimeOutWhenExhausted() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults()
+                .withMaxSize(2)
+                .withAcquireTimeout(Duration.ofMillis(50)));
+        pool.getConnection();
+        pool.getConnection();
+
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+
+        PoolStats stats = pool.stats();
+        assertEquals(1, stats.timeouts());
+        assertEquals(2, stats.size());
+        assertEquals(2, dataSource.opened().size());
+    }
+
+    @Test
+    void shouldHandTheReturnedConnectionToTheWaitingCaller() throws Exception {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults()
+                .withMaxSize(1)
+                .withAcquireTimeout(Duration.ofSeconds(5)));
+        Connection held = pool.getConnection();
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            try {
+                return pool.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await();
+        awaitWaiting(1);
+        held.close();
+
+        Connection handedOver = waiting.get(5, TimeUnit.SECONDS);
+        assertFalse(handedOver.isClosed());
+        assertEquals(1, dataSource.opened().size());
+        assertEquals(0, pool.stats().waiting());
+    }
+
+    @Test
+    void shouldReplaceAConnectionFailingItsValidation() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults());
+        pool.getConnection().close();
+        StubConnection killed = dataSource.last();
+        killed.invalidate();
+
+        Connection connection = pool.getConnection();
+
+        assertEquals("Pooled StubConnection#2", connection.toString());
+        assertTrue(killed.isClosed());
+        PoolStats stats = pool.stats();
+        assertEquals(1, stats.evicted());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void shouldHandOutWithoutValidationWithinTheBypass() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults().withValidationBypass(Duration.ofMinutes(1)));
+        pool.getConnection().close();
+        StubConnection killed = dataSource.last();
+        killed.invalidate();
+
+        pool.getConnection();
+
+        assertEquals(0, killed.validations());
+        assertEquals(1, dataSource.opened().size());
+    }
+
+    @Test
+    void shouldCloseAConnectionFailingItsBorrower() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults().withValidationBypass(Duration.ofMinutes(1)));
+        Connection connection = pool.getConnection();
+        StubConnection lost = dataSource.last();
+        lost.failCalls(new SQLException("No more data to read from socket", "08006"));
+
+        assertThrows(SQLException.class, () -> connection.prepareCall("{ call p }"));
+        connection.close();
+
+        assertTrue(lost.isClosed());
+        assertEquals(0, pool.stats().idle());
+        assertEquals(1, pool.stats().evicted());
+    }
+
+    @Test
+    void shouldRollBackTheWorkLeftUncommitted() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults());
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+
+        connection.close();
+
+        StubConnection stub = dataSource.last();
+        assertEquals(1, stub.rollbacks());
+        assertTrue(pool.getConnection().getAutoCommit());
+    }
+
+    @Test
+    void shouldRejectTheUseOfAReturnedConnection() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults());
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertThrows(SQLException.class, () -> connection.prepareCall("{ call p }"));
+        assertEquals(1, pool.stats().idle());
+    }
+
+    @Test
+    void shouldCloseTheConnectionsIdleForTooLong() throws Exception {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults().withIdleTimeout(Duration.ofMillis(20)));
+        Connection kept = pool.getConnection();
+        pool.getConnection().close();
+        Thread.sleep(40);
+
+        pool.houseKeep();
+
+        assertTrue(dataSource.opened().get(1).isClosed());
+        assertFalse(kept.isClosed());
+        PoolStats stats = pool.stats();
+        assertEquals(0, stats.idle());
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.evicted());
+    }
+
+    @Test
+    void shouldReportTheConnectionsHeldBeyondTheLeakThreshold() throws Exception {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults().withLeakThreshold(Duration.ofMillis(10)));
+        pool.getConnection();
+        Thread.sleep(20);
+
+        pool.houseKeep();
+        pool.houseKeep();
+
+        assertEquals(1, pool.stats().leaks());
+    }
+
+    @Test
+    void shouldCloseTheConnectionsReturnedAfterThePool() throws SQLException {
+        pool = new ConnectionPool(dataSource, PoolSettings.defaults());
+        Connection borrowed = pool.getConnection();
+        pool.getConnection().close();
+
+        pool.close();
+        borrowed.close();
+
+        assertTrue(dataSource.opened().stream().allMatch(StubConnection::isClosed));
+        assertThrows(SQLException.class, pool::getConnection);
+        assertEquals(0, pool.stats().size());
+    }
+
+    private void awaitWaiting(int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.stats().waiting() < waiting) {
+            if (System.nanoTime() > deadline) {
+                fail("No caller waiting for a connection");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.plsql.tools.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCacheTest {
+
+    @Test
+    void shouldCountAHitForACallStillCached() throws SQLException {
+        StatementCache cache = new StatementCache(10, CachingConnection.class);
+        FakeConnection connection = new FakeConnection();
+
+        cache.prepare(connection.proxy, "{ call a }");
+        cache.prepare(connection.proxy, "{ call a }");
+        cache.prepare(connection.proxy, "{ call b }");
+
+        assertEquals(new StatementCacheStats(1, 2), cache.stats());
+        assertEquals(3, connection.prepared.get());
+    }
+
+    @Test
+    void shouldMirrorTheLeastRecentlyUsedEviction() throws SQLException {
+        StatementCache cache = new StatementCache(2, CachingConnection.class);
+        FakeConnection connection = new FakeConnection();
+
+        for (String call : List.of("a", "b", "c", "a", "a", "c")) {
+            cache.prepare(connection.proxy, call);
+        }
+
+        // a, b and c miss, a evicted by c misses again and evicts b, then a and c hit
+        assertEquals(new StatementCacheStats(2, 4), cache.stats());
+    }
+
+    @Test
+    void shouldEnableTheCachingOncePerPhysicalConnection() throws SQLException {
+        StatementCache cache = new StatementCache(10, CachingConnection.class);
+        FakeConnection first = new FakeConnection();
+        FakeConnection second = new FakeConnection();
+
+        cache.prepare(first.proxy, "a");
+        cache.prepare(first.proxy, "b");
+        cache.prepare(second.proxy, "a");
+
+        assertEquals(1, first.enabled.get());
+        assertEquals(1, second.enabled.get());
+        assertEquals(10, first.cacheSize);
+        assertEquals(new StatementCacheStats(0, 3), cache.stats());
+    }
+
+    @Test
+    void shouldKeepTheCallsOfEachConnectionApart() throws Exception {
+        StatementCache cache = new StatementCache(10, CachingConnection.class);
+        int threads = 8;
+        int rounds = 500;
+        List<String> calls = List.of("a", "b", "c");
+        FakeConnection shared = new FakeConnection();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                FakeConnection own = new FakeConnection();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        for (String call : calls) {
+                            cache.prepare(own.proxy, call);
+                            cache.prepare(shared.proxy, call);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // each call misses once per connection, the shared one included
+        long misses = (threads + 1) * calls.size();
+        assertEquals(new StatementCacheStats(2L * threads * rounds * calls.size() - misses, misses), cache.stats());
+        assertEquals(1, shared.enabled.get());
+    }
+
+    @Test
+    void shouldUseOtherConnectionsAsTheyAre() throws SQLException {
+        StatementCache cache = new StatementCache(10, CachingConnection.class);
+        AtomicInteger prepared = new AtomicInteger();
+        Connection other = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "isWrapperFor" -> false;
+                    case "prepareCall" -> {
+                        prepared.incrementAndGet();
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        cache.prepare(other, "a");
+
+        assertEquals(1, prepared.get());
+        assertEquals(new StatementCacheStats(0, 0), cache.stats());
+    }
+
+    /**
+     * Stands in for the Oracle connection and its caching methods.
+     */
+    public interface CachingConnection extends Connection {
+        void setImplicitCachingEnabled(boolean enabled);
+
+        void setStatementCacheSize(int size);
+    }
+
+    private static final class FakeConnection {
+        private final AtomicInteger enabled = new AtomicInteger();
+        private final AtomicInteger prepared = new AtomicInteger();
+        private volatile int cacheSize;
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(StatementCacheTest.class.getClassLoader(),
+                new Class<?>[]{CachingConnection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "setImplicitCachingEnabled" -> {
+                        enabled.incrementAndGet();
+                        yield null;
+                    }
+                    case "setStatementCacheSize" -> {
+                        cacheSize = (Integer) args[0];
+                        yield null;
+                    }
+                    case "prepareCall" -> {
+                        prepared.incrementAndGet();
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package com.plsql.tools.metrics;
+
+import com.plsql.tools.gen.tools.BatchTracker;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CallTraceTest {
+    private static final CallableId CALLABLE = new CallableId("pkg_customer", "save_customers", "MY_DS", 1);
+    private static final long FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final int UNTRACED_CALLS = 100_000;
+
+    private final Map<CallPhase, Long> phases = new EnumMap<>(CallPhase.class);
+    private final Map<CallPhase, Integer> reports = new EnumMap<>(CallPhase.class);
+    private final CallListener listener = new CallListener() {
+        @Override
+        public void phaseEnded(CallableId callable, CallPhase phase, long nanos) {
+            phases.merge(phase, nanos, Long::sum);
+            reports.merge(phase, 1, Integer::sum);
+        }
+
+        @Override
+        public void callEnded(CallableId callable, long nanos, long rows, CallOutcome outcome) {
+        }
+    };
+
+    @AfterEach
+    void removeListener() {
+        CallTracing.removeListener(listener);
+    }
+
+    @Test
+    void shouldReportTheBatchesSentWhileBindingWithTheExecution() throws Exception {
+        CallTracing.addListener(listener);
+        CallTrace trace = CallTracing.start(CALLABLE);
+        BatchTracker batch = new BatchTracker(2);
+        PreparedStatement stmt = slowBatchStatement();
+
+        for (int i = 0; i < 5; i++) {
+            batch.addBatch(stmt);
+        }
+        trace.phase(CallPhase.BIND, batch.executeNanos());
+        batch.flush(stmt);
+        trace.phase(CallPhase.EXECUTE);
+        trace.complete();
+        trace.end();
+
+        // the two batches sent by the loop and the last one, each phase reported once per call
+        assertTrue(phases.get(CallPhase.EXECUTE) >= 3 * FLUSH_NANOS);
+        assertTrue(phases.get(CallPhase.BIND) < phases.get(CallPhase.EXECUTE));
+        assertEquals(1, reports.get(CallPhase.BIND));
+        assertEquals(1, reports.get(CallPhase.EXECUTE));
+        assertEquals(1, reports.get(CallPhase.FETCH));
+    }
+
+    @Test
+    void shouldCompleteTheCallOnce() {
+        CallTracing.addListener(listener);
+        CallTrace trace = CallTracing.start(CALLABLE);
+
+        trace.phase(CallPhase.EXECUTE);
+        trace.complete();
+        trace.complete();
+
+        assertEquals(1, reports.get(CallPhase.FETCH));
+    }
+
+    @Test
+    void shouldTraceOnlyWhenARecordingEnablesTheEvents() {
+        try (Recording recording = new Recording()) {
+            // a recording leaving the events disabled, as the default continuous one
+            recording.start();
+            assertSame(CallTrace.NOOP, CallTracing.start(CALLABLE));
+
+            recording.enable(PlsqlCallEvent.class);
+            assertNotSame(CallTrace.NOOP, CallTracing.start(CALLABLE));
+        }
+        assertSame(CallTrace.NOOP, CallTracing.start(CALLABLE));
+    }
+
+    @Test
+    void shouldNotAllocateWithoutListenerNorRecording() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "The JVM does not count the bytes allocated by a thread");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "The JVM does not count the bytes allocated by a thread");
+        assertSame(CallTrace.NOOP, CallTracing.start(CALLABLE));
+        for (int i = 0; i < 20; i++) {
+            traceUntraced();
+        }
+
+        // the least of several passes, a pass may pay for a compilation
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            traceUntraced();
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        assertEquals(0, allocated / UNTRACED_CALLS, "Bytes allocated per untraced call: " + allocated / UNTRACED_CALLS);
+    }
+
+    // the calls of a generated method reading a cursor, without listener nor recording
+    private static void traceUntraced() {
+        for (int i = 0; i < UNTRACED_CALLS; i++) {
+            CallTrace trace = CallTracing.start(CALLABLE);
+            trace.phase(CallPhase.BIND);
+            trace.phase(CallPhase.EXECUTE);
+            trace.row();
+            trace.complete();
+            trace.end();
+        }
+    }
+
+    private static PreparedStatement slowBatchStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(CallTraceTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("executeBatch")) {
+                        TimeUnit.NANOSECONDS.sleep(FLUSH_NANOS);
+                        return new int[]{1};
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,139 @@
+package com.plsql.tools.stubs;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Physical connection of a {@link StubDataSource}, records what is done with it. The methods it does not stub
+ * return the default value of their type, as do the methods of the statements it prepares.
+ */
+public final class StubConnection implements InvocationHandler {
+    private final int id;
+    private final Connection connection;
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger rollbacks = new AtomicInteger();
+    private final AtomicInteger validations = new AtomicInteger();
+    private volatile boolean valid = true;
+    private volatile boolean closed;
+    private volatile boolean autoCommit = true;
+    private volatile SQLException commitFailure;
+    private volatile SQLException failure;
+
+    StubConnection(int id) {
+        this.id = id;
+        this.connection = (Connection) Proxy.newProxyInstance(StubConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this);
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public int commits() {
+        return commits.get();
+    }
+
+    public int rollbacks() {
+        return rollbacks.get();
+    }
+
+    public int validations() {
+        return validations.get();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Has {@code isValid} report the connection as killed by the server.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public void failCommits(SQLException commitFailure) {
+        this.commitFailure = commitFailure;
+    }
+
+    /**
+     * Fails every call made on the connection, its close aside.
+     */
+    public void failCalls(SQLException failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "StubConnection#" + id;
+            default:
+                break;
+        }
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        switch (method.getName()) {
+            case "isValid":
+                validations.incrementAndGet();
+                return valid;
+            case "getAutoCommit":
+                return autoCommit;
+            case "setAutoCommit":
+                autoCommit = (Boolean) args[0];
+                return null;
+            case "commit":
+                if (commitFailure != null) {
+                    throw commitFailure;
+                }
+                commits.incrementAndGet();
+                return null;
+            case "rollback":
+                rollbacks.incrementAndGet();
+                return null;
+            case "isWrapperFor":
+                return false;
+            case "prepareCall":
+                return Proxy.newProxyInstance(StubConnection.class.getClassLoader(),
+                        new Class<?>[]{CallableStatement.class},
+                        (statement, statementMethod, statementArgs) -> defaultValue(statementMethod.getReturnType()));
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.plsql.tools.stubs;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cursor over the numbers from 1 to its size, records the fetch sizes set on it. Its int and long columns read the
+ * row number modulo 100, within the cache of {@link Integer#valueOf} and {@link Long#valueOf}, and every tenth row
+ * reads as SQL NULL. The methods it does not stub return the default value of their type.
+ */
+public final class StubCursor implements InvocationHandler {
+    private final int size;
+    private final ResultSet resultSet;
+    private final List<Integer> fetchSizes = new CopyOnWriteArrayList<>();
+    private volatile int fetchSize;
+    private volatile int row;
+    private volatile boolean closed;
+
+    public StubCursor(int size, int fetchSize) {
+        this.size = size;
+        this.fetchSize = fetchSize;
+        this.resultSet = (ResultSet) Proxy.newProxyInstance(StubCursor.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, this);
+    }
+
+    public ResultSet resultSet() {
+        return resultSet;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    public List<Integer> fetchSizes() {
+        return fetchSizes;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "next":
+                if (row == size) {
+                    return false;
+                }
+                row++;
+                return true;
+            case "getInt":
+                return row % 100;
+            case "getLong":
+                return (long) (row % 100);
+            case "wasNull":
+                return row % 10 == 0;
+            case "getFetchSize":
+                return fetchSize;
+            case "setFetchSize":
+                fetchSize = (Integer) args[0];
+                fetchSizes.add(fetchSize);
+                return null;
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            default:
+                return StubConnection.defaultValue(method.getReturnType());
+        }
+    }
+}
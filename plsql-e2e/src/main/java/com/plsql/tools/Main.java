@@ -2,6 +2,10 @@ package com.plsql.tools;
 
 
 import com.plsql.tools.example.customer.*;
+import com.plsql.tools.jdbc.PoolSettings;
+import com.plsql.tools.metrics.CallMetrics;
+import com.plsql.tools.metrics.CallTracing;
+import com.plsql.tools.warmup.PlsqlWarmup;
 import oracle.jdbc.OracleConnection;
 import oracle.jdbc.pool.OracleDataSource;
 
@@ -25,11 +29,14 @@ public class Main {
         oracleDataSource.setConnectionProperties(connectionProperties);
         oracleDataSource.setURL(url);
 
-        var dsProvider = new DefaultDataSourceProvider();
+        var dsProvider = new PooledDataSourceProvider(PoolSettings.defaults().withMaxSize(8));
         dsProvider.registerDataSource("MY_DS", oracleDataSource);
 
         CustomerService customerService = new CustomerServiceImpl(dsProvider);
         CustomerService2 customerService2 = new CustomerService2Impl(dsProvider);
+        System.out.println(PlsqlWarmup.of(dsProvider).withDescribe(true).run(customerService, customerService2));
+        CallMetrics metrics = new CallMetrics();
+        CallTracing.addListener(metrics);
 
         CustomerInsert customerInsert = initRandomCustomer();
         System.out.println(customerService.insertCustomerObject(
@@ -79,6 +86,8 @@ public class Main {
 
         System.out.println(customerService.getCustomerFullName(customerId));
 
+        metrics.getCallables().forEach((callable, callableMetrics) ->
+                System.out.println(callable + " " + callableMetrics.latency()));
     }
 
     public static CustomerInsert initRandomCustomer() {
@@ -5,13 +5,19 @@ import com.plsql.tools.DataSourceProvider;
 import com.plsql.tools.annotations.Package;
 import com.plsql.tools.annotations.*;
 import com.plsql.tools.enums.CallableType;
+import com.plsql.tools.enums.CommitPolicy;
 import com.plsql.tools.example.DataSources;
+import com.plsql.tools.exceptions.PlsqlException;
 
 import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Package(name = "pkg_customer_management")
 public abstract class CustomerService extends DataSourceAware {
@@ -19,7 +25,8 @@ public abstract class CustomerService extends DataSourceAware {
         super(dataSourceProvider);
     }
 
-    @PlsqlCallable(name = "insert_customer", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_id"))
+    @PlsqlCallable(name = "insert_customer", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_id"),
+            commit = @Commit(value = CommitPolicy.GROUPED, groupSize = 64, maxDelay = 2))
     public abstract Integer insertCustomerObject(@PlsqlParam("p_first_name")
                                                  String firstName,
                                                  @PlsqlParam("p_last_name")
@@ -51,16 +58,44 @@ public abstract class CustomerService extends DataSourceAware {
                                                  @PlsqlParam("p_is_premium")
                                                  char isPremium);
 
-    @PlsqlCallable(name = "display_message_customer", dataSource = DataSources.MY_DS)
+    @PlsqlCallable(name = "display_message_customer", dataSource = DataSources.MY_DS, async = true)
     public abstract void displayMessageCustomer();
 
 
-    @PlsqlCallable(name = "get_customer_by_id", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_data"))
+    @Cached(ttl = 30, negativeTtl = 5)
+    @Coalesced
+    @PlsqlCallable(name = "get_customer_by_id", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_data"), async = true)
     public abstract Optional<CustomerGet> getCustomerById(@PlsqlParam("p_customer_id") long id);
 
-    @PlsqlCallable(name = "get_all_customers", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_data"))
+    @BatchLoaded(bulk = "getCustomersByIds", key = "customerId", maxBatchSize = 200)
+    @PlsqlCallable(name = "get_customer_by_id", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_data"))
+    public abstract Optional<CustomerGet> findCustomerById(@PlsqlParam("p_customer_id") long id);
+
+    @PlsqlCallable(name = "get_all_customers", dataSource = DataSources.MY_DS,
+            outputs = @Output(value = "p_customer_data", fetchSize = 500, lobPrefetchSize = 4000))
     public abstract List<CustomerGet> getAllCustomers();
 
+    @PlsqlCallable(name = "get_all_customers", dataSource = DataSources.MY_DS,
+            outputs = @Output(value = "p_customer_data", fetchSize = 500))
+    public abstract Stream<CustomerGet> streamAllCustomers();
+
+    @PlsqlCallable(name = "get_all_customers", dataSource = DataSources.MY_DS,
+            outputs = @Output(value = "p_customer_data", fetchSize = 500))
+    public abstract Flow.Publisher<CustomerGet> publishAllCustomers();
+
+    @PlsqlCallable(name = "get_all_customers", dataSource = DataSources.MY_DS,
+            outputs = @Output(value = "p_customer_data", fetchSize = 500))
+    public abstract void forEachCustomer(Consumer<CustomerGet> customerHandler);
+
+    @Coalesced
+    @PlsqlCallable(name = "get_customers_by_ids", dataSource = DataSources.MY_DS, outputs = @Output("p_customer_data"))
+    public abstract List<CustomerGet> getCustomersByIds(@PlsqlParam(value = "p_customer_ids", sqlType = "NUM_TAB")
+                                                        List<Long> ids);
+
+    @PlsqlCallable(name = "deactivate_customers", dataSource = DataSources.MY_DS, commit = @Commit(CommitPolicy.BATCH_NOWAIT))
+    public abstract void deactivateCustomers(@PlsqlParam(value = "p_customer_ids", sqlType = "NUM_TAB")
+                                             long[] ids);
+
     @PlsqlCallable(name = "get_customers_by_criteria", dataSource = DataSources.MY_DS, outputs = @Output(value = "p_customer_cursor"))
     public abstract CustomerGet getCustomerByCrit(@PlsqlParam("p_last_name")
                                                   String lastName,
@@ -81,6 +116,8 @@ public abstract class CustomerService extends DataSourceAware {
                                                   @PlsqlParam("p_page_number")
                                                   int pageNumber);
 
+    @Evicts(cache = "getCustomerById", key = "id")
+    @Evicts(cache = "getCustomerFullName", key = "id")
     @PlsqlCallable(name = "update_customer", dataSource = DataSources.MY_DS)
     public abstract void updateCustomer(
             @PlsqlParam("p_customer_id") long id,
@@ -93,6 +130,23 @@ public abstract class CustomerService extends DataSourceAware {
             @PlsqlParam("p_last_login") LocalDateTime lastLogin
     );
 
+    // the read, the update and the event are committed together
+    @PlsqlTransaction
+    public void renameCustomer(long id, String firstName, String lastName) {
+        CustomerGet customer = getCustomerById(id)
+                .orElseThrow(() -> new PlsqlException("Unknown customer: " + id));
+        updateCustomer(id, firstName, lastName, customer.getEmail(), customer.getPhone(),
+                customer.getIsActive(), customer.getIsPremium(), LocalDateTime.now());
+        logCustomerEvent(id, "RENAMED", LocalDateTime.now());
+    }
+
+    @MicroBatch(maxSize = 1000, maxDelay = 5)
+    @PlsqlCallable(name = "log_customer_event", dataSource = DataSources.MY_DS, async = true)
+    public abstract void logCustomerEvent(@PlsqlParam("p_customer_id") long customerId,
+                                          @PlsqlParam("p_event_type") String eventType,
+                                          @PlsqlParam("p_event_date") LocalDateTime eventDate);
+
+    @Cached(maxEntries = 10_000, ttl = 5, unit = TimeUnit.MINUTES)
     @PlsqlCallable(name = "get_customer_full_name",
             outputs = @Output("customer_full_name"),
             dataSource = DataSources.MY_DS,
@@ -10,7 +10,7 @@ import com.plsql.tools.example.DataSources;
 import java.util.List;
 import java.util.Set;
 
-@Package(name = "pkg_customer_management")
+@Package(name = "pkg_customer_management", async = true)
 public abstract class CustomerService2 extends DataSourceAware {
     public CustomerService2(DataSourceProvider dataSourceProvider) {
         super(dataSourceProvider);
@@ -2,10 +2,13 @@ package com.plsql.tools.example.other.tests;
 
 import com.plsql.tools.DataSourceAware;
 import com.plsql.tools.DataSourceProvider;
+import com.plsql.tools.annotations.Batch;
 import com.plsql.tools.annotations.Package;
 import com.plsql.tools.annotations.PlsqlCallable;
 import com.plsql.tools.example.DataSources;
 
+import java.util.List;
+
 @Package(name = "pkg_test_management")
 public abstract class OtherTestsService extends DataSourceAware {
     public OtherTestsService(DataSourceProvider dataSourceProvider) {
@@ -18,4 +21,8 @@ public abstract class OtherTestsService extends DataSourceAware {
 
     @PlsqlCallable(name = "display_message_Test2", dataSource = DataSources.MY_DS)
     public abstract void/*ObjectTest*/ getMessageTest(ObjectTest objectTest);
+
+    @Batch(size = 500)
+    @PlsqlCallable(name = "display_message_Test", dataSource = DataSources.MY_DS)
+    public abstract int[] displayMessageTests(List<ObjectTest> objectTests);
 }
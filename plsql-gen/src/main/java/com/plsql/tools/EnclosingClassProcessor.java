@@ -1,10 +1,13 @@
 package com.plsql.tools;
 
 import com.plsql.tools.annotations.PlsqlCallable;
+import com.plsql.tools.annotations.PlsqlTransaction;
 import com.plsql.tools.processors.MethodToProcess;
 import com.plsql.tools.statements.generators.CallableGenerator;
+import com.plsql.tools.statements.generators.TransactionMethodGenerator;
 import com.plsql.tools.templates.TemplateParams;
 import com.plsql.tools.templates.Templates;
+import com.plsql.tools.tools.GenTools;
 import com.plsql.tools.tools.Tools;
 import org.stringtemplate.v4.ST;
 
@@ -12,19 +15,29 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+
+import static com.plsql.tools.tools.CodeGenConstants.dataSourceVariableName;
 
 public class EnclosingClassProcessor {
     private final ProcessingContext context;
     private final TypeElement packageClass;
     private final List<String> generatedMethods;
     private final List<String> processedMethods;
+    // resolved once per service, the generated methods read the field holding it
+    private final Set<String> dataSources;
+    // the calls of the service, emitted as its manifest for the warm-up
+    private final List<String> manifestCalls;
 
     public EnclosingClassProcessor(ProcessingContext context, TypeElement packageClass) {
         this.context = context;
         this.packageClass = packageClass;
         this.generatedMethods = new ArrayList<>();
         this.processedMethods = new ArrayList<>();
+        this.dataSources = new LinkedHashSet<>();
+        this.manifestCalls = new ArrayList<>();
     }
 
     public String generateImplementation() {
@@ -48,17 +61,26 @@ public class EnclosingClassProcessor {
 
         String methodName = method.getSimpleName().toString();
 
+        PlsqlCallable plsqlCallable = method.getAnnotation(PlsqlCallable.class);
+        // the call constant is named after the callable, methods sharing it need their own suffix
+        String callableName = plsqlCallable == null || plsqlCallable.name().isBlank() ? methodName : plsqlCallable.name();
+
         String suffix = "";
-        if (processedMethods.contains(methodName)) { // should not be possible ?
-            suffix = "" + processedMethods.lastIndexOf(methodName);
+        if (processedMethods.contains(callableName)) {
+            suffix = "" + processedMethods.lastIndexOf(callableName);
         }
 
         try {
-            if (method.getAnnotation(PlsqlCallable.class) != null) {
+            if (method.getAnnotation(PlsqlTransaction.class) != null) {
+                generatedMethods.add(new TransactionMethodGenerator(method).generate());
+                return;
+            }
+            if (plsqlCallable != null) {
                 String procedureMethod = generateProcedureCall(new MethodToProcess(method, suffix));
                 if (procedureMethod != null) {
                     generatedMethods.add(procedureMethod);
-                    processedMethods.add(methodName);
+                    processedMethods.add(callableName);
+                    dataSources.add(plsqlCallable.dataSource());
                 }
             }
         } catch (Exception e) {
@@ -70,7 +92,10 @@ public class EnclosingClassProcessor {
         try {
             CallableGenerator generator = new CallableGenerator(
                     context, packageClass, methodToProcess);
-            return generator.generate();
+            String generated = generator.generate();
+            manifestCalls.add(GenTools.newManifestCall(
+                    methodToProcess.method().getAnnotation(PlsqlCallable.class).dataSource(), generator.getCallConstant()));
+            return generated;
         } catch (Exception e) {
             context.logError("Failed to generate procedure call for " + methodToProcess.method().getSimpleName() + ": " + e.getMessage());
             return null;
@@ -86,7 +111,11 @@ public class EnclosingClassProcessor {
         templateBuilder.add(TemplateParams.PACKAGE_NAME.name(), packageName);
         templateBuilder.add(TemplateParams.CLASS_NAME.name(), generatedClassName);
         templateBuilder.add(TemplateParams.EXTENDED_CLASS_NAME.name(), originalClassName);
+        templateBuilder.add(TemplateParams.FIELDS.name(), dataSources.stream()
+                .map(dataSource -> GenTools.newDataSourceRef(dataSourceVariableName(dataSource), dataSource))
+                .toList());
         templateBuilder.add(TemplateParams.METHODS.name(), generatedMethods);
+        templateBuilder.add(TemplateParams.MANIFEST_CALLS.name(), manifestCalls);
 
         return templateBuilder.render();
     }
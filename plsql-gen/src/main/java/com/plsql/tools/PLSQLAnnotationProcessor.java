@@ -2,6 +2,8 @@ package com.plsql.tools;
 
 import com.plsql.tools.annotations.Package;
 import com.plsql.tools.annotations.Record;
+import com.plsql.tools.constants.Constants;
+import com.plsql.tools.processors.HugeMethodChecker;
 import com.plsql.tools.processors.RecordProcessor;
 import com.plsql.tools.tools.Tools;
 
@@ -25,6 +27,11 @@ import java.util.stream.Collectors;
         "com.plsql.tools.annotations.PlsqlCallable",
         "com.plsql.tools.annotations.Record"
 })
+@SupportedOptions({
+        Constants.FETCH_SIZE_OPTION,
+        Constants.LOB_PREFETCH_SIZE_OPTION,
+        Constants.FAIL_ON_HUGE_METHODS_OPTION
+})
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public class PLSQLAnnotationProcessor extends AbstractProcessor {
     // TODO : handle primitive type as return : throw exception and error message ?
@@ -38,6 +45,7 @@ public class PLSQLAnnotationProcessor extends AbstractProcessor {
         this.filer = processingEnv.getFiler();
         this.context = new ProcessingContext(processingEnv, Boolean.parseBoolean(System.getProperty("debug")));
         this.recordProcessor = new RecordProcessor(context);
+        HugeMethodChecker.register(processingEnv, context);
         context.logInfoDeco("PL/SQL Annotation Processor initialized");
     }
 
@@ -56,6 +64,7 @@ public class PLSQLAnnotationProcessor extends AbstractProcessor {
             for (var record : recordElements) {
                 this.recordProcessor.process(record);
             }
+            this.recordProcessor.generateRowMappers(recordElements);
             return processPackageClasses(roundEnv);
         } catch (Exception e) {
             context.logError("Fatal error during processing: " + e.getMessage());
@@ -126,6 +135,7 @@ public class PLSQLAnnotationProcessor extends AbstractProcessor {
         try (PrintWriter out = new PrintWriter(builderFile.openWriter())) {
             out.print(generatedClass);
         }
+        context.registerGeneratedClass(packageName + "." + generatedClassName);
 
         context.logInfo("Generated implementation class: " + generatedClassName);
     }
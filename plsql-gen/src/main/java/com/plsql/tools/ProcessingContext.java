@@ -1,5 +1,6 @@
 package com.plsql.tools;
 
+import com.plsql.tools.constants.Constants;
 import com.plsql.tools.tools.MessageUtils;
 import com.plsql.tools.tools.extraction.cache.ExtractionCache;
 import com.plsql.tools.tools.extraction.cache.SimpleCache;
@@ -9,25 +10,50 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.type.TypeMirror;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ProcessingContext {
     private final ProcessingEnvironment processingEnv;
     private final MessageUtils messageUtils;
     private boolean isDebugEnabled;
+    private final int defaultFetchSize;
+    private final int defaultLobPrefetchSize;
 
     private final SimpleCache<TypeMirror, List<AttachedElementInfo>> cache = new ExtractionCache();
+    // qualified name of each @Record type -> qualified name of its generated row mapper
+    private final Map<String, String> rowMappers = new HashMap<>();
+    // classes written by the processor, checked once compiled
+    private final Set<String> generatedClasses = new HashSet<>();
 
     public ProcessingContext(ProcessingEnvironment processingEnv) {
-        this.processingEnv = processingEnv;
-        this.messageUtils = new MessageUtils(processingEnv);
+        this(processingEnv, false);
     }
 
     public ProcessingContext(ProcessingEnvironment processingEnv, boolean isDebugEnabled) {
         this.processingEnv = processingEnv;
         this.messageUtils = new MessageUtils(processingEnv);
         this.isDebugEnabled = isDebugEnabled;
+        this.defaultFetchSize = intOption(Constants.FETCH_SIZE_OPTION);
+        this.defaultLobPrefetchSize = intOption(Constants.LOB_PREFETCH_SIZE_OPTION);
+    }
+
+    private int intOption(String name) {
+        Map<String, String> options = processingEnv.getOptions();
+        String value = options != null ? options.get(name) : null;
+        if (value == null || value.isBlank()) {
+            return Constants.INHERIT;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Processor option %s must be an integer: %s".formatted(name, value), e);
+        }
     }
 
     public void logInfo(Object... messages) {
@@ -88,7 +114,31 @@ public class ProcessingContext {
         return processingEnv;
     }
 
+    public int getDefaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    public int getDefaultLobPrefetchSize() {
+        return defaultLobPrefetchSize;
+    }
+
     public SimpleCache<TypeMirror, List<AttachedElementInfo>> getCache() {
         return cache;
     }
+
+    public void registerRowMapper(String recordType, String rowMapperType) {
+        rowMappers.put(recordType, rowMapperType);
+    }
+
+    public Optional<String> findRowMapper(String recordType) {
+        return Optional.ofNullable(rowMappers.get(recordType));
+    }
+
+    public void registerGeneratedClass(String qualifiedName) {
+        generatedClasses.add(qualifiedName);
+    }
+
+    public boolean isGeneratedClass(String qualifiedName) {
+        return generatedClasses.contains(qualifiedName);
+    }
 }
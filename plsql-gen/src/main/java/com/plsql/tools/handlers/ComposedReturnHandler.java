@@ -9,29 +9,20 @@ import com.plsql.tools.tools.GenTools;
 import com.plsql.tools.tools.extraction.Extractor;
 import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
+import com.plsql.tools.tools.extraction.info.MetaInfo;
 import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
 import lombok.Builder;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
-import static com.plsql.tools.enums.TypeMapper.CHARACTER;
-import static com.plsql.tools.enums.TypeMapper.CHARACTER_WRAPPER;
 import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.PROCESS_RESULT_SET;
 import static com.plsql.tools.tools.CodeGenConstants.*;
 
 @Builder
 public class ComposedReturnHandler implements ReturnTypeHandler {
-    private static final Map<TypeMapper, Function<String, String>> TRANSFORMERS = Map.of(
-            TypeMapper.DATE, GenTools::toDate,
-            TypeMapper.LOCAL_DATE, GenTools::toLocalDate,
-            TypeMapper.LOCAL_DATE_TIME, GenTools::toLocalDateTime,
-            TypeMapper.LOCAL_TIME, GenTools::toLocalTime
-    );
-
     private final Extractor extractor;
     private final TemplateManager<CodeSnippets.ResultSetParams> templateManager = new CodeSnippetsTemplatesManager<>();
 
@@ -53,92 +44,50 @@ public class ComposedReturnHandler implements ReturnTypeHandler {
 
     @Override
     public String generateCode(ReturnElementInfo returnElement) {
+        String emptyStatement = isReturnSomething ? GenTools.returnObject(variableName(returnElement.getName())) : "";
+        RowMapping rowMapping = rowMapping(returnElement);
         Map<CodeSnippets.ResultSetParams, String> context = createContextForProcessingResultSet(
                 returnElement.getPos(),
-                isReturnSomething ? GenTools.returnObject(variableName(returnElement.getName())) : "",
-                String.join("\n", flattenToStatements(returnElement, isToAssign, isWrapped))
-                        + "\n" + toAppendToStatements
+                emptyStatement,
+                cursorConfiguration(returnElement.getOutput()),
+                rowMapping.columnIndexes(),
+                rowMapping.statements()
         );
         return (isInitObject ? initObjectToNull(returnElement) + "\n" : "") +
                 templateManager.render(PROCESS_RESULT_SET, context);
     }
 
-    private List<String> flattenToStatements(ComposedElementInfo composedElementInfo,
-                                             boolean isAssign,
-                                             boolean isWrapped
-    ) {
-        if (isWrapped) {
-            composedElementInfo.setName(wrappedVariableName(composedElementInfo.getName()));
-        }
-        var statements = flattenComposedElementInfo(composedElementInfo);
-        if (composedElementInfo.getTypeInfo().isRecord()) {
-            statements.addAll(initRecordStatements(composedElementInfo, isAssign));
-        } else {
-            statements.addAll(initObjectStatements(composedElementInfo, isAssign));
-        }
-        return statements;
+    /**
+     * Column index declarations to run once per cursor and the statements mapping the current row,
+     * shared with the handlers that iterate the cursor themselves.
+     */
+    RowMapping rowMapping(ReturnElementInfo returnElement) {
+        List<String> columnIndexes = new ArrayList<>();
+        List<String> statements = flattenToStatements(returnElement, isToAssign, isWrapped, columnIndexes);
+        return new RowMapping(
+                String.join("\n", columnIndexes),
+                String.join("\n", statements) + "\n" + toAppendToStatements);
     }
 
-    private List<String> flattenComposedElementInfo(ComposedElementInfo composedElementInfo) {
-        List<String> statements = new ArrayList<>();
-        for (var attachedElementInfo : composedElementInfo.getElementInfoList()) {
-            if (attachedElementInfo.getTypeInfo().isSimple()) {
-                String resultSet = resultSetGetter(attachedElementInfo);
-                statements.add(
-                        GenTools.assignAndInit(
-                                attachedElementInfo.getTypeInfo().typeAsString(),
-                                variableName(attachedElementInfo.getName()),
-                                resultSet
-                        ));
-            } else {
-                var typeInfo = attachedElementInfo.getTypeInfo();
-                var extractedElement = extractor
-                        .convertInto(typeInfo.getRawType());
-                statements.addAll(flattenComposedElementInfo(extractedElement));
-                if (extractedElement.getTypeInfo().isRecord()) {
-                    statements.addAll(initRecordStatements(extractedElement, false));
-                } else {
-                    statements.addAll(initObjectStatements(extractedElement, false));
-                }
-            }
-        }
-        return statements;
+    static String cursorConfiguration(MetaInfo output) {
+        return output != null && output.hasFetchSize() ? GenTools.setFetchSize(RESULT_SET_VAR, output.fetchSize()) : "";
     }
 
-    private List<String> initRecordStatements(ComposedElementInfo composedElementInfo, boolean isAssign) {
-        var statements = new ArrayList<String>();
-        var typeInfo = composedElementInfo.getTypeInfo();
-        String type = typeInfo.isWrapped() ? typeInfo.wrappedTypeAsString() : typeInfo.typeAsString();
-        String parameters = composedElementInfo.getElementInfoList()
-                .stream()
-                .map(e -> variableName(e.getName()))
-                .collect(Collectors.joining(", "));
-        if (isAssign) {
-            // example: name = new Type(params..);
-            statements.add(assignNewObject(composedElementInfo, parameters));
-        } else {
-            // example: Type name = new Type(params..);
-            statements.add(GenTools.assignAndInitObject(type, variableName(composedElementInfo.getName()), parameters));
-        }
-        return statements;
+    record RowMapping(String columnIndexes, String statements) {
     }
 
-    private List<String> initObjectStatements(ComposedElementInfo composedElementInfo, boolean isAssign) {
-        var statements = new ArrayList<String>();
-        if (isAssign) {
-            statements.add(assignNewObject(composedElementInfo, ""));
-        } else {
-            statements.add(GenTools.initObject(composedElementInfo));
-        }
-        for (var e : composedElementInfo.getElementInfoList()) {
-            statements.add(
-                    GenTools.invokeMethodFromObject(
-                            variableName(composedElementInfo.getName()),
-                            e.getSetter().getSimpleName().toString(),
-                            variableName(e.getName())
-                    ).concat(";")
-            );
+    private List<String> flattenToStatements(ComposedElementInfo composedElementInfo,
+                                             boolean isAssign,
+                                             boolean isWrapped,
+                                             List<String> columnIndexes
+    ) {
+        if (isWrapped) {
+            composedElementInfo.setName(wrappedVariableName(composedElementInfo.getName()));
         }
+        List<RowMappingFlattener.CursorVariable> cursorVariables = new ArrayList<>();
+        var statements = new RowMappingFlattener(extractor, true)
+                .flattenElement(composedElementInfo, isAssign, cursorVariables);
+        cursorVariables.forEach(v -> columnIndexes.add(v.declaration()));
         return statements;
     }
 
@@ -147,43 +96,26 @@ public class ComposedReturnHandler implements ReturnTypeHandler {
         return GenTools.assignNullAndInit(typeInfo.typeAsString(), variableName(elementInfo.getName()));
     }
 
-    //example : name = new Type(param);
-    private String assignNewObject(ElementInfo elementInfo, String parameters) {
-        var typeInfo = elementInfo.getTypeInfo();
-        return GenTools.assignNewObject(
-                typeInfo.typeAsString(),
-                variableName(elementInfo.getName()),
-                parameters
-        );
-    }
-
-    private String resultSetGetter(ElementInfo elementInfo) {
-        var typeInfo = elementInfo.getTypeInfo();
-        String resultSet = GenTools.invokeMethodFromObject(RESULT_SET_VAR,
-                typeInfo.asTypeMapper().getJdbcGetterMethod(),
-                GenTools.literalString(elementInfo.getAlias())
-        );
-        if (typeInfo.asTypeMapper().isDateTime()) {
-            return TRANSFORMERS.get(typeInfo.asTypeMapper()).apply(resultSet);
-        } else if (typeInfo.asTypeMapper() == CHARACTER_WRAPPER || typeInfo.asTypeMapper() == CHARACTER) {
-            return GenTools.toChar(resultSet);
-        }
-        return resultSet;
-    }
-
     private Map<CodeSnippets.ResultSetParams, String> createContextForProcessingResultSet(
             String position,
             String emptyStatement,
+            String cursorConfiguration,
+            String columnIndexes,
             String setterStatements
     ) {
-        return Map.of(
-                CodeSnippets.ResultSetParams.STMT_RESULT_TYPE, java.sql.ResultSet.class.getCanonicalName(),
-                CodeSnippets.ResultSetParams.STMT_GETTER, TypeMapper.OBJECT.getJdbcGetterMethod(),
-                CodeSnippets.ResultSetParams.POSITION, position,
-                CodeSnippets.ResultSetParams.HANDLE_EMPTY_STATEMENT, emptyStatement,
-                CodeSnippets.ResultSetParams.STMT_VAR_NAME, CodeGenConstants.STATEMENT_VAR,
-                CodeSnippets.ResultSetParams.STMT_RESULT_VAR, RESULT_SET_VAR,
-                CodeSnippets.ResultSetParams.SETTER_STATEMENTS, setterStatements
-        );
+        Map<CodeSnippets.ResultSetParams, String> context = new EnumMap<>(CodeSnippets.ResultSetParams.class);
+        context.put(CodeSnippets.ResultSetParams.STMT_RESULT_TYPE, java.sql.ResultSet.class.getCanonicalName());
+        context.put(CodeSnippets.ResultSetParams.STMT_GETTER, TypeMapper.OBJECT.getJdbcGetterMethod());
+        context.put(CodeSnippets.ResultSetParams.POSITION, position);
+        context.put(CodeSnippets.ResultSetParams.STMT_VAR_NAME, CodeGenConstants.STATEMENT_VAR);
+        context.put(CodeSnippets.ResultSetParams.STMT_RESULT_VAR, RESULT_SET_VAR);
+        context.put(CodeSnippets.ResultSetParams.CURSOR_CONFIGURATION, cursorConfiguration);
+        context.put(CodeSnippets.ResultSetParams.COLUMN_INDEXES, columnIndexes);
+        context.put(CodeSnippets.ResultSetParams.SETTER_STATEMENTS, setterStatements);
+        // an empty cursor returns early and completes the trace there, otherwise the method completes it once read
+        if (!emptyStatement.isEmpty()) {
+            context.put(CodeSnippets.ResultSetParams.HANDLE_EMPTY_STATEMENT, emptyStatement);
+        }
+        return context;
     }
 }
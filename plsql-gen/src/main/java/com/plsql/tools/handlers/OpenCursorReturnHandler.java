@@ -0,0 +1,71 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.enums.TypeMapper;
+import com.plsql.tools.templates.CodeSnippets;
+import com.plsql.tools.templates.CodeSnippetsTemplatesManager;
+import com.plsql.tools.templates.TemplateManager;
+import com.plsql.tools.tools.CodeGenConstants;
+import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+
+import java.util.Map;
+
+import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.PROCESS_CURSOR_RESULT_SET;
+import static com.plsql.tools.tools.CodeGenConstants.*;
+
+/**
+ * Hands the open cursor over to the caller through the given {@code Cursors} factory,
+ * rows are mapped one at a time as the caller reads them.
+ */
+abstract class OpenCursorReturnHandler implements ReturnTypeHandler {
+
+    protected final Extractor extractor;
+
+    private final TemplateManager<CodeSnippets.CursorResultSetParams> templateManager = new CodeSnippetsTemplatesManager<>();
+
+    protected OpenCursorReturnHandler(Extractor extractor) {
+        this.extractor = extractor;
+    }
+
+    protected abstract String cursorFactory();
+
+    protected abstract String returnTypeName();
+
+    @Override
+    public String generateCode(ReturnElementInfo returnElement) {
+        var typeInfo = returnElement.getTypeInfo();
+        if (typeInfo.isWrappedSimple()) {
+            throw new IllegalStateException("%s return type must wrap a @Record class, found: %s"
+                    .formatted(returnTypeName(), typeInfo.typeAsString()));
+        }
+        var defaultReturnName = returnElement.getName();
+        var readRow = GenTools.returnObject(variableName(wrappedVariableName(defaultReturnName)));
+
+        ComposedReturnHandler composedReturnHandler = ComposedReturnHandler
+                .builder()
+                .extractor(extractor)
+                .isToAssign(false)
+                .isWrapped(true)
+                .isInitObject(false)
+                .isReturnSomething(false)
+                .toAppendToStatements(readRow)
+                .build();
+        var rowMapping = composedReturnHandler.rowMapping(returnElement);
+
+        return templateManager.render(PROCESS_CURSOR_RESULT_SET, Map.ofEntries(
+                Map.entry(CodeSnippets.CursorResultSetParams.STMT_RESULT_TYPE, java.sql.ResultSet.class.getCanonicalName()),
+                Map.entry(CodeSnippets.CursorResultSetParams.STMT_RESULT_VAR, RESULT_SET_VAR),
+                Map.entry(CodeSnippets.CursorResultSetParams.STMT_VAR_NAME, CodeGenConstants.STATEMENT_VAR),
+                Map.entry(CodeSnippets.CursorResultSetParams.STMT_GETTER, TypeMapper.OBJECT.getJdbcGetterMethod()),
+                Map.entry(CodeSnippets.CursorResultSetParams.POSITION, returnElement.getPos()),
+                Map.entry(CodeSnippets.CursorResultSetParams.CURSOR_CONFIGURATION,
+                        ComposedReturnHandler.cursorConfiguration(returnElement.getOutput())),
+                Map.entry(CodeSnippets.CursorResultSetParams.COLUMN_INDEXES, rowMapping.columnIndexes()),
+                Map.entry(CodeSnippets.CursorResultSetParams.RESULT_TYPE, typeInfo.typeAsString()),
+                Map.entry(CodeSnippets.CursorResultSetParams.RESULT_VAR, variableName(defaultReturnName)),
+                Map.entry(CodeSnippets.CursorResultSetParams.CURSOR_FACTORY, cursorFactory()),
+                Map.entry(CodeSnippets.CursorResultSetParams.ROW_STATEMENTS, rowMapping.statements())
+        ));
+    }
+}
@@ -36,14 +36,14 @@ public class OptionalReturnHandler implements ReturnTypeHandler {
     public String generateCode(ReturnElementInfo returnElement) {
         if (returnElement.getTypeInfo().isWrappedSimple()) {
             var typeInfo = returnElement.getTypeInfo();
+            var position = returnElement.getPos();
             var context = Map.of(
-                    CodeSnippets.OptionalResultSetParams.POSITION, returnElement.getPos(),
                     CodeSnippets.OptionalResultSetParams.STMT_RESULT_TYPE,
                     GenTools.genericType(Optional.class.getCanonicalName(), typeInfo.wrappedTypeAsString()),
-                    CodeSnippets.OptionalResultSetParams.STMT_GETTER, Objects.requireNonNull(typeInfo.wrappedTypeAsTypeMapper()).getJdbcGetterMethod(),
                     CodeSnippets.OptionalResultSetParams.OBJECT_INIT_STATEMENT, variableName(returnElement.getName()),
                     CodeSnippets.OptionalResultSetParams.OPTIONAL_TYPE, Optional.class.getCanonicalName(),
-                    CodeSnippets.OptionalResultSetParams.STMT_VAR_NAME, CodeGenConstants.STATEMENT_VAR);
+                    CodeSnippets.OptionalResultSetParams.STMT_VALUE, GenTools.outParameterGetter(
+                            Objects.requireNonNull(typeInfo.wrappedTypeAsTypeMapper()), CodeGenConstants.STATEMENT_VAR, position));
             return templateManager
                     .render(PROCESS_OPTIONAL_RESULT_SET, context);
         } else {
@@ -0,0 +1,33 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+
+/**
+ * Hands the open cursor over to a {@link java.util.concurrent.Flow.Publisher},
+ * rows are fetched and mapped as the subscriber requests them.
+ */
+public class PublisherReturnHandler extends OpenCursorReturnHandler {
+
+    private static final String CURSOR_FACTORY = "Cursors.publisher";
+
+    public PublisherReturnHandler(Extractor extractor) {
+        super(extractor);
+    }
+
+    @Override
+    public boolean canHandle(ReturnElementInfo returnElement) {
+        return returnElement.getTypeInfo().isWrapped() &&
+                extractor.isPublisher(returnElement.getTypeInfo().getMirror());
+    }
+
+    @Override
+    protected String cursorFactory() {
+        return CURSOR_FACTORY;
+    }
+
+    @Override
+    protected String returnTypeName() {
+        return "Publisher";
+    }
+}
@@ -24,13 +24,24 @@ public class ReturnTypeDetector {
             return ReturnCategory.OPTIONAL_COMPOSED;
         } else if (isCollection(typeInfo)) {
             return ReturnCategory.COLLECTION;
+        } else if (isStream(typeInfo)) {
+            return ReturnCategory.STREAM;
+        } else if (isPublisher(typeInfo)) {
+            return ReturnCategory.PUBLISHER;
+        } else if (isRowCallback(typeInfo)) {
+            return ReturnCategory.ROW_CALLBACK;
         }
 
         throw new IllegalStateException("Unknown return type: " + typeInfo);
     }
 
     public enum ReturnCategory {
-        SIMPLE, COMPOSED, OPTIONAL_SIMPLE, OPTIONAL_COMPOSED, COLLECTION
+        SIMPLE, COMPOSED, OPTIONAL_SIMPLE, OPTIONAL_COMPOSED, COLLECTION, STREAM, PUBLISHER, ROW_CALLBACK;
+
+        // the cursor stays open after the call returns and is released by the caller
+        public boolean isOpenCursor() {
+            return this == STREAM || this == PUBLISHER;
+        }
     }
 
     private boolean isOptionalSimple(TypeInfo typeInfo) {
@@ -49,4 +60,19 @@ public class ReturnTypeDetector {
                 extractor.isCollection(typeInfo.getMirror());
     }
 
+    private boolean isStream(TypeInfo typeInfo) {
+        return typeInfo.isWrapped() &&
+                extractor.isStream(typeInfo.getMirror());
+    }
+
+    private boolean isPublisher(TypeInfo typeInfo) {
+        return typeInfo.isWrapped() &&
+                extractor.isPublisher(typeInfo.getMirror());
+    }
+
+    private boolean isRowCallback(TypeInfo typeInfo) {
+        return typeInfo.isWrapped() &&
+                extractor.isConsumer(typeInfo.getMirror());
+    }
+
 }
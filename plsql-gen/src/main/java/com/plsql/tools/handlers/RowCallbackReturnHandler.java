@@ -0,0 +1,49 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+
+import static com.plsql.tools.tools.CodeGenConstants.variableName;
+import static com.plsql.tools.tools.CodeGenConstants.wrappedVariableName;
+
+/**
+ * Pushes every mapped row to the {@code Consumer} parameter of the method while the cursor is iterated,
+ * no collection is built so the memory used does not grow with the number of rows.
+ */
+public class RowCallbackReturnHandler implements ReturnTypeHandler {
+
+    private final Extractor extractor;
+
+    public RowCallbackReturnHandler(Extractor extractor) {
+        this.extractor = extractor;
+    }
+
+    @Override
+    public boolean canHandle(ReturnElementInfo returnElement) {
+        return returnElement.getTypeInfo().isWrapped() &&
+                extractor.isConsumer(returnElement.getTypeInfo().getMirror());
+    }
+
+    @Override
+    public String generateCode(ReturnElementInfo returnElement) {
+        // the element is named after the Consumer parameter
+        var rowCallback = returnElement.getName();
+        var acceptRow = GenTools.invokeMethodFromObject(
+                rowCallback,
+                "accept",
+                variableName(wrappedVariableName(rowCallback))
+        ).concat(";");
+
+        ComposedReturnHandler composedReturnHandler = ComposedReturnHandler
+                .builder()
+                .extractor(extractor)
+                .isToAssign(false)
+                .isWrapped(true)
+                .isInitObject(false)
+                .isReturnSomething(false)
+                .toAppendToStatements(acceptRow)
+                .build();
+        return composedReturnHandler.generateCode(returnElement);
+    }
+}
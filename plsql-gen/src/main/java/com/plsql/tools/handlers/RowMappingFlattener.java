@@ -0,0 +1,205 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.enums.TypeMapper;
+import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
+import com.plsql.tools.tools.extraction.info.ElementInfo;
+import com.plsql.tools.tools.extraction.info.TypeInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.plsql.tools.enums.TypeMapper.CHARACTER;
+import static com.plsql.tools.enums.TypeMapper.CHARACTER_WRAPPER;
+import static com.plsql.tools.tools.CodeGenConstants.*;
+
+/**
+ * Turns a composed element into the statements mapping the current row of the cursor. The variables resolved once
+ * per cursor, column indexes and the row mappers of the nested records, are collected apart so the caller can
+ * declare them before iterating the rows.
+ */
+public class RowMappingFlattener {
+    private static final Map<TypeMapper, Function<String, String>> TRANSFORMERS = Map.of(
+            TypeMapper.DATE, GenTools::toDate,
+            TypeMapper.LOCAL_DATE, GenTools::toLocalDate,
+            TypeMapper.LOCAL_DATE_TIME, GenTools::toLocalDateTime,
+            TypeMapper.LOCAL_TIME, GenTools::toLocalTime
+    );
+
+    private final Extractor extractor;
+    private final boolean isDelegating;
+
+    /**
+     * @param isDelegating maps the records owning a generated row mapper through it instead of inlining their columns
+     */
+    public RowMappingFlattener(Extractor extractor, boolean isDelegating) {
+        this.extractor = extractor;
+        this.isDelegating = isDelegating;
+    }
+
+    /**
+     * A variable declared once per cursor, before the rows are read.
+     */
+    public record CursorVariable(String type, String name, String initializer) {
+
+        public String declaration() {
+            return GenTools.assignAndInit(type, name, initializer);
+        }
+    }
+
+    /**
+     * Statements leaving the mapped row in the variable named after the element, delegating the whole row to the
+     * row mapper of the element type when there is one.
+     */
+    public List<String> flattenElement(ComposedElementInfo composedElementInfo,
+                                       boolean isAssign,
+                                       List<CursorVariable> cursorVariables) {
+        var typeInfo = composedElementInfo.getTypeInfo();
+        Optional<String> rowMapper = findRowMapper(typeInfo.isWrapped() ? typeInfo.wrappedTypeAsString() : typeInfo.typeAsString());
+        if (rowMapper.isPresent()) {
+            String mapperName = variableName("rowMapper");
+            cursorVariables.add(new CursorVariable(rowMapper.get(), mapperName, newRowMapper(rowMapper.get())));
+            String mapRow = mapRow(mapperName);
+            String name = variableName(composedElementInfo.getName());
+            return new ArrayList<>(List.of(isAssign ? GenTools.assign(name, mapRow) :
+                    GenTools.assignAndInit(declaredType(typeInfo), name, mapRow)));
+        }
+        var statements = flattenAttachedElements(composedElementInfo, cursorVariables);
+        statements.addAll(initStatements(composedElementInfo, isAssign));
+        return statements;
+    }
+
+    /**
+     * Statements reading the attached elements of the composed element, then building it.
+     */
+    public List<String> flattenAttachedElements(ComposedElementInfo composedElementInfo,
+                                                List<CursorVariable> cursorVariables) {
+        List<String> statements = new ArrayList<>();
+        for (var attachedElementInfo : composedElementInfo.getElementInfoList()) {
+            var typeInfo = attachedElementInfo.getTypeInfo();
+            if (typeInfo.isSimple()) {
+                String columnIndex = columnIndexName(attachedElementInfo.getName());
+                cursorVariables.add(new CursorVariable(INT, columnIndex,
+                        GenTools.findColumn(RESULT_SET_VAR, attachedElementInfo.getAlias())));
+                statements.add(
+                        GenTools.assignAndInit(
+                                typeInfo.typeAsString(),
+                                variableName(attachedElementInfo.getName()),
+                                resultSetGetter(attachedElementInfo, columnIndex)
+                        ));
+                continue;
+            }
+            Optional<String> rowMapper = findRowMapper(typeInfo.typeAsString());
+            if (rowMapper.isPresent()) {
+                // nested records are read by their own mapper, sharing the cursor
+                String mapperName = variableName(attachedElementInfo.getName() + "Mapper");
+                cursorVariables.add(new CursorVariable(rowMapper.get(), mapperName, newRowMapper(rowMapper.get())));
+                statements.add(GenTools.assignAndInit(typeInfo.typeAsString(),
+                        variableName(attachedElementInfo.getName()),
+                        mapRow(mapperName)));
+                continue;
+            }
+            var extractedElement = extractor.convertInto(typeInfo.getRawType());
+            statements.addAll(flattenAttachedElements(extractedElement, cursorVariables));
+            statements.addAll(initStatements(extractedElement, false));
+        }
+        return statements;
+    }
+
+    /**
+     * The statements building the composed element from the variables of its attached elements.
+     */
+    public List<String> initStatements(ComposedElementInfo composedElementInfo, boolean isAssign) {
+        return composedElementInfo.getTypeInfo().isRecord() ?
+                initRecordStatements(composedElementInfo, isAssign) :
+                initObjectStatements(composedElementInfo, isAssign);
+    }
+
+    private Optional<String> findRowMapper(String type) {
+        if (!isDelegating) {
+            return Optional.empty();
+        }
+        return extractor.findRowMapper(type);
+    }
+
+    private static String newRowMapper(String rowMapper) {
+        return GenTools.newObject(rowMapper, RESULT_SET_VAR);
+    }
+
+    private static String mapRow(String mapperName) {
+        return GenTools.invokeMethodFromObject(mapperName, "map", RESULT_SET_VAR);
+    }
+
+    private static String declaredType(TypeInfo typeInfo) {
+        return typeInfo.isWrapped() ? typeInfo.wrappedTypeAsString() : typeInfo.typeAsString();
+    }
+
+    private List<String> initRecordStatements(ComposedElementInfo composedElementInfo, boolean isAssign) {
+        var statements = new ArrayList<String>();
+        String parameters = composedElementInfo.getElementInfoList()
+                .stream()
+                .map(e -> variableName(e.getName()))
+                .collect(Collectors.joining(", "));
+        if (isAssign) {
+            // example: name = new Type(params..);
+            statements.add(assignNewObject(composedElementInfo, parameters));
+        } else {
+            // example: Type name = new Type(params..);
+            statements.add(GenTools.assignAndInitObject(declaredType(composedElementInfo.getTypeInfo()),
+                    variableName(composedElementInfo.getName()), parameters));
+        }
+        return statements;
+    }
+
+    private List<String> initObjectStatements(ComposedElementInfo composedElementInfo, boolean isAssign) {
+        var statements = new ArrayList<String>();
+        if (isAssign) {
+            statements.add(assignNewObject(composedElementInfo, ""));
+        } else {
+            statements.add(GenTools.initObject(composedElementInfo));
+        }
+        for (var e : composedElementInfo.getElementInfoList()) {
+            statements.add(
+                    GenTools.invokeMethodFromObject(
+                            variableName(composedElementInfo.getName()),
+                            e.getSetter().getSimpleName().toString(),
+                            variableName(e.getName())
+                    ).concat(";")
+            );
+        }
+        return statements;
+    }
+
+    //example : name = new Type(param);
+    private String assignNewObject(ElementInfo elementInfo, String parameters) {
+        var typeInfo = elementInfo.getTypeInfo();
+        return GenTools.assignNewObject(
+                typeInfo.typeAsString(),
+                variableName(elementInfo.getName()),
+                parameters
+        );
+    }
+
+    private String resultSetGetter(ElementInfo elementInfo, String columnIndex) {
+        var typeInfo = elementInfo.getTypeInfo();
+        if (typeInfo.asTypeMapper().isUnboxedByJdbc()) {
+            return GenTools.resultSetWrapperGetter(typeInfo.asTypeMapper().getJdbcGetterMethod(), RESULT_SET_VAR, columnIndex);
+        }
+        // primitives are read straight from the result set, without boxing
+        String resultSet = GenTools.invokeMethodFromObject(RESULT_SET_VAR,
+                typeInfo.asTypeMapper().getJdbcGetterMethod(),
+                columnIndex
+        );
+        if (typeInfo.asTypeMapper().isDateTime()) {
+            return TRANSFORMERS.get(typeInfo.asTypeMapper()).apply(resultSet);
+        } else if (typeInfo.asTypeMapper() == CHARACTER_WRAPPER || typeInfo.asTypeMapper() == CHARACTER) {
+            return GenTools.toChar(resultSet);
+        }
+        return resultSet;
+    }
+}
@@ -4,6 +4,7 @@ import com.plsql.tools.templates.CodeSnippets;
 import com.plsql.tools.templates.TemplateManager;
 import com.plsql.tools.templates.CodeSnippetsTemplatesManager;
 import com.plsql.tools.tools.CodeGenConstants;
+import com.plsql.tools.tools.GenTools;
 import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
 
 import java.util.Map;
@@ -22,11 +23,10 @@ public class SimpleReturnHandler implements ReturnTypeHandler {
     @Override
     public String generateCode(ReturnElementInfo returnElement) {
         var context = Map.of(
-                CodeSnippets.SimpleResultSetParams.POSITION, returnElement.getPos(),
                 CodeSnippets.SimpleResultSetParams.STMT_RESULT_TYPE, returnElement.getTypeInfo().typeAsString(),
-                CodeSnippets.SimpleResultSetParams.STMT_GETTER, returnElement.getTypeInfo().asTypeMapper().getJdbcGetterMethod(),
                 CodeSnippets.SimpleResultSetParams.OBJECT_INIT_STATEMENT, variableName(returnElement.getName()),
-                CodeSnippets.SimpleResultSetParams.STMT_VAR_NAME, CodeGenConstants.STATEMENT_VAR);
+                CodeSnippets.SimpleResultSetParams.STMT_VALUE, GenTools.outParameterGetter(
+                        returnElement.getTypeInfo().asTypeMapper(), CodeGenConstants.STATEMENT_VAR, returnElement.getPos()));
         return templateManager
                 .render(PROCESS_SIMPLE_RESULT_SET, context);
     }
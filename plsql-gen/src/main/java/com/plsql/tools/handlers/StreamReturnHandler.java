@@ -0,0 +1,33 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+
+/**
+ * Hands the open cursor over to a lazily drained {@link java.util.stream.Stream},
+ * rows are mapped one at a time as the stream pulls them.
+ */
+public class StreamReturnHandler extends OpenCursorReturnHandler {
+
+    private static final String CURSOR_FACTORY = "Cursors.stream";
+
+    public StreamReturnHandler(Extractor extractor) {
+        super(extractor);
+    }
+
+    @Override
+    public boolean canHandle(ReturnElementInfo returnElement) {
+        return returnElement.getTypeInfo().isWrapped() &&
+                extractor.isStream(returnElement.getTypeInfo().getMirror());
+    }
+
+    @Override
+    protected String cursorFactory() {
+        return CURSOR_FACTORY;
+    }
+
+    @Override
+    protected String returnTypeName() {
+        return "Stream";
+    }
+}
@@ -0,0 +1,92 @@
+package com.plsql.tools.processors;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the bytecode size of the methods of a class file, following the layout of the JVM specification (4.1).
+ */
+final class ClassFileMethods {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String CODE_ATTRIBUTE = "Code";
+
+    private ClassFileMethods() {
+    }
+
+    /**
+     * Code length of every method having a body, keyed by name and descriptor.
+     */
+    static Map<String, Integer> codeLengths(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        String[] utf8 = readConstantPool(in);
+        in.readUnsignedShort(); // access flags
+        in.readUnsignedShort(); // this class
+        in.readUnsignedShort(); // super class
+        in.skipNBytes(2L * in.readUnsignedShort()); // interfaces
+        int fieldCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            in.skipNBytes(6); // access flags, name, descriptor
+            skipAttributes(in);
+        }
+        Map<String, Integer> codeLengths = new LinkedHashMap<>();
+        int methodCount = in.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++) {
+            in.readUnsignedShort(); // access flags
+            String name = utf8[in.readUnsignedShort()];
+            String descriptor = utf8[in.readUnsignedShort()];
+            int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (CODE_ATTRIBUTE.equals(attributeName)) {
+                    in.readUnsignedShort(); // max stack
+                    in.readUnsignedShort(); // max locals
+                    int codeLength = in.readInt();
+                    codeLengths.put(name + descriptor, codeLength);
+                    in.skipNBytes(length - 8L);
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        }
+        return codeLengths;
+    }
+
+    // only the UTF-8 entries are kept, they hold the member and attribute names
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = in.readUTF();
+                case 7, 8, 16, 19, 20 -> in.skipNBytes(2);
+                case 15 -> in.skipNBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                case 5, 6 -> {
+                    // long and double take two entries
+                    in.skipNBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            in.readUnsignedShort(); // name
+            in.skipNBytes(in.readInt());
+        }
+    }
+}
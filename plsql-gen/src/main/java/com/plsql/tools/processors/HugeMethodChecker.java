@@ -0,0 +1,77 @@
+package com.plsql.tools.processors;
+
+import com.plsql.tools.ProcessingContext;
+import com.plsql.tools.constants.Constants;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reports the generated methods whose bytecode is above {@link Constants#HUGE_METHOD_LIMIT}, HotSpot never JIT
+ * compiles them and they stay interpreted. The class files are read once javac has written them, which is only
+ * possible when the processor runs inside javac, the check is skipped otherwise.
+ */
+public class HugeMethodChecker implements TaskListener {
+    private final ProcessingContext context;
+    private final boolean isFailing;
+
+    private HugeMethodChecker(ProcessingContext context, boolean isFailing) {
+        this.context = context;
+        this.isFailing = isFailing;
+    }
+
+    public static void register(ProcessingEnvironment processingEnv, ProcessingContext context) {
+        boolean isFailing = Boolean.parseBoolean(processingEnv.getOptions().get(Constants.FAIL_ON_HUGE_METHODS_OPTION));
+        try {
+            JavacTask.instance(processingEnv).addTaskListener(new HugeMethodChecker(context, isFailing));
+        } catch (IllegalArgumentException | IllegalStateException | LinkageError e) {
+            context.logDebug("Generated method size check disabled, not running in javac:", e.getMessage());
+        }
+    }
+
+    @Override
+    public void finished(TaskEvent event) {
+        if (event.getKind() != TaskEvent.Kind.GENERATE || event.getTypeElement() == null) {
+            return;
+        }
+        TypeElement generatedClass = event.getTypeElement();
+        if (!context.isGeneratedClass(generatedClass.getQualifiedName().toString())) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, Integer> method : codeLengths(generatedClass).entrySet()) {
+                if (method.getValue() > Constants.HUGE_METHOD_LIMIT) {
+                    context.getProcessingEnv().getMessager().printMessage(
+                            isFailing ? Diagnostic.Kind.ERROR : Diagnostic.Kind.MANDATORY_WARNING,
+                            "Generated method %s.%s has %d bytes of bytecode, above the %d bytes HotSpot JIT compiles"
+                                    .formatted(generatedClass.getSimpleName(), method.getKey(), method.getValue(),
+                                            Constants.HUGE_METHOD_LIMIT),
+                            generatedClass);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            context.logDebug("Unable to read the class file of", generatedClass.getQualifiedName(), e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> codeLengths(TypeElement generatedClass) throws IOException {
+        String binaryName = context.getProcessingEnv().getElementUtils().getBinaryName(generatedClass).toString();
+        int lastDot = binaryName.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : binaryName.substring(0, lastDot);
+        String fileName = binaryName.substring(lastDot + 1) + ".class";
+        FileObject classFile = context.getProcessingEnv().getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, packageName, fileName);
+        try (InputStream in = classFile.openInputStream()) {
+            return ClassFileMethods.codeLengths(in);
+        }
+    }
+}
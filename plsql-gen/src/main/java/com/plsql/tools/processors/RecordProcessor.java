@@ -3,16 +3,26 @@ package com.plsql.tools.processors;
 import com.plsql.tools.ProcessingContext;
 import com.plsql.tools.tools.extraction.Extractor;
 
+import javax.annotation.processing.Filer;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.List;
 
 public class RecordProcessor {
     private final ProcessingContext context;
 
     private final Extractor extractor;
 
+    private final RowMapperGenerator rowMapperGenerator;
+
     public RecordProcessor(ProcessingContext context) {
         this.context = context;
         this.extractor = new Extractor(context);
+        this.rowMapperGenerator = new RowMapperGenerator(context, extractor);
     }
 
     public void process(Element record) {
@@ -20,4 +30,24 @@ public class RecordProcessor {
         this.extractor.extractClassInfoAndAlimCache(record); // extract useful information to reuse later
         context.logInfo("Caching and processing end", record.getSimpleName());
     }
+
+    /**
+     * Writes the row mapper of every record that can be read from a cursor row, once all the records are cached.
+     */
+    public void generateRowMappers(Collection<? extends Element> records) throws IOException {
+        List<TypeElement> typeElements = records.stream()
+                .filter(TypeElement.class::isInstance)
+                .map(TypeElement.class::cast)
+                .toList();
+        Filer filer = context.getProcessingEnv().getFiler();
+        for (TypeElement record : rowMapperGenerator.registerRowMappers(typeElements)) {
+            String rowMapperName = rowMapperGenerator.rowMapperName(record);
+            JavaFileObject rowMapperFile = filer.createSourceFile(rowMapperName, record);
+            try (PrintWriter out = new PrintWriter(rowMapperFile.openWriter())) {
+                out.print(rowMapperGenerator.generate(record));
+            }
+            context.registerGeneratedClass(rowMapperName);
+            context.logInfo("Generated row mapper class: " + rowMapperName);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.plsql.tools.processors;
+
+import com.plsql.tools.ProcessingContext;
+import com.plsql.tools.handlers.RowMappingFlattener;
+import com.plsql.tools.templates.CodeSnippets;
+import com.plsql.tools.templates.CodeSnippetsTemplatesManager;
+import com.plsql.tools.templates.TemplateManager;
+import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.Tools;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
+import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.ROW_MAPPER_CLASS_TEMPLATE;
+import static com.plsql.tools.tools.CodeGenConstants.variableName;
+
+/**
+ * Generates one {@code <Record>RowMapper} class per @Record whose fields can all be read from a cursor row:
+ * simple values or other mappable records, which are delegated to their own mapper.
+ * The generated methods call the mapper instead of inlining the mapping of every column.
+ */
+public class RowMapperGenerator {
+    public static final String ROW_MAPPER_SUFFIX = "RowMapper";
+    private static final String ROW_VAR = "row";
+
+    private final ProcessingContext context;
+    private final Extractor extractor;
+    private final TemplateManager<CodeSnippets.RowMapperParams> templateManager = new CodeSnippetsTemplatesManager<>();
+
+    public RowMapperGenerator(ProcessingContext context, Extractor extractor) {
+        this.context = context;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Registers the row mapper of each mappable record, the records must already be in the extraction cache.
+     * The mappers are all registered before any is generated so nested records can be delegated.
+     */
+    public List<TypeElement> registerRowMappers(List<TypeElement> records) {
+        Map<String, TypeElement> candidates = new HashMap<>();
+        for (TypeElement record : records) {
+            if (record.getTypeParameters().isEmpty()) {
+                candidates.put(record.getQualifiedName().toString(), record);
+            }
+        }
+        List<TypeElement> mappable = new ArrayList<>();
+        for (TypeElement record : records) {
+            if (isMappable(record.getQualifiedName().toString(), candidates, new HashSet<>())) {
+                context.registerRowMapper(record.getQualifiedName().toString(), rowMapperName(record));
+                mappable.add(record);
+            }
+        }
+        return mappable;
+    }
+
+    public String rowMapperName(TypeElement record) {
+        String packageName = Tools.getPackageNameSafe(record).orElse("");
+        return packageName.isEmpty() ? rowMapperSimpleName(record) : packageName + "." + rowMapperSimpleName(record);
+    }
+
+    public String generate(TypeElement record) {
+        ComposedElementInfo row = extractor.convertInto(record);
+        row.setName(ROW_VAR);
+        row.getTypeInfo().setRecord(record.getKind() == ElementKind.RECORD);
+
+        List<RowMappingFlattener.CursorVariable> cursorVariables = new ArrayList<>();
+        RowMappingFlattener flattener = new RowMappingFlattener(extractor, true);
+        List<String> statements = flattener.flattenAttachedElements(row, cursorVariables);
+        statements.addAll(flattener.initStatements(row, false));
+
+        String packageName = Tools.getPackageNameSafe(record).orElse("");
+        return templateManager.render(ROW_MAPPER_CLASS_TEMPLATE, Map.of(
+                CodeSnippets.RowMapperParams.PACKAGE_DECLARATION, packageName.isEmpty() ? "" : "package %s;".formatted(packageName),
+                CodeSnippets.RowMapperParams.CLASS_NAME, rowMapperSimpleName(record),
+                CodeSnippets.RowMapperParams.RECORD_TYPE, record.getQualifiedName().toString(),
+                CodeSnippets.RowMapperParams.FIELDS, cursorVariables.stream()
+                        .map(v -> "private final %s %s;".formatted(v.type(), v.name()))
+                        .collect(Collectors.joining("\n")),
+                CodeSnippets.RowMapperParams.FIELD_INITIALIZATION, cursorVariables.stream()
+                        .map(v -> GenTools.assign("this." + v.name(), v.initializer()))
+                        .collect(Collectors.joining("\n")),
+                CodeSnippets.RowMapperParams.ROW_STATEMENTS, String.join("\n", statements),
+                CodeSnippets.RowMapperParams.RESULT_VAR, variableName(ROW_VAR)
+        ));
+    }
+
+    // nested classes of the record keep their enclosing names to stay unique in the package
+    private static String rowMapperSimpleName(TypeElement record) {
+        String qualifiedName = record.getQualifiedName().toString();
+        String packageName = Tools.getPackageNameSafe(record).orElse("");
+        String relativeName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return relativeName.replace('.', '_') + ROW_MAPPER_SUFFIX;
+    }
+
+    // cyclic records and classes without setters can't be built from a single row
+    private boolean isMappable(String type, Map<String, TypeElement> candidates, Set<String> visiting) {
+        TypeElement record = candidates.get(type);
+        if (record == null || !visiting.add(type)) {
+            return false;
+        }
+        List<AttachedElementInfo> fields = context.getCache().get(record.asType()).orElse(List.of());
+        if (fields.isEmpty()) {
+            return false;
+        }
+        boolean isJavaRecord = record.getKind() == ElementKind.RECORD;
+        for (AttachedElementInfo field : fields) {
+            if (!isJavaRecord && field.getSetter() == null) {
+                return false;
+            }
+            var typeInfo = field.getTypeInfo();
+            if (typeInfo.isSimple()) {
+                continue;
+            }
+            if (typeInfo.isWrapped() || !isMappable(typeInfo.typeAsString(), candidates, visiting)) {
+                return false;
+            }
+        }
+        visiting.remove(type);
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.BatchLoaded;
+import com.plsql.tools.annotations.PlsqlCallable;
+import com.plsql.tools.processors.MethodToProcess;
+import com.plsql.tools.statements.Generator;
+import com.plsql.tools.templates.CodeSnippets;
+import com.plsql.tools.templates.CodeSnippetsTemplatesManager;
+import com.plsql.tools.templates.TemplateManager;
+import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.BATCH_LOADED_METHOD_TEMPLATE;
+import static com.plsql.tools.tools.CodeGenConstants.variableName;
+
+/**
+ * Generates the method of a {@link BatchLoaded} callable opening no connection: the key is handed to a loader,
+ * a field of the service, which calls the bulk callable for the keys requested together.
+ * The bulk callable and the key attribute of its rows are checked so a wrong name fails the build instead of the call.
+ */
+public class BatchLoaderGenerator implements Generator {
+    private static final Set<String> BULK_PARAMETER_TYPES = Set.of(List.class.getCanonicalName(), "java.util.Collection");
+
+    private final Extractor extractor;
+    private final Types typeUtils;
+    private final TypeElement packageClass;
+    private final MethodToProcess methodToProcess;
+
+    public BatchLoaderGenerator(Extractor extractor, Types typeUtils, TypeElement packageClass, MethodToProcess methodToProcess) {
+        this.extractor = extractor;
+        this.typeUtils = typeUtils;
+        this.packageClass = packageClass;
+        this.methodToProcess = methodToProcess;
+    }
+
+    @Override
+    public String generate() {
+        ExecutableElement method = methodToProcess.method();
+        BatchLoaded batchLoaded = method.getAnnotation(BatchLoaded.class);
+        String methodName = method.getSimpleName().toString();
+
+        TypeMirror returnType = method.getReturnType();
+        boolean isOptional = extractor.isOptional(returnType);
+        TypeMirror rowType = isOptional ? typeArgument(returnType) : returnType;
+        if (rowType == null || rowType.getKind() != TypeKind.DECLARED) {
+            throw new IllegalStateException("Batch loaded method must return a row or an Optional of a row: " + methodName);
+        }
+
+        VariableElement keyParameter = method.getParameters().get(0);
+        TypeMirror keyType = boxed(keyParameter.asType());
+        ExecutableElement bulkMethod = findBulkMethod(batchLoaded.bulk());
+        validateBulkMethod(bulkMethod, keyType, rowType);
+        ExecutableElement keyGetter = findKeyGetter(rowType, batchLoaded.key(), keyType);
+
+        String loaderVar = variableName(methodName + methodToProcess.suffix() + "Loader");
+        String loaderDeclaration = GenTools.newBatchLoader(loaderVar,
+                keyType.toString(),
+                rowType.toString(),
+                bulkMethod.getSimpleName().toString(),
+                keyGetter.getSimpleName().toString(),
+                batchLoaded.maxBatchSize(),
+                batchLoaded.window(),
+                batchLoaded.unit().name());
+        String load = GenTools.invokeMethodFromObject(loaderVar, "load", keyParameter.getSimpleName().toString());
+
+        TemplateManager<CodeSnippets.BatchLoadedMethodParams> batchLoadedMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return batchLoadedMethodTemplateManager.render(BATCH_LOADED_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.BatchLoadedMethodParams.RETURN_TYPE, returnType.toString(),
+                CodeSnippets.BatchLoadedMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.BatchLoadedMethodParams.PARAMETERS, "%s %s".formatted(keyParameter.asType(), keyParameter.getSimpleName()),
+                CodeSnippets.BatchLoadedMethodParams.LOADER_DECLARATION, loaderDeclaration,
+                CodeSnippets.BatchLoadedMethodParams.LOAD, isOptional ? "java.util.Optional.ofNullable(%s)".formatted(load) : load
+        ));
+    }
+
+    // the Connection variants written in the package carry no @PlsqlCallable
+    private ExecutableElement findBulkMethod(String bulk) {
+        List<ExecutableElement> candidates = packageClass.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.METHOD)
+                .map(ExecutableElement.class::cast)
+                .filter(candidate -> candidate.getSimpleName().contentEquals(bulk))
+                .filter(candidate -> candidate.getAnnotation(PlsqlCallable.class) != null)
+                .toList();
+        if (candidates.size() != 1) {
+            throw new IllegalStateException("Bulk callable '%s' of %s must be a single callable of the package, found: %d"
+                    .formatted(bulk, methodToProcess.method().getSimpleName(), candidates.size()));
+        }
+        return candidates.get(0);
+    }
+
+    // example: List<CustomerGet> getCustomersByIds(List<Long> ids)
+    private void validateBulkMethod(ExecutableElement bulkMethod, TypeMirror keyType, TypeMirror rowType) {
+        String signature = "List<%s> %s(List<%s>)".formatted(rowType, bulkMethod.getSimpleName(), keyType);
+        if (bulkMethod.getParameters().size() != 1) {
+            throw new IllegalStateException("Bulk callable must take the list of the keys: " + signature);
+        }
+        TypeMirror keysType = bulkMethod.getParameters().get(0).asType();
+        if (!BULK_PARAMETER_TYPES.contains(typeUtils.erasure(keysType).toString())
+                || !isSameType(typeArgument(keysType), keyType)) {
+            throw new IllegalStateException("Bulk callable must take the list of the keys: " + signature);
+        }
+        TypeMirror rowsType = bulkMethod.getReturnType();
+        if (!extractor.isList(rowsType) || !isSameType(typeArgument(rowsType), rowType)) {
+            throw new IllegalStateException("Bulk callable must return the list of the rows: " + signature);
+        }
+    }
+
+    private ExecutableElement findKeyGetter(TypeMirror rowType, String key, TypeMirror keyType) {
+        Element rowElement = typeUtils.asElement(rowType);
+        extractor.extractClassInfoAndAlimCache(rowElement);
+        List<AttachedElementInfo> attachedElements = extractor.getAttachedElements(rowElement.asType());
+        AttachedElementInfo keyElement = attachedElements.stream()
+                .filter(element -> key.equals(element.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown key '%s' of %s, attributes of %s: %s"
+                        .formatted(key, methodToProcess.method().getSimpleName(), rowType,
+                                attachedElements.stream().map(AttachedElementInfo::getName).collect(Collectors.joining(", ")))));
+        if (keyElement.getGetter() == null) {
+            throw new IllegalStateException("Key '%s' of %s has no getter".formatted(key, rowType));
+        }
+        if (!isSameType(boxed(keyElement.getGetter().getReturnType()), keyType)) {
+            throw new IllegalStateException("Key '%s' of %s must be a %s, the type of the parameter of %s"
+                    .formatted(key, rowType, keyType, methodToProcess.method().getSimpleName()));
+        }
+        return keyElement.getGetter();
+    }
+
+    private TypeMirror boxed(TypeMirror type) {
+        return type.getKind().isPrimitive() ? typeUtils.boxedClass((PrimitiveType) type).asType() : type;
+    }
+
+    private boolean isSameType(TypeMirror type, TypeMirror expected) {
+        return type != null && typeUtils.isSameType(type, expected);
+    }
+
+    private static TypeMirror typeArgument(TypeMirror type) {
+        if (type instanceof DeclaredType declaredType && declaredType.getTypeArguments().size() == 1) {
+            return declaredType.getTypeArguments().get(0);
+        }
+        return null;
+    }
+}
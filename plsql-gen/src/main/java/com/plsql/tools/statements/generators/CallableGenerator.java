@@ -1,9 +1,19 @@
 package com.plsql.tools.statements.generators;
 
 import com.plsql.tools.ProcessingContext;
+import com.plsql.tools.annotations.Batch;
+import com.plsql.tools.annotations.BatchLoaded;
+import com.plsql.tools.annotations.Cached;
+import com.plsql.tools.annotations.Coalesced;
+import com.plsql.tools.annotations.Commit;
+import com.plsql.tools.annotations.Evicts;
+import com.plsql.tools.annotations.MicroBatch;
 import com.plsql.tools.annotations.Package;
 import com.plsql.tools.annotations.PlsqlCallable;
+import com.plsql.tools.constants.Constants;
 import com.plsql.tools.enums.CallableType;
+import com.plsql.tools.enums.CommitPolicy;
+import com.plsql.tools.handlers.ReturnTypeDetector;
 import com.plsql.tools.processors.MethodToProcess;
 import com.plsql.tools.statements.CallGenerator;
 import com.plsql.tools.templates.CodeSnippets;
@@ -13,6 +23,7 @@ import com.plsql.tools.tools.GenTools;
 import com.plsql.tools.tools.Tools;
 import com.plsql.tools.tools.extraction.Extractor;
 import com.plsql.tools.tools.extraction.extractors.ExtractorValidator;
+import com.plsql.tools.tools.extraction.info.BatchElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
 import com.plsql.tools.tools.extraction.info.MetaInfo;
 import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
@@ -21,9 +32,13 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 
 import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.*;
@@ -36,6 +51,11 @@ public class CallableGenerator {
     private final TypeElement packageClass;
     private final MethodToProcess methodToProcess;
     private final Extractor extractor;
+    // name of the constant holding the call string, known once generated
+    private String callConstant;
+    // field identifying the callable in the call traces
+    private String callableVar;
+    private String callableDeclaration;
 
     public CallableGenerator(ProcessingContext context,
                              TypeElement packageClass,
@@ -48,11 +68,16 @@ public class CallableGenerator {
 
     public String generate() {
 
-        ExtractorValidator.validateCallableMethod(methodToProcess.method());
+        List<ElementInfo> methodParameters = extractor.extractParams(methodToProcess.method());
+        List<BatchElementInfo> batchParameters = methodParameters.stream()
+                .filter(BatchElementInfo.class::isInstance)
+                .map(BatchElementInfo.class::cast)
+                .toList();
+
+        ExtractorValidator.validateCallableMethod(methodToProcess.method(), batchParameters.size());
 
         Package packageAnnotation = packageClass.getAnnotation(Package.class);
         PlsqlCallable plsqlCallableAnnotation = methodToProcess.method().getAnnotation(PlsqlCallable.class);
-        List<ElementInfo> methodParameters = extractor.extractParams(methodToProcess.method());
 
         // extraction of useful information
         var packageName = StringUtils.isBlank(packageAnnotation.name()) ?
@@ -64,7 +89,9 @@ public class CallableGenerator {
 
         var outputs = Arrays.asList(Tools.extractMetaInfo(plsqlCallableAnnotation.outputs()));
         List<String> paramNames = extractor.extractPramNames(methodParameters);
-        var extractedReturnInfo = extractor.extractReturn(methodToProcess.method());
+        List<ReturnElementInfo> extractedReturnInfo = batchParameters.isEmpty() ?
+                extractor.extractReturn(methodToProcess.method()) : List.of();
+        applyFetchDefaults(plsqlCallableAnnotation, extractedReturnInfo);
 
         debugLog(outputs, paramNames, plsqlCallableAnnotation);
 
@@ -72,6 +99,8 @@ public class CallableGenerator {
         var paramBinderGenerator = new PlsqlParamBinderGenerator(methodParameters, plsqlCallableAnnotation.type() == CallableType.FUNCTION);
         var outputRegistrationGenerator = new OutputRegistrationGenerator(extractedReturnInfo);
         var returnGenerator = new ReturnGenerator(extractedReturnInfo, extractor);
+        boolean isOpenCursor = isOpenCursor(extractedReturnInfo);
+        var evictionGenerator = new EvictionGenerator(packageClass, methodToProcess.method(), !batchParameters.isEmpty());
 
         CallGenerator callGenerator = createCallGenerator(plsqlCallableAnnotation,
                 packageName,
@@ -79,17 +108,99 @@ public class CallableGenerator {
                 paramNames,
                 outputs,
                 extractedReturnInfo);
+        callConstant = callGenerator.formatFullNameWithSuffix();
+        callableVar = variableName(callConstant + "_callable");
+        // every bind of the call is a placeholder of its string
+        int binds = (int) callGenerator.generate().chars().filter(c -> c == '?').count();
+        callableDeclaration = GenTools.newCallableId(callableVar, packageName, procedureName,
+                plsqlCallableAnnotation.dataSource(), binds);
 
         context.logInfo("Build method template...");
 
-        return buildMethod(plsqlCallableAnnotation,
-                methodToProcess,
-                callGenerator,
-                paramBinderGenerator,
-                outputRegistrationGenerator,
-                returnGenerator
-        );
+        String method;
+        if (!batchParameters.isEmpty()) {
+            method = buildBatchMethod(plsqlCallableAnnotation,
+                    methodToProcess,
+                    callGenerator,
+                    paramBinderGenerator,
+                    evictionGenerator,
+                    batchParameters.get(0));
+        } else {
+            method = buildMethod(plsqlCallableAnnotation,
+                    methodToProcess,
+                    callGenerator,
+                    paramBinderGenerator,
+                    outputRegistrationGenerator,
+                    returnGenerator,
+                    evictionGenerator,
+                    statementConfiguration(extractedReturnInfo),
+                    isOpenCursor
+            );
+        }
+
+        if (packageAnnotation.async() || plsqlCallableAnnotation.async()) {
+            String asyncMethod = methodToProcess.method().getAnnotation(MicroBatch.class) != null ?
+                    generateMicroBatchAsyncMethod(methodToProcess) :
+                    generateAsyncMethod(plsqlCallableAnnotation, methodToProcess);
+            method = GenTools.joinWithReturnToLine(method, asyncMethod);
+        }
+        return method;
+    }
+
+    public String getCallConstant() {
+        return callConstant;
+    }
+
+    // output settings win over the callable ones, which win over the processor options
+    private void applyFetchDefaults(PlsqlCallable plsqlCallableAnnotation, List<ReturnElementInfo> extractedReturnInfo) {
+        for (var returnElement : extractedReturnInfo) {
+            returnElement.setOutput(returnElement.getOutput()
+                    .withDefaults(plsqlCallableAnnotation.fetchSize(), plsqlCallableAnnotation.lobPrefetchSize())
+                    .withDefaults(context.getDefaultFetchSize(), context.getDefaultLobPrefetchSize()));
+        }
+    }
+
+    // LOB prefetch is a statement level setting in Oracle, the cursors opened by the call inherit it
+    private String statementConfiguration(List<ReturnElementInfo> extractedReturnInfo) {
+        OptionalInt lobPrefetchSize = extractedReturnInfo.stream()
+                .filter(r -> !r.getTypeInfo().isSimple())
+                .map(ReturnElementInfo::getOutput)
+                .filter(MetaInfo::hasLobPrefetchSize)
+                .mapToInt(MetaInfo::lobPrefetchSize)
+                .max();
+        return lobPrefetchSize.isPresent() ? GenTools.setLobPrefetchSize(STATEMENT_VAR, lobPrefetchSize.getAsInt()) : "";
+    }
 
+    // a cursor handed over to the caller keeps the statement and the connection open after the method returns
+    private boolean isOpenCursor(List<ReturnElementInfo> extractedReturnInfo) {
+        var detector = new ReturnTypeDetector(extractor);
+        boolean isOpenCursor = extractedReturnInfo.stream()
+                .anyMatch(r -> detector.categorize(r).isOpenCursor());
+        if (isOpenCursor && extractedReturnInfo.size() > 1) {
+            throw new IllegalStateException("A lazily read cursor can't be combined with other outputs in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        if (isOpenCursor && methodToProcess.method().getAnnotation(Cached.class) != null) {
+            throw new IllegalStateException("A lazily read cursor can't be cached in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        if (isOpenCursor && methodToProcess.method().getAnnotation(Coalesced.class) != null) {
+            throw new IllegalStateException("A lazily read cursor can't be shared by coalesced calls in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        if (isOpenCursor && methodToProcess.method().getAnnotation(BatchLoaded.class) != null) {
+            throw new IllegalStateException("A lazily read cursor can't be batch loaded in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        if (isOpenCursor && methodToProcess.method().getAnnotation(PlsqlCallable.class).commit().value() != CommitPolicy.IMMEDIATE) {
+            throw new IllegalStateException("A lazily read cursor can't be committed by a commit policy in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        if (isOpenCursor && methodToProcess.method().getAnnotationsByType(Evicts.class).length > 0) {
+            throw new IllegalStateException("A lazily read cursor can't evict a cache in method: "
+                    + methodToProcess.method().getSimpleName());
+        }
+        return isOpenCursor;
     }
 
     private void debugLog(List<MetaInfo> outputs, List<String> paramNames, PlsqlCallable plsqlCallableAnnotation) {
@@ -132,27 +243,101 @@ public class CallableGenerator {
                                CallGenerator callGenerator,
                                PlsqlParamBinderGenerator plsqlParamBinderGenerator,
                                OutputRegistrationGenerator outputRegistrationGenerator,
-                               ReturnGenerator returnGenerator
+                               ReturnGenerator returnGenerator,
+                               EvictionGenerator evictionGenerator,
+                               String statementConfiguration,
+                               boolean isOpenCursor
     ) {
         String methodWithConnection = generateMethodWithConnectionParam(plsqlCallableAnnotation,
                 methodToProcess,
                 callGenerator,
                 plsqlParamBinderGenerator,
                 outputRegistrationGenerator,
-                returnGenerator);
+                returnGenerator,
+                evictionGenerator,
+                statementConfiguration,
+                isOpenCursor);
 
-        String methodWithoutConnection = generateMethodWithoutConnectionParam(plsqlCallableAnnotation, methodToProcess);
+        MicroBatch microBatch = methodToProcess.method().getAnnotation(MicroBatch.class);
+        String methodWithoutConnection = microBatch != null ?
+                generateMicroBatchMethod(plsqlCallableAnnotation, methodToProcess, callGenerator, plsqlParamBinderGenerator, microBatch) :
+                generateMethodWithoutConnectionParam(plsqlCallableAnnotation, methodToProcess, isOpenCursor);
 
         return GenTools.joinWithReturnToLine(methodWithoutConnection, methodWithConnection);
     }
 
+    private String buildBatchMethod(PlsqlCallable plsqlCallableAnnotation,
+                                    MethodToProcess methodToProcess,
+                                    CallGenerator callGenerator,
+                                    PlsqlParamBinderGenerator plsqlParamBinderGenerator,
+                                    EvictionGenerator evictionGenerator,
+                                    BatchElementInfo batchParameter
+    ) {
+        String methodWithConnection = generateBatchMethodWithConnectionParam(
+                methodToProcess,
+                callGenerator,
+                plsqlParamBinderGenerator,
+                evictionGenerator,
+                batchParameter);
+
+        String methodWithoutConnection = generateMethodWithoutConnectionParam(plsqlCallableAnnotation, methodToProcess, false);
+
+        return GenTools.joinWithReturnToLine(methodWithoutConnection, methodWithConnection);
+    }
+
+    // every element is bound then queued with addBatch, the queue is sent every batch size elements
+    private String generateBatchMethodWithConnectionParam(
+            MethodToProcess methodToProcess,
+            CallGenerator callGenerator,
+            PlsqlParamBinderGenerator plsqlParamBinderGenerator,
+            EvictionGenerator evictionGenerator,
+            BatchElementInfo batchParameter
+    ) {
+        String parameters = extractMethodParameters(methodToProcess);
+        String returnType = methodToProcess.method().getReturnType().toString();
+
+        String connectionDeclaration = GenTools.join(java.sql.Connection.class.getCanonicalName(), " ", CNX_VAR);
+
+        Batch batch = methodToProcess.method().getAnnotation(Batch.class);
+        int batchSize = batch == null ? Constants.DEFAULT_BATCH_SIZE : batch.size();
+
+        String returnStatement = switch (returnType) {
+            case "int[]" -> GenTools.returnObject(GenTools.invokeMethodFromObject(BATCH_VAR, "counts"));
+            case "long" -> GenTools.returnObject(GenTools.invokeMethodFromObject(BATCH_VAR, "total"));
+            default -> "";
+        };
+
+        TemplateManager<CodeSnippets.BatchMethodParams> batchMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return batchMethodTemplateManager.render(PROCEDURE_BATCH_METHOD_TEMPLATE, Map.ofEntries(
+                Map.entry(CodeSnippets.BatchMethodParams.STATEMENT_STATIC_CALL, callGenerator.generate()),
+                Map.entry(CodeSnippets.BatchMethodParams.RETURN_TYPE, returnType),
+                Map.entry(CodeSnippets.BatchMethodParams.METHOD_NAME, methodToProcess.method().getSimpleName().toString()),
+                Map.entry(CodeSnippets.BatchMethodParams.PARAMETERS, GenTools.join(connectionDeclaration, ",", parameters)),
+                Map.entry(CodeSnippets.BatchMethodParams.PROCEDURE_FULL_NAME, callGenerator.formatFullNameWithSuffix()),
+                Map.entry(CodeSnippets.BatchMethodParams.BATCH_SIZE, String.valueOf(batchSize)),
+                Map.entry(CodeSnippets.BatchMethodParams.ITEM_TYPE, batchParameter.getTypeInfo().typeAsString()),
+                Map.entry(CodeSnippets.BatchMethodParams.ITEM_VAR, batchParameter.getName()),
+                Map.entry(CodeSnippets.BatchMethodParams.COLLECTION_VAR, batchParameter.getCollectionName()),
+                Map.entry(CodeSnippets.BatchMethodParams.STATEMENT_POPULATION, plsqlParamBinderGenerator.generate()),
+                Map.entry(CodeSnippets.BatchMethodParams.RETURN_STATEMENT, returnStatement),
+                Map.entry(CodeSnippets.BatchMethodParams.EVICTIONS, evictionGenerator.generate()),
+                Map.entry(CodeSnippets.BatchMethodParams.CALLABLE_DECLARATION, callableDeclaration),
+                Map.entry(CodeSnippets.BatchMethodParams.CALLABLE, callableVar),
+                Map.entry(CodeSnippets.BatchMethodParams.TRACED_CALL, tracedCall(methodToProcess, false))
+        ));
+    }
+
     private String generateMethodWithConnectionParam(
             PlsqlCallable plsqlCallableAnnotation,
             MethodToProcess methodToProcess,
             CallGenerator callGenerator,
             PlsqlParamBinderGenerator plsqlParamBinderGenerator,
             OutputRegistrationGenerator outputRegistrationGenerator,
-            ReturnGenerator returnGenerator
+            ReturnGenerator returnGenerator,
+            EvictionGenerator evictionGenerator,
+            String statementConfiguration,
+            boolean isOpenCursor
     ) {
         String parameters = extractMethodParameters(methodToProcess);
         String returnType = methodToProcess.method().getReturnType().toString();
@@ -162,7 +347,9 @@ public class CallableGenerator {
         String parametersWithConnection = !parameters.isEmpty() ?
                 GenTools.join(connectionDeclaration, ",", parameters) : connectionDeclaration;
 
-        var methodInnerTrx = plsqlCallableAnnotation.type() == CallableType.PROCEDURE ? PROCEDURE_METHOD_TEMPLATE : FUNCTION_METHOD_TEMPLATE;
+        var methodInnerTrx = plsqlCallableAnnotation.type() == CallableType.PROCEDURE ?
+                (isOpenCursor ? PROCEDURE_CURSOR_METHOD_TEMPLATE : PROCEDURE_METHOD_TEMPLATE) :
+                (isOpenCursor ? FUNCTION_CURSOR_METHOD_TEMPLATE : FUNCTION_METHOD_TEMPLATE);
 
         String initPosition = !parameters.isEmpty() || !isVoid(returnType) ?
                 GenTools.assignAndInit(INT, POSITION_VAR, "1") : "";
@@ -171,27 +358,39 @@ public class CallableGenerator {
 
         TemplateManager<CodeSnippets.CallableMethodParams> callableMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
 
-        return callableMethodTemplateManager.render(methodInnerTrx, Map.of(
-                CodeSnippets.CallableMethodParams.STATEMENT_STATIC_CALL, callGenerator.generate(),
-                CodeSnippets.CallableMethodParams.RETURN_TYPE, returnType,
-                CodeSnippets.CallableMethodParams.METHOD_NAME, methodToProcess.method().getSimpleName().toString(),
-                CodeSnippets.CallableMethodParams.PARAMETERS, parametersWithConnection,
-                CodeSnippets.CallableMethodParams.PROCEDURE_FULL_NAME, callGenerator.formatFullNameWithSuffix(),
-                CodeSnippets.CallableMethodParams.INIT_POS, initPosition,
-                CodeSnippets.CallableMethodParams.STATEMENT_POPULATION, plsqlParamBinderGenerator.generate(),
-                CodeSnippets.CallableMethodParams.REGISTER_OUT_PARAM, isVoid(returnType) ? "" : outputRegistrationGenerator.generate(),
-                CodeSnippets.CallableMethodParams.RESULT_SET_EXTRACTION, isVoid(returnType) ? "" : returnGenerator.generate(),
-                CodeSnippets.CallableMethodParams.RETURN_STATEMENT, returnStatement
+        Map<CodeSnippets.CallableMethodParams, String> params = new EnumMap<>(Map.ofEntries(
+                Map.entry(CodeSnippets.CallableMethodParams.STATEMENT_STATIC_CALL, callGenerator.generate()),
+                Map.entry(CodeSnippets.CallableMethodParams.RETURN_TYPE, returnType),
+                Map.entry(CodeSnippets.CallableMethodParams.METHOD_NAME, methodToProcess.method().getSimpleName().toString()),
+                Map.entry(CodeSnippets.CallableMethodParams.PARAMETERS, parametersWithConnection),
+                Map.entry(CodeSnippets.CallableMethodParams.PROCEDURE_FULL_NAME, callGenerator.formatFullNameWithSuffix()),
+                Map.entry(CodeSnippets.CallableMethodParams.INIT_POS, initPosition),
+                Map.entry(CodeSnippets.CallableMethodParams.STATEMENT_POPULATION, plsqlParamBinderGenerator.generate()),
+                Map.entry(CodeSnippets.CallableMethodParams.REGISTER_OUT_PARAM, outputRegistrationGenerator.generate()),
+                Map.entry(CodeSnippets.CallableMethodParams.STATEMENT_CONFIGURATION, statementConfiguration),
+                Map.entry(CodeSnippets.CallableMethodParams.RESULT_SET_EXTRACTION, returnGenerator.generate()),
+                Map.entry(CodeSnippets.CallableMethodParams.RETURN_STATEMENT, returnStatement),
+                Map.entry(CodeSnippets.CallableMethodParams.EVICTIONS, evictionGenerator.generate()),
+                Map.entry(CodeSnippets.CallableMethodParams.CALLABLE_DECLARATION, callableDeclaration),
+                Map.entry(CodeSnippets.CallableMethodParams.CALLABLE, callableVar),
+                Map.entry(CodeSnippets.CallableMethodParams.TRACED_CALL, tracedCall(methodToProcess, isOpenCursor))
         ));
+        if (isDeferred(methodToProcess, isOpenCursor)) {
+            params.put(CodeSnippets.CallableMethodParams.DEFERRED, Boolean.TRUE.toString());
+        }
+        return callableMethodTemplateManager.render(methodInnerTrx, params);
     }
 
     private String generateMethodWithoutConnectionParam(
             PlsqlCallable plsqlCallableAnnotation,
-            MethodToProcess methodToProcess) {
+            MethodToProcess methodToProcess,
+            boolean isOpenCursor) {
 
         String paramNames = extractMethodParametersNames(methodToProcess);
 
         String paramNamesWithConnection = !paramNames.isEmpty() ? GenTools.join(CNX_VAR, ",", " ", paramNames) : CNX_VAR;
+        // the trace of the call goes on with the statement
+        String paramNamesWithTrace = GenTools.join(paramNamesWithConnection, ", ", variableName(TRACE_VAR));
 
         String returnType = methodToProcess.method().getReturnType().toString();
 
@@ -199,18 +398,218 @@ public class CallableGenerator {
 
         String parameters = extractMethodParameters(methodToProcess);
 
-        String innerMethod = isVoid(returnType) ? GenTools.invokeMethod(methodName, paramNamesWithConnection).concat(";") :
-                GenTools.returnObject(GenTools.invokeMethod(methodName, paramNamesWithConnection));
+        String innerMethod;
+        if (isOpenCursor) {
+            // the connection is released when the caller closes the cursor, a session keeps its own open,
+            // the call is traced until then
+            innerMethod = GenTools.returnObject(GenTools.closing(GenTools.invokeMethod(methodName, paramNamesWithTrace),
+                    LEASE_VAR, GenTools.endTrace(variableName(TRACE_VAR))));
+        } else {
+            innerMethod = isVoid(returnType) ? GenTools.invokeMethod(methodName, paramNamesWithTrace).concat(";") :
+                    GenTools.returnObject(GenTools.invokeMethod(methodName, paramNamesWithTrace));
+        }
+
+        if (methodToProcess.method().getAnnotation(BatchLoaded.class) != null && !isOpenCursor) {
+            return new BatchLoaderGenerator(extractor, context.getProcessingEnv().getTypeUtils(), packageClass, methodToProcess)
+                    .generate();
+        }
+
+        Cached cached = methodToProcess.method().getAnnotation(Cached.class);
+        boolean coalesced = methodToProcess.method().getAnnotation(Coalesced.class) != null;
+        if ((cached != null || coalesced) && !isOpenCursor) {
+            return generateSharedResultMethod(plsqlCallableAnnotation, methodToProcess, cached, coalesced, innerMethod);
+        }
+
+        Commit commit = plsqlCallableAnnotation.commit();
+        if (commit.value() != CommitPolicy.IMMEDIATE) {
+            return generateCommittedMethod(plsqlCallableAnnotation, methodToProcess, commit, paramNamesWithConnection);
+        }
 
         TemplateManager<CodeSnippets.MethodParams> methodTemplateManager = new CodeSnippetsTemplatesManager<>();
 
-        return methodTemplateManager.render(METHOD_TEMPLATE, Map.of(
+        Map<CodeSnippets.MethodParams, String> params = new EnumMap<>(Map.of(
                 CodeSnippets.MethodParams.RETURN_TYPE, returnType,
                 CodeSnippets.MethodParams.METHOD_NAME, methodName,
                 CodeSnippets.MethodParams.PARAMETERS, parameters,
-                CodeSnippets.MethodParams.DATA_SOURCE, plsqlCallableAnnotation.dataSource(),
+                CodeSnippets.MethodParams.DATA_SOURCE, dataSourceVariableName(plsqlCallableAnnotation.dataSource()),
+                CodeSnippets.MethodParams.CALLABLE, callableVar,
                 CodeSnippets.MethodParams.TRANSACTIONAL_METHOD, innerMethod
         ));
+        if (isDeferred(methodToProcess, isOpenCursor)) {
+            params.put(CodeSnippets.MethodParams.DEFERRED, Boolean.TRUE.toString());
+        }
+        return methodTemplateManager.render(isOpenCursor ? CURSOR_METHOD_TEMPLATE : METHOD_TEMPLATE, params);
+    }
+
+    // a publisher makes its call once subscribed, a stream is opened by the call
+    private boolean isDeferred(MethodToProcess methodToProcess, boolean isOpenCursor) {
+        return isOpenCursor && extractor.isPublisher(methodToProcess.method().getReturnType());
+    }
+
+    // the connection is only opened on a cache miss or by the caller leading the coalesced calls,
+    // the cache and the in-flight calls are fields created with the service
+    private String generateSharedResultMethod(PlsqlCallable plsqlCallableAnnotation,
+                                              MethodToProcess methodToProcess,
+                                              Cached cached,
+                                              boolean coalesced,
+                                              String innerMethod) {
+        String methodName = methodToProcess.method().getSimpleName().toString();
+        String sharedDeclaration;
+        String sharedCall;
+        if (cached != null) {
+            String cacheName = StringUtils.isBlank(cached.name()) ? methodName + methodToProcess.suffix() : cached.name();
+            String cacheVar = variableName(methodName + methodToProcess.suffix() + "Cache");
+            long negativeTtl = cached.negativeTtl() == Constants.INHERIT ? cached.ttl() : cached.negativeTtl();
+            sharedDeclaration = GenTools.registerCache(cacheVar, cacheName,
+                    cached.maxEntries(), cached.ttl(), negativeTtl, cached.unit().name(), coalesced);
+            sharedCall = GenTools.joinWithDot(cacheVar, "get");
+        } else {
+            String flightVar = variableName(methodName + methodToProcess.suffix() + "Flight");
+            sharedDeclaration = GenTools.newSingleFlight(flightVar);
+            sharedCall = GenTools.joinWithDot(flightVar, "execute");
+        }
+
+        TemplateManager<CodeSnippets.SharedResultMethodParams> sharedResultMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return sharedResultMethodTemplateManager.render(SHARED_RESULT_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.SharedResultMethodParams.RETURN_TYPE, methodToProcess.method().getReturnType().toString(),
+                CodeSnippets.SharedResultMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.SharedResultMethodParams.PARAMETERS, extractMethodParameters(methodToProcess),
+                CodeSnippets.SharedResultMethodParams.DATA_SOURCE, dataSourceVariableName(plsqlCallableAnnotation.dataSource()),
+                CodeSnippets.SharedResultMethodParams.SHARED_DECLARATION, sharedDeclaration,
+                CodeSnippets.SharedResultMethodParams.SHARED_CALL, sharedCall,
+                CodeSnippets.SharedResultMethodParams.KEY, GenTools.cacheKey(extractMethodParametersNames(methodToProcess)),
+                CodeSnippets.SharedResultMethodParams.CALLABLE, callableVar,
+                CodeSnippets.SharedResultMethodParams.TRANSACTIONAL_METHOD, innerMethod
+        ));
+    }
+
+    // the committer field of the service picks the connection of the call and commits it
+    private String generateCommittedMethod(PlsqlCallable plsqlCallableAnnotation,
+                                           MethodToProcess methodToProcess,
+                                           Commit commit,
+                                           String paramNamesWithConnection) {
+        String methodName = methodToProcess.method().getSimpleName().toString();
+        String returnType = methodToProcess.method().getReturnType().toString();
+        String committerVar = variableName(methodName + methodToProcess.suffix() + "Committer");
+        String committerDeclaration = commit.value() == CommitPolicy.GROUPED ?
+                GenTools.newGroupCommitter(committerVar,
+                        dataSourceVariableName(plsqlCallableAnnotation.dataSource()),
+                        commit.groupSize(),
+                        commit.maxDelay(),
+                        commit.unit().name()) :
+                GenTools.newNowaitCommitter(committerVar, dataSourceVariableName(plsqlCallableAnnotation.dataSource()));
+
+        String invocation = GenTools.invokeMethod(methodName, paramNamesWithConnection);
+        String work = isVoid(returnType) ?
+                GenTools.join(CNX_VAR, " -> { ", invocation, "; return null; }") :
+                GenTools.join(CNX_VAR, " -> ", invocation);
+        String execute = GenTools.invokeMethodFromObject(committerVar, "execute", work);
+
+        TemplateManager<CodeSnippets.CommittedMethodParams> committedMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return committedMethodTemplateManager.render(COMMITTED_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.CommittedMethodParams.RETURN_TYPE, returnType,
+                CodeSnippets.CommittedMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.CommittedMethodParams.PARAMETERS, extractMethodParameters(methodToProcess),
+                CodeSnippets.CommittedMethodParams.COMMITTER_DECLARATION, committerDeclaration,
+                CodeSnippets.CommittedMethodParams.COMMITTED_CALL, isVoid(returnType) ?
+                        execute.concat(";") : GenTools.returnObject(execute)
+        ));
+    }
+
+    // the calls are queued in a batcher field of the service, its flusher binds them on its own connection
+    private String generateMicroBatchMethod(PlsqlCallable plsqlCallableAnnotation,
+                                            MethodToProcess methodToProcess,
+                                            CallGenerator callGenerator,
+                                            PlsqlParamBinderGenerator plsqlParamBinderGenerator,
+                                            MicroBatch microBatch) {
+        String methodName = methodToProcess.method().getSimpleName().toString();
+        String batcherVar = microBatcherVar(methodToProcess);
+        String batcherDeclaration = GenTools.newMicroBatcher(batcherVar,
+                dataSourceVariableName(plsqlCallableAnnotation.dataSource()),
+                callGenerator.formatFullNameWithSuffix(),
+                microBatch.maxSize(),
+                microBatch.maxDelay(),
+                microBatch.unit().name());
+
+        TemplateManager<CodeSnippets.MicroBatchMethodParams> microBatchMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return microBatchMethodTemplateManager.render(MICRO_BATCH_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.MicroBatchMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.MicroBatchMethodParams.PARAMETERS, extractMethodParameters(methodToProcess),
+                CodeSnippets.MicroBatchMethodParams.PARAMETER_NAMES, extractMethodParametersNames(methodToProcess),
+                CodeSnippets.MicroBatchMethodParams.BATCHER_DECLARATION, batcherDeclaration,
+                CodeSnippets.MicroBatchMethodParams.BATCHER_VAR, batcherVar,
+                CodeSnippets.MicroBatchMethodParams.CALL_METHOD_NAME, microBatchCallMethod(methodToProcess),
+                CodeSnippets.MicroBatchMethodParams.STATEMENT_POPULATION, plsqlParamBinderGenerator.generate()
+        ));
+    }
+
+    // the future completes with the commit of the batch, no executor thread waits for it
+    private String generateMicroBatchAsyncMethod(MethodToProcess methodToProcess) {
+        TemplateManager<CodeSnippets.MicroBatchAsyncMethodParams> microBatchAsyncMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return microBatchAsyncMethodTemplateManager.render(MICRO_BATCH_ASYNC_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.MicroBatchAsyncMethodParams.METHOD_NAME, methodToProcess.method().getSimpleName().toString(),
+                CodeSnippets.MicroBatchAsyncMethodParams.PARAMETERS, extractMethodParameters(methodToProcess),
+                CodeSnippets.MicroBatchAsyncMethodParams.PARAMETER_NAMES, extractMethodParametersNames(methodToProcess),
+                CodeSnippets.MicroBatchAsyncMethodParams.BATCHER_VAR, microBatcherVar(methodToProcess),
+                CodeSnippets.MicroBatchAsyncMethodParams.CALL_METHOD_NAME, microBatchCallMethod(methodToProcess)
+        ));
+    }
+
+    private String microBatcherVar(MethodToProcess methodToProcess) {
+        return variableName(methodToProcess.method().getSimpleName() + methodToProcess.suffix() + "MicroBatch");
+    }
+
+    private String microBatchCallMethod(MethodToProcess methodToProcess) {
+        return variableName(methodToProcess.method().getSimpleName() + methodToProcess.suffix() + "Call");
+    }
+
+    // the synchronous method runs on the executor of the service, capped per data source
+    private String generateAsyncMethod(PlsqlCallable plsqlCallableAnnotation, MethodToProcess methodToProcess) {
+        TypeMirror returnType = methodToProcess.method().getReturnType();
+        String methodName = methodToProcess.method().getSimpleName().toString();
+        String invocation = GenTools.invokeMethod(methodName, extractMethodParametersNames(methodToProcess));
+
+        String futureType;
+        String asyncCall;
+        if (isVoid(returnType.toString())) {
+            futureType = Void.class.getSimpleName();
+            asyncCall = GenTools.lambda(GenTools.join("{ ", invocation, "; return null; }"));
+        } else if (returnType.getKind().isPrimitive()) {
+            futureType = context.getProcessingEnv().getTypeUtils()
+                    .boxedClass((PrimitiveType) returnType).getQualifiedName().toString();
+            asyncCall = GenTools.lambda(invocation);
+        } else {
+            futureType = returnType.toString();
+            asyncCall = GenTools.lambda(invocation);
+        }
+
+        TemplateManager<CodeSnippets.AsyncMethodParams> asyncMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return asyncMethodTemplateManager.render(ASYNC_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.AsyncMethodParams.RETURN_TYPE, futureType,
+                CodeSnippets.AsyncMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.AsyncMethodParams.PARAMETERS, extractMethodParameters(methodToProcess),
+                CodeSnippets.AsyncMethodParams.DATA_SOURCE, plsqlCallableAnnotation.dataSource(),
+                CodeSnippets.AsyncMethodParams.ASYNC_CALL, asyncCall
+        ));
+    }
+
+    // the method taking the connection starts its own trace and hands it to the traced overload,
+    // an open cursor ends it once closed
+    private String tracedCall(MethodToProcess methodToProcess, boolean isOpenCursor) {
+        String paramNames = extractMethodParametersNames(methodToProcess);
+        String paramNamesWithConnection = paramNames.isEmpty() ? CNX_VAR : GenTools.join(CNX_VAR, ", ", paramNames);
+        String invocation = GenTools.invokeMethod(methodToProcess.method().getSimpleName().toString(),
+                GenTools.join(paramNamesWithConnection, ", ", variableName(TRACE_VAR)));
+        if (isOpenCursor) {
+            return GenTools.returnObject(GenTools.closing(invocation, GenTools.endTrace(variableName(TRACE_VAR))));
+        }
+        return isVoid(methodToProcess.method().getReturnType().toString()) ?
+                invocation.concat(";") : GenTools.returnObject(invocation);
     }
 
     private String extractMethodParameters(MethodToProcess methodToProcess) {
@@ -0,0 +1,98 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.Cached;
+import com.plsql.tools.annotations.Evicts;
+import com.plsql.tools.statements.Generator;
+import com.plsql.tools.tools.GenTools;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the evictions of the {@link Evicts} annotations of a method, run once the statement is executed.
+ * The caches are checked against the {@link Cached} methods of the package so a wrong name fails the build
+ * instead of the write.
+ */
+public class EvictionGenerator implements Generator {
+
+    private final TypeElement packageClass;
+    private final ExecutableElement method;
+    private final boolean isBatch;
+
+    public EvictionGenerator(TypeElement packageClass, ExecutableElement method, boolean isBatch) {
+        this.packageClass = packageClass;
+        this.method = method;
+        this.isBatch = isBatch;
+    }
+
+    @Override
+    public String generate() {
+        Evicts[] evictions = method.getAnnotationsByType(Evicts.class);
+        if (evictions.length == 0) {
+            return "";
+        }
+        Map<String, Integer> cacheKeySizes = cacheKeySizes();
+        Set<String> parameters = method.getParameters().stream()
+                .map(p -> p.getSimpleName().toString())
+                .collect(Collectors.toSet());
+        return Arrays.stream(evictions)
+                .map(evicts -> eviction(evicts, cacheKeySizes, parameters))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private String eviction(Evicts evicts, Map<String, Integer> cacheKeySizes, Set<String> parameters) {
+        Integer keySize = cacheKeySizes.get(evicts.cache());
+        if (keySize == null) {
+            throw new IllegalStateException("Unknown cache '%s' evicted by %s, cached methods of the package: %s"
+                    .formatted(evicts.cache(), method.getSimpleName(), cacheKeySizes.keySet()));
+        }
+        String cache = GenTools.invokeMethodFromObject("caches", "get", GenTools.literalString(evicts.cache()));
+        if (evicts.key().length == 0) {
+            // example: caches.get("getCustomerById").invalidateAll();
+            return GenTools.invokeMethodFromObject(cache, "invalidateAll").concat(";");
+        }
+        // a batch has no single value per parameter to build a key from
+        if (isBatch) {
+            throw new IllegalStateException("Batch method can only evict a whole cache: " + method.getSimpleName());
+        }
+        if (evicts.key().length != keySize) {
+            throw new IllegalStateException("Key of cache '%s' has %d values, found %d in %s"
+                    .formatted(evicts.cache(), keySize, evicts.key().length, method.getSimpleName()));
+        }
+        for (String key : evicts.key()) {
+            String root = StringUtils.substringBefore(key, ".").trim();
+            if (!parameters.contains(root)) {
+                throw new IllegalStateException("Eviction key '%s' does not start with a parameter of %s"
+                        .formatted(key, method.getSimpleName()));
+            }
+        }
+        // example: caches.get("getCustomerById").invalidate(CacheKey.of(id));
+        return GenTools.invokeMethodFromObject(cache, "invalidate",
+                GenTools.cacheKey(String.join(", ", evicts.key()))).concat(";");
+    }
+
+    // cache name -> number of parameters making its key
+    private Map<String, Integer> cacheKeySizes() {
+        Map<String, Integer> keySizes = new HashMap<>();
+        List<ExecutableElement> methods = packageClass.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.METHOD)
+                .map(ExecutableElement.class::cast)
+                .toList();
+        for (ExecutableElement candidate : methods) {
+            Cached cached = candidate.getAnnotation(Cached.class);
+            if (cached != null) {
+                String name = StringUtils.isBlank(cached.name()) ? candidate.getSimpleName().toString() : cached.name();
+                keySizes.put(name, candidate.getParameters().size());
+            }
+        }
+        return keySizes;
+    }
+}
@@ -3,6 +3,7 @@ package com.plsql.tools.statements.generators;
 import com.plsql.tools.enums.TypeMapper;
 import com.plsql.tools.statements.Generator;
 import com.plsql.tools.tools.GenTools;
+import com.plsql.tools.tools.extraction.info.ArrayElementInfo;
 import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
 import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
@@ -12,6 +13,7 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.plsql.tools.tools.CodeGenConstants.CNX_VAR;
 import static com.plsql.tools.tools.CodeGenConstants.POSITION_VAR;
 import static com.plsql.tools.tools.CodeGenConstants.STATEMENT_VAR;
 import static com.plsql.tools.tools.GenTools.*;
@@ -54,7 +56,9 @@ public class PlsqlParamBinderGenerator implements Generator {
         }
         List<String> generatedBindings = new ArrayList<>();
         for (var parameter : methodParameters) {
-            if (parameter.getTypeInfo().isSimple()) {
+            if (parameter instanceof ArrayElementInfo arrayElementInfo) {
+                generatedBindings.add(arrayBinding(arrayElementInfo));
+            } else if (parameter.getTypeInfo().isSimple()) {
                 generatedBindings.add(simpleBinding(parameter, parameter.getName()));
             } else {
                 generatedBindings.addAll(composedBinding((ComposedElementInfo) parameter));
@@ -115,10 +119,25 @@ public class PlsqlParamBinderGenerator implements Generator {
         } else if (typeInfo.asTypeMapper().mapToWrapper() == TypeMapper.CHARACTER_WRAPPER) {
             finalParamGetter = charToString(paramGetter);
         }
-        return bindParameter(
-                typeInfo.asTypeMapper().getJdbcSetterMethod(),
+        String position = isPreIncrement ? preIncrementVar(POSITION_VAR) : incrementVar(POSITION_VAR);
+        if (typeInfo.asTypeMapper().isUnboxedByJdbc()) {
+            // example: StatementTools.setInt(stmt, pos++, parameter1);
+            return bindWrapper(typeInfo.asTypeMapper().getJdbcSetterMethod(), STATEMENT_VAR, position, finalParamGetter)
+                    .concat(";");
+        }
+        return bindParameter(typeInfo.asTypeMapper().getJdbcSetterMethod(), position, finalParamGetter);
+    }
+
+    // example: ArrayTools.setArray(stmt, pos++, "NUM_TAB", ids == null ? null : cnx.unwrap(...).createOracleArray("NUM_TAB", ids));
+    private String arrayBinding(ArrayElementInfo parameter) {
+        String sqlType = literalString(parameter.getSqlType());
+        String elements = parameter.isCollection() ? toArrayElements(parameter.getName()) : parameter.getName();
+        String array = "%s == null ? null : %s".formatted(parameter.getName(), createOracleArray(CNX_VAR, sqlType, elements));
+        return "ArrayTools.setArray(%s, %s, %s, %s);".formatted(
+                STATEMENT_VAR,
                 isPreIncrement ? preIncrementVar(POSITION_VAR) : incrementVar(POSITION_VAR),
-                finalParamGetter);
+                sqlType,
+                array);
     }
 
     private String bindParameter(String setter, String position, String parameter) {
@@ -65,6 +65,9 @@ public class ReturnGenerator implements Generator {
             case COMPOSED -> ComposedReturnHandler.builder().extractor(extractor).build();
             case OPTIONAL_SIMPLE, OPTIONAL_COMPOSED -> new OptionalReturnHandler(extractor);
             case COLLECTION -> new CollectionReturnHandler(extractor);
+            case STREAM -> new StreamReturnHandler(extractor);
+            case PUBLISHER -> new PublisherReturnHandler(extractor);
+            case ROW_CALLBACK -> new RowCallbackReturnHandler(extractor);
         };
     }
 
@@ -0,0 +1,87 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.PlsqlCallable;
+import com.plsql.tools.annotations.PlsqlTransaction;
+import com.plsql.tools.statements.Generator;
+import com.plsql.tools.templates.CodeSnippets;
+import com.plsql.tools.templates.CodeSnippetsTemplatesManager;
+import com.plsql.tools.templates.TemplateManager;
+import com.plsql.tools.tools.GenTools;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.plsql.tools.templates.CodeSnippetsTemplatesManager.TRANSACTION_METHOD_TEMPLATE;
+import static com.plsql.tools.tools.Tools.isVoid;
+
+/**
+ * Generates the override of a {@link PlsqlTransaction} method, running the method of the package class
+ * in a transaction of the session.
+ */
+public class TransactionMethodGenerator implements Generator {
+    private static final Set<Modifier> NOT_OVERRIDABLE = Set.of(Modifier.ABSTRACT, Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC);
+
+    private final ExecutableElement method;
+
+    public TransactionMethodGenerator(ExecutableElement method) {
+        this.method = method;
+    }
+
+    @Override
+    public String generate() {
+        validate();
+        String methodName = method.getSimpleName().toString();
+        String returnType = method.getReturnType().toString();
+        String paramNames = method.getParameters().stream()
+                .map(VariableElement::getSimpleName)
+                .collect(Collectors.joining(", "));
+        // example: return PlsqlSession.inTransaction(() -> super.transfer(from, to, amount));
+        String call = "PlsqlSession.inTransaction(%s)"
+                .formatted(GenTools.lambda(GenTools.joinWithDot("super", GenTools.invokeMethod(methodName, paramNames))));
+
+        TemplateManager<CodeSnippets.TransactionMethodParams> transactionMethodTemplateManager = new CodeSnippetsTemplatesManager<>();
+
+        return transactionMethodTemplateManager.render(TRANSACTION_METHOD_TEMPLATE, Map.of(
+                CodeSnippets.TransactionMethodParams.MODIFIERS, accessModifier(),
+                CodeSnippets.TransactionMethodParams.RETURN_TYPE, returnType,
+                CodeSnippets.TransactionMethodParams.METHOD_NAME, methodName,
+                CodeSnippets.TransactionMethodParams.PARAMETERS, method.getParameters().stream()
+                        .map(v -> String.format("%s %s", v.asType(), v.getSimpleName()))
+                        .collect(Collectors.joining(", ")),
+                CodeSnippets.TransactionMethodParams.TRANSACTION_CALL, isVoid(returnType) ? call.concat(";") : GenTools.returnObject(call)
+        ));
+    }
+
+    private void validate() {
+        if (method.getAnnotation(PlsqlCallable.class) != null) {
+            throw new IllegalStateException(
+                    "A callable runs in a single call, annotate the method calling the callables instead: " + method.getSimpleName()
+            );
+        }
+        if (method.getModifiers().stream().anyMatch(NOT_OVERRIDABLE::contains)) {
+            throw new IllegalStateException(
+                    "Transactional method must be overridable, found: " + method.getModifiers() + " in " + method.getSimpleName()
+            );
+        }
+        if (!method.getThrownTypes().isEmpty()) {
+            throw new IllegalStateException(
+                    "Transactional method must not declare exceptions, found: " +
+                            method.getThrownTypes() + " in " + method.getSimpleName()
+            );
+        }
+        if (!method.getTypeParameters().isEmpty()) {
+            throw new IllegalStateException("Transactional method must not be generic: " + method.getSimpleName());
+        }
+    }
+
+    private String accessModifier() {
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            return "public ";
+        }
+        return method.getModifiers().contains(Modifier.PROTECTED) ? "protected " : "";
+    }
+}
@@ -7,33 +7,96 @@ public class CodeSnippets {
         STMT_VAR_NAME,
         STMT_GETTER,
         POSITION,
+        CURSOR_CONFIGURATION,
+        COLUMN_INDEXES,
         SETTER_STATEMENTS,
         HANDLE_EMPTY_STATEMENT;
     }
 
-    public enum SimpleResultSetParams {
+    public enum BatchMethodParams {
+        STATEMENT_STATIC_CALL,
+        RETURN_TYPE,
+        METHOD_NAME,
+        PARAMETERS,
+        PROCEDURE_FULL_NAME,
+        BATCH_SIZE,
+        ITEM_TYPE,
+        ITEM_VAR,
+        COLLECTION_VAR,
+        STATEMENT_POPULATION,
+        RETURN_STATEMENT,
+        EVICTIONS,
+        CALLABLE_DECLARATION,
+        CALLABLE,
+        TRACED_CALL;
+    }
+
+    public enum CursorResultSetParams {
         STMT_RESULT_TYPE,
-        OBJECT_INIT_STATEMENT,
+        STMT_RESULT_VAR,
         STMT_VAR_NAME,
         STMT_GETTER,
-        POSITION;
+        POSITION,
+        CURSOR_CONFIGURATION,
+        COLUMN_INDEXES,
+        RESULT_TYPE,
+        RESULT_VAR,
+        CURSOR_FACTORY,
+        ROW_STATEMENTS;
+    }
+
+    public enum SimpleResultSetParams {
+        STMT_RESULT_TYPE,
+        OBJECT_INIT_STATEMENT,
+        STMT_VALUE;
     }
 
     public enum OptionalResultSetParams {
         STMT_RESULT_TYPE,
         OBJECT_INIT_STATEMENT,
         OPTIONAL_TYPE,
-        STMT_VAR_NAME,
-        STMT_GETTER,
-        POSITION;
+        STMT_VALUE;
     }
 
     public enum MethodParams {
-        RETURN_TYPE, METHOD_NAME, PARAMETERS, DATA_SOURCE, TRANSACTIONAL_METHOD;
+        RETURN_TYPE, METHOD_NAME, PARAMETERS, DATA_SOURCE, CALLABLE, TRANSACTIONAL_METHOD, DEFERRED;
+    }
+
+    public enum SharedResultMethodParams {
+        RETURN_TYPE, METHOD_NAME, PARAMETERS, DATA_SOURCE, SHARED_DECLARATION, SHARED_CALL, KEY, CALLABLE, TRANSACTIONAL_METHOD;
+    }
+
+    public enum BatchLoadedMethodParams {
+        RETURN_TYPE, METHOD_NAME, PARAMETERS, LOADER_DECLARATION, LOAD;
+    }
+
+    public enum MicroBatchMethodParams {
+        METHOD_NAME, PARAMETERS, PARAMETER_NAMES, BATCHER_DECLARATION, BATCHER_VAR, CALL_METHOD_NAME, STATEMENT_POPULATION;
+    }
+
+    public enum MicroBatchAsyncMethodParams {
+        METHOD_NAME, PARAMETERS, PARAMETER_NAMES, BATCHER_VAR, CALL_METHOD_NAME;
+    }
+
+    public enum CommittedMethodParams {
+        RETURN_TYPE, METHOD_NAME, PARAMETERS, COMMITTER_DECLARATION, COMMITTED_CALL;
+    }
+
+    public enum TransactionMethodParams {
+        MODIFIERS, RETURN_TYPE, METHOD_NAME, PARAMETERS, TRANSACTION_CALL;
+    }
+
+    public enum AsyncMethodParams {
+        RETURN_TYPE, METHOD_NAME, PARAMETERS, DATA_SOURCE, ASYNC_CALL;
+    }
+
+    public enum RowMapperParams {
+        PACKAGE_DECLARATION, CLASS_NAME, RECORD_TYPE, FIELDS, FIELD_INITIALIZATION, ROW_STATEMENTS, RESULT_VAR;
     }
 
     public enum CallableMethodParams {
         STATEMENT_STATIC_CALL, RETURN_TYPE, METHOD_NAME, PARAMETERS, PROCEDURE_FULL_NAME, INIT_POS, STATEMENT_POPULATION,
-        REGISTER_OUT_PARAM, RESULT_SET_EXTRACTION, RETURN_STATEMENT;
+        REGISTER_OUT_PARAM, STATEMENT_CONFIGURATION, RESULT_SET_EXTRACTION, RETURN_STATEMENT, EVICTIONS,
+        CALLABLE_DECLARATION, CALLABLE, TRACED_CALL, DEFERRED;
     }
 }
@@ -13,10 +13,33 @@ public class CodeSnippetsTemplatesManager<T extends Enum<T>> implements Template
 
     public static String PROCESS_OPTIONAL_RESULT_SET = "processOptionalResultSet";
 
+    public static String PROCESS_CURSOR_RESULT_SET = "processCursorResultSet";
+
     public static String METHOD_TEMPLATE = "methodTemplate";
 
+    public static String SHARED_RESULT_METHOD_TEMPLATE = "sharedResultMethodTemplate";
+
+    public static String BATCH_LOADED_METHOD_TEMPLATE = "batchLoadedMethodTemplate";
+
+    public static String MICRO_BATCH_METHOD_TEMPLATE = "microBatchMethodTemplate";
+    public static String MICRO_BATCH_ASYNC_METHOD_TEMPLATE = "microBatchAsyncMethodTemplate";
+
+    public static String COMMITTED_METHOD_TEMPLATE = "committedMethodTemplate";
+
+    public static String ASYNC_METHOD_TEMPLATE = "asyncMethodTemplate";
+
+    public static String TRANSACTION_METHOD_TEMPLATE = "transactionMethodTemplate";
+
     public static String PROCEDURE_METHOD_TEMPLATE = "procedureMethodTemplate";
     public static String FUNCTION_METHOD_TEMPLATE = "functionMethodTemplate";
+
+    public static String PROCEDURE_BATCH_METHOD_TEMPLATE = "procedureBatchMethodTemplate";
+
+    public static String ROW_MAPPER_CLASS_TEMPLATE = "rowMapperClassTemplate";
+
+    public static String CURSOR_METHOD_TEMPLATE = "cursorMethodTemplate";
+    public static String PROCEDURE_CURSOR_METHOD_TEMPLATE = "procedureCursorMethodTemplate";
+    public static String FUNCTION_CURSOR_METHOD_TEMPLATE = "functionCursorMethodTemplate";
     private final STGroup codeSnippets;
 
     public CodeSnippetsTemplatesManager() {
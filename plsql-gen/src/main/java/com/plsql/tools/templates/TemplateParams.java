@@ -9,7 +9,9 @@ public enum TemplateParams {
     RETURN_TYPE,
     RETURN_STATEMENT,
     METHOD_NAME,
+    FIELDS,
     METHODS,
+    MANIFEST_CALLS,
     PARAMETERS,
     PROCEDURE_FULL_NAME,
     PROCEDURE_CALL_NAME,
@@ -6,6 +6,7 @@ public class Templates {
             package <PACKAGE_NAME>;
                         
             import com.plsql.tools.DataSourceProvider;
+            import com.plsql.tools.DataSourceRef;
             import oracle.jdbc.OracleTypes;
                         
             import javax.sql.DataSource;
@@ -14,9 +15,29 @@ public class Templates {
             import java.sql.ResultSet;
             import java.sql.SQLException;
             import java.sql.JDBCType;
+            import java.util.concurrent.CompletableFuture;
                         
+            import com.plsql.tools.cache.CacheKey;
+            import com.plsql.tools.cache.ResultCache;
+            import com.plsql.tools.concurrent.BatchLoader;
+            import com.plsql.tools.concurrent.MicroBatcher;
+            import com.plsql.tools.concurrent.SingleFlight;
+            import com.plsql.tools.cursor.Cursors;
+            import com.plsql.tools.gen.tools.ArrayTools;
+            import com.plsql.tools.gen.tools.BatchTracker;
             import com.plsql.tools.gen.tools.DateTools;
+            import com.plsql.tools.gen.tools.ResultSetTools;
+            import com.plsql.tools.gen.tools.StatementTools;
             import com.plsql.tools.gen.tools.StringTools;
+            import com.plsql.tools.jdbc.StatementCache;
+            import com.plsql.tools.metrics.CallableId;
+            import com.plsql.tools.metrics.CallPhase;
+            import com.plsql.tools.metrics.CallTrace;
+            import com.plsql.tools.metrics.CallTracing;
+            import com.plsql.tools.session.Committer;
+            import com.plsql.tools.session.ConnectionLease;
+            import com.plsql.tools.session.PlsqlSession;
+            import com.plsql.tools.warmup.CallManifest;
             import com.plsql.tools.exceptions.PlsqlException;
                         
             /**
@@ -34,8 +55,17 @@ public class Templates {
                     super(dataSourceProvider);
                 }
                 
+                <FIELDS:{field | <field>
+                }>
                 <METHODS:{method | <method>
                 }>
+                public static final CallManifest CALL_MANIFEST = CallManifest.of(
+                        <MANIFEST_CALLS; separator=",\\n">);
+
+                @Override
+                public CallManifest getCallManifest() {
+                    return CALL_MANIFEST;
+                }
 
             }
             """;
@@ -10,6 +10,9 @@ public class CodeGenConstants {
     public static final String STATEMENT_VAR = "stmt";
     public static final String RETURN_VAR = "result";
     public static final String CNX_VAR = "cnx";
+    public static final String LEASE_VAR = "lease";
+    public static final String BATCH_VAR = "batch";
+    public static final String TRACE_VAR = "trace";
     public static final String INT = "int";
     public static final String EMPTY_METHOD = "empty()";
 
@@ -22,6 +25,19 @@ public class CodeGenConstants {
         return name + VARIABLE_SUFFIX;
     }
 
+    // field of the generated class holding the data source, the name is made a valid identifier
+    public static String dataSourceVariableName(String dataSource) {
+        return variableName("ds_" + dataSource.replaceAll("[^A-Za-z0-9_$]", "_"));
+    }
+
+    public static String columnIndexName(String name) {
+        return variableName(name + "Idx");
+    }
+
+    public static String batchItemName(String collectionName) {
+        return variableName(collectionName + "Item");
+    }
+
     public static String wrappedVariableName(String defaultReturnName) {
         return "wrapped%s".formatted(variableName(upperCaseFirstLetter(defaultReturnName)));
     }
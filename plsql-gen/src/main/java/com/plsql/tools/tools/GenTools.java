@@ -1,5 +1,6 @@
 package com.plsql.tools.tools;
 
+import com.plsql.tools.enums.TypeMapper;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
 
 import java.util.Optional;
@@ -125,6 +126,118 @@ public class GenTools {
         return "StringTools.toChar(%s)".formatted(name);
     }
 
+    // example: StatementTools.setInt(stmt,pos++,id), a null wrapper is bound as a SQL NULL
+    public static String bindWrapper(String setter, String stmt, String position, String parameter) {
+        return invokeMethodFromObject("StatementTools", setter, stmt, position, parameter);
+    }
+
+    // example: StatementTools.getInt(stmt,3), a SQL NULL out parameter is read as null
+    public static String statementWrapperGetter(String getter, String stmt, String position) {
+        return invokeMethodFromObject("StatementTools", getter, stmt, position);
+    }
+
+    // example: stmt.getInt(3) for a primitive, StatementTools.getInt(stmt,3) for a wrapper
+    public static String outParameterGetter(TypeMapper type, String stmt, String position) {
+        if (type.isUnboxedByJdbc()) {
+            return statementWrapperGetter(type.getJdbcGetterMethod(), stmt, position);
+        }
+        return invokeMethodFromObject(stmt, type.getJdbcGetterMethod(), position);
+    }
+
+    // example: ResultSetTools.getInt(rs,idCol__$), a SQL NULL column is read as null
+    public static String resultSetWrapperGetter(String getter, String resultSet, String columnIndex) {
+        return invokeMethodFromObject("ResultSetTools", getter, resultSet, columnIndex);
+    }
+
+    public static String findColumn(String resultSet, String alias) {
+        return "ResultSetTools.findColumn(%s, %s)".formatted(resultSet, literalString(alias));
+    }
+
+    public static String setFetchSize(String resultSet, int fetchSize) {
+        return "%s.setFetchSize(%d);".formatted(resultSet, fetchSize);
+    }
+
+    public static String setLobPrefetchSize(String statement, int lobPrefetchSize) {
+        return "%s.unwrap(oracle.jdbc.OracleStatement.class).setLobPrefetchSize(%d);".formatted(statement, lobPrefetchSize);
+    }
+
+    public static String toArrayElements(String collection) {
+        return "ArrayTools.toArrayElements(%s)".formatted(collection);
+    }
+
+    public static String createOracleArray(String connection, String sqlType, String elements) {
+        return "%s.unwrap(oracle.jdbc.OracleConnection.class).createOracleArray(%s, %s)".formatted(connection, sqlType, elements);
+    }
+
+    public static String lambda(String body) {
+        return "() -> %s".formatted(body);
+    }
+
+    // example: CacheKey.of(id, name)
+    public static String cacheKey(String paramNames) {
+        return "CacheKey.of(%s)".formatted(paramNames);
+    }
+
+    // example: private final ResultCache getNameCache__$ = caches.register("getName", 1000, 60, 60, java.util.concurrent.TimeUnit.SECONDS, false);
+    public static String registerCache(String cacheVar, String cacheName, int maxEntries, long ttl, long negativeTtl, String unit,
+                                       boolean coalesced) {
+        return "private final ResultCache %s = caches.register(%s, %d, %d, %d, java.util.concurrent.TimeUnit.%s, %b);"
+                .formatted(cacheVar, literalString(cacheName), maxEntries, ttl, negativeTtl, unit, coalesced);
+    }
+
+    // example: private final SingleFlight getNameFlight__$ = new SingleFlight();
+    public static String newSingleFlight(String flightVar) {
+        return "private final SingleFlight %s = new SingleFlight();".formatted(flightVar);
+    }
+
+    // example: private final BatchLoader<java.lang.Long, Customer> findCustomerLoader__$ = new BatchLoader<>(keys__$ -> getCustomers(keys__$), Customer::getId, 100, 2, java.util.concurrent.TimeUnit.MILLISECONDS);
+    public static String newBatchLoader(String loaderVar, String keyType, String rowType, String bulkMethod, String keyGetter,
+                                        int maxBatchSize, long window, String unit) {
+        String keys = variableName("keys");
+        return "private final BatchLoader<%s, %s> %s = new BatchLoader<>(%s -> %s(%s), %s::%s, %d, %d, java.util.concurrent.TimeUnit.%s);"
+                .formatted(keyType, rowType, loaderVar, keys, bulkMethod, keys, rowType, keyGetter, maxBatchSize, window, unit);
+    }
+
+    // example: private final DataSourceRef ds_MY_DS__$ = dataSourceRef("MY_DS");
+    public static String newDataSourceRef(String dataSourceVar, String dataSource) {
+        return "private final DataSourceRef %s = dataSourceRef(%s);".formatted(dataSourceVar, literalString(dataSource));
+    }
+
+    // example: private static final CallableId pkg_audit_insert_audit_callable__$ = new CallableId("pkg_audit", "insert_audit", "MY_DS", 3);
+    public static String newCallableId(String callableVar, String packageName, String callableName, String dataSource, int binds) {
+        return "private static final CallableId %s = new CallableId(%s, %s, %s, %d);"
+                .formatted(callableVar, literalString(packageName), literalString(callableName), literalString(dataSource), binds);
+    }
+
+    // example: CallManifest.call("MY_DS", pkg_audit_insert_audit)
+    public static String newManifestCall(String dataSource, String callConstant) {
+        return "CallManifest.call(%s, %s)".formatted(literalString(dataSource), callConstant);
+    }
+
+    // example: private final MicroBatcher insertAuditMicroBatch__$ = registerMicroBatch(new MicroBatcher(ds_MY_DS__$::get, pkg_audit_insert_audit, 500, 10, java.util.concurrent.TimeUnit.MILLISECONDS));
+    public static String newMicroBatcher(String batcherVar, String dataSourceVar, String call, int maxSize, long maxDelay, String unit) {
+        return "private final MicroBatcher %s = registerMicroBatch(new MicroBatcher(%s::get, %s, %d, %d, java.util.concurrent.TimeUnit.%s));"
+                .formatted(batcherVar, dataSourceVar, call, maxSize, maxDelay, unit);
+    }
+
+    public static String newNowaitCommitter(String committerVar, String dataSourceVar) {
+        return "private final Committer %s = Committer.batchNowait(%s::get);"
+                .formatted(committerVar, dataSourceVar);
+    }
+
+    public static String newGroupCommitter(String committerVar, String dataSourceVar, int groupSize, long maxDelay, String unit) {
+        return "private final Committer %s = Committer.grouped(%s::get, %d, %d, java.util.concurrent.TimeUnit.%s);"
+                .formatted(committerVar, dataSourceVar, groupSize, maxDelay, unit);
+    }
+
+    public static String closing(String stream, String... resources) {
+        return "Cursors.closing(%s, %s)".formatted(stream, String.join(", ", resources));
+    }
+
+    public static String endTrace(String trace) {
+        return trace + "::end";
+    }
+
     public static String toSqlDate(String name) {
         return "DateTools.toSqlDate(%s)".formatted(name);
     }
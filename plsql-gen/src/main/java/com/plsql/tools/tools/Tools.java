@@ -7,10 +7,12 @@ import com.plsql.tools.tools.extraction.info.ElementInfo;
 import com.plsql.tools.tools.extraction.info.MetaInfo;
 
 import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -85,6 +87,22 @@ public class Tools {
         return "void".equals(returnType.trim());
     }
 
+    /**
+     * A {@code Consumer} parameter receives the rows of the cursor output one at a time instead of the method returning them
+     */
+    public static boolean isRowCallback(VariableElement parameter) {
+        return parameter.asType() instanceof DeclaredType declaredType &&
+                declaredType.asElement() instanceof TypeElement typeElement &&
+                typeElement.getQualifiedName().contentEquals(Consumer.class.getCanonicalName());
+    }
+
+    public static List<VariableElement> findRowCallbacks(ExecutableElement method) {
+        return method.getParameters().stream()
+                .filter(Tools::isRowCallback)
+                .map(VariableElement.class::cast)
+                .toList();
+    }
+
     public static String defaultInitTypeForList(TypeMirror typeMirror) {
         var type = TypeMapper.fromSimpleName(typeMirror.toString());
         if (type == null) {
@@ -107,10 +125,11 @@ public class Tools {
         MetaInfo[] metaInfo;
         if (hasInnerOutputs) {
             metaInfo = Arrays.stream(output.innerOutputs())
-                    .map(o -> new MetaInfo(o.value(), o.field()))
+                    .map(o -> new MetaInfo(o.value(), o.field(), o.fetchSize(), o.lobPrefetchSize())
+                            .withDefaults(output.fetchSize(), output.lobPrefetchSize()))
                     .toArray(MetaInfo[]::new);
         } else {
-            metaInfo = new MetaInfo[]{new MetaInfo(output.value(), "")};
+            metaInfo = new MetaInfo[]{new MetaInfo(output.value(), "", output.fetchSize(), output.lobPrefetchSize())};
         }
         return metaInfo;
     }
@@ -12,6 +12,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
 import java.util.List;
+import java.util.Optional;
 
 public class Extractor {
     @Getter
@@ -46,6 +47,18 @@ public class Extractor {
         return typeInfoExtractor.isOptional(type);
     }
 
+    public boolean isStream(TypeMirror type) {
+        return typeInfoExtractor.isStream(type);
+    }
+
+    public boolean isPublisher(TypeMirror type) {
+        return typeInfoExtractor.isPublisher(type);
+    }
+
+    public boolean isConsumer(TypeMirror type) {
+        return typeInfoExtractor.isConsumer(type);
+    }
+
     public boolean isList(TypeMirror type) {
         return typeInfoExtractor.isList(type);
     }
@@ -76,6 +89,10 @@ public class Extractor {
         return parameterExtractor.extractParams(method);
     }
 
+    public Optional<String> findRowMapper(String type) {
+        return context.findRowMapper(type);
+    }
+
     public ComposedElementInfo convertInto(Element record) {
         var typeInfo = typeInfoExtractor.extractTypeInfo(record);
         return composedElementExtractor.convertInto(record, typeInfo);
@@ -1,16 +1,34 @@
 package com.plsql.tools.tools.extraction.extractors;
 
+import com.plsql.tools.annotations.Batch;
+import com.plsql.tools.annotations.BatchLoaded;
+import com.plsql.tools.annotations.Cached;
+import com.plsql.tools.annotations.Coalesced;
+import com.plsql.tools.annotations.Commit;
+import com.plsql.tools.annotations.Evicts;
+import com.plsql.tools.annotations.MicroBatch;
 import com.plsql.tools.annotations.Output;
 import com.plsql.tools.annotations.PlsqlCallable;
 import com.plsql.tools.enums.CallableType;
+import com.plsql.tools.enums.CommitPolicy;
 import com.plsql.tools.tools.Tools;
 
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
+import java.util.Set;
 
 public class ExtractorValidator {
+    private static final Set<String> BATCH_RETURN_TYPES = Set.of("void", "int[]", "long");
+
     public static void validateCallableMethod(ExecutableElement method) {
+        validateCallableMethod(method, 0);
+    }
+
+    /**
+     * @param batchParameters number of {@code Collection} of {@code @Record} parameters, bound one element per call
+     */
+    public static void validateCallableMethod(ExecutableElement method, int batchParameters) {
         validateMethod(method);
 
         PlsqlCallable annotation = method.getAnnotation(PlsqlCallable.class);
@@ -20,6 +38,31 @@ public class ExtractorValidator {
             );
         }
 
+        boolean isBatch = batchParameters > 0 || method.getAnnotation(Batch.class) != null;
+        Cached cached = method.getAnnotation(Cached.class);
+        if (cached != null) {
+            validateCached(method, cached, isBatch);
+        }
+        if (method.getAnnotation(Coalesced.class) != null) {
+            validateCoalesced(method, isBatch);
+        }
+        BatchLoaded batchLoaded = method.getAnnotation(BatchLoaded.class);
+        if (batchLoaded != null) {
+            validateBatchLoaded(method, batchLoaded, isBatch);
+        }
+        MicroBatch microBatch = method.getAnnotation(MicroBatch.class);
+        if (microBatch != null) {
+            validateMicroBatch(method, annotation, microBatch, isBatch);
+        }
+        if (annotation.commit().value() != CommitPolicy.IMMEDIATE) {
+            validateCommit(method, annotation.commit());
+        }
+
+        if (isBatch) {
+            validateBatch(method, annotation, batchParameters);
+            return;
+        }
+
         validateOutputAnnotations(method, annotation);
     }
 
@@ -45,6 +88,12 @@ public class ExtractorValidator {
         boolean hasReturn = !Tools.isVoid(returnType.toString());
         boolean hasInnerOutputs = outputs.innerOutputs().length > 0;
         boolean hasOutput = !outputs.value().isEmpty();
+        int rowCallbacks = Tools.findRowCallbacks(method).size();
+
+        if (rowCallbacks > 0) {
+            validateRowCallback(method, hasReturn, hasOutput, hasInnerOutputs, rowCallbacks);
+            return;
+        }
 
         // Function-specific validation
         if (annotation.type() == CallableType.FUNCTION) {
@@ -77,4 +126,197 @@ public class ExtractorValidator {
         }
     }
 
+    // JDBC batching has no OUT parameters, only the update counts can be returned
+    private static void validateBatch(
+            ExecutableElement method,
+            PlsqlCallable annotation,
+            int batchParameters
+    ) {
+        if (batchParameters != 1) {
+            throw new IllegalStateException(
+                    "Batch method must have exactly one Collection of @Record parameter, found: " +
+                            batchParameters + " in " + method.getSimpleName()
+            );
+        }
+        if (annotation.type() != CallableType.PROCEDURE) {
+            throw new IllegalStateException(
+                    "Only procedures can be called in batch: " + method.getSimpleName()
+            );
+        }
+        Output outputs = annotation.outputs();
+        if (!outputs.value().isEmpty() || outputs.innerOutputs().length > 0) {
+            throw new IllegalStateException(
+                    "Batch method must not have @Output: " + method.getSimpleName()
+            );
+        }
+        if (!BATCH_RETURN_TYPES.contains(method.getReturnType().toString())) {
+            throw new IllegalStateException(
+                    "Batch method must return void, int[] or long, found: " +
+                            method.getReturnType() + " in " + method.getSimpleName()
+            );
+        }
+        Batch batch = method.getAnnotation(Batch.class);
+        if (batch != null && batch.size() <= 0) {
+            throw new IllegalStateException(
+                    "Batch size must be positive, found: " + batch.size() + " in " + method.getSimpleName()
+            );
+        }
+    }
+
+    // only a returned value can be cached, the calls with no result are always sent to the database
+    private static void validateCached(ExecutableElement method, Cached cached, boolean isBatch) {
+        if (isBatch) {
+            throw new IllegalStateException("Batch method can't be cached: " + method.getSimpleName());
+        }
+        if (Tools.isVoid(method.getReturnType().toString())) {
+            throw new IllegalStateException("Cached method must return a value: " + method.getSimpleName());
+        }
+        if (cached.maxEntries() <= 0) {
+            throw new IllegalStateException(
+                    "Cache max entries must be positive, found: " + cached.maxEntries() + " in " + method.getSimpleName()
+            );
+        }
+        if (cached.ttl() <= 0) {
+            throw new IllegalStateException(
+                    "Cache time to live must be positive, found: " + cached.ttl() + " in " + method.getSimpleName()
+            );
+        }
+    }
+
+    // the callers share the result of the call, a call with no result has nothing to share
+    private static void validateCoalesced(ExecutableElement method, boolean isBatch) {
+        if (isBatch) {
+            throw new IllegalStateException("Batch method can't be coalesced: " + method.getSimpleName());
+        }
+        if (Tools.isVoid(method.getReturnType().toString())) {
+            throw new IllegalStateException("Coalesced method must return a value: " + method.getSimpleName());
+        }
+    }
+
+    // the bulk call loads one row per key, the key being the single parameter of the method
+    private static void validateBatchLoaded(ExecutableElement method, BatchLoaded batchLoaded, boolean isBatch) {
+        if (isBatch) {
+            throw new IllegalStateException("Batch method can't be batch loaded: " + method.getSimpleName());
+        }
+        if (Tools.isVoid(method.getReturnType().toString())) {
+            throw new IllegalStateException("Batch loaded method must return a value: " + method.getSimpleName());
+        }
+        if (method.getParameters().size() != 1) {
+            throw new IllegalStateException(
+                    "Batch loaded method must have a single key parameter, found: " +
+                            method.getParameters().size() + " in " + method.getSimpleName()
+            );
+        }
+        if (method.getAnnotation(Cached.class) != null || method.getAnnotation(Coalesced.class) != null) {
+            throw new IllegalStateException(
+                    "Batch loaded method can't be cached or coalesced, annotate the bulk callable instead: " +
+                            method.getSimpleName()
+            );
+        }
+        if (batchLoaded.maxBatchSize() <= 0) {
+            throw new IllegalStateException(
+                    "Max batch size must be positive, found: " + batchLoaded.maxBatchSize() + " in " + method.getSimpleName()
+            );
+        }
+        if (batchLoaded.window() < 0) {
+            throw new IllegalStateException(
+                    "Batch window must not be negative, found: " + batchLoaded.window() + " in " + method.getSimpleName()
+            );
+        }
+    }
+
+    // the policy commits a write, the callables sharing or deferring their results commit on their own terms
+    private static void validateCommit(ExecutableElement method, Commit commit) {
+        if (method.getAnnotation(MicroBatch.class) != null) {
+            throw new IllegalStateException(
+                    "Micro batched procedure is committed with its batch, it can't have a commit policy: " + method.getSimpleName()
+            );
+        }
+        if (method.getAnnotation(Cached.class) != null || method.getAnnotation(Coalesced.class) != null
+                || method.getAnnotation(BatchLoaded.class) != null) {
+            throw new IllegalStateException(
+                    "Cached, coalesced or batch loaded method can't have a commit policy: " + method.getSimpleName()
+            );
+        }
+        // the eviction runs after the statement, a lookup made before the deferred commit would cache the old value
+        if (method.getAnnotationsByType(Evicts.class).length > 0) {
+            throw new IllegalStateException(
+                    "Method with a commit policy can't evict a cache, it runs before the commit: " + method.getSimpleName()
+            );
+        }
+        if (commit.value() != CommitPolicy.GROUPED) {
+            return;
+        }
+        if (commit.groupSize() <= 0) {
+            throw new IllegalStateException(
+                    "Commit group size must be positive, found: " + commit.groupSize() + " in " + method.getSimpleName()
+            );
+        }
+        if (commit.maxDelay() < 0) {
+            throw new IllegalStateException(
+                    "Commit group max delay must not be negative, found: " + commit.maxDelay() + " in " + method.getSimpleName()
+            );
+        }
+    }
+
+    // the queued calls are sent together, nothing flows back to the caller but the completion of the batch
+    private static void validateMicroBatch(
+            ExecutableElement method,
+            PlsqlCallable annotation,
+            MicroBatch microBatch,
+            boolean isBatch
+    ) {
+        if (isBatch) {
+            throw new IllegalStateException("Batch method can't be micro batched: " + method.getSimpleName());
+        }
+        if (annotation.type() != CallableType.PROCEDURE) {
+            throw new IllegalStateException("Only procedures can be micro batched: " + method.getSimpleName());
+        }
+        if (!Tools.isVoid(method.getReturnType().toString()) || !Tools.findRowCallbacks(method).isEmpty()) {
+            throw new IllegalStateException(
+                    "Micro batched procedure must return void and have no row callback: " + method.getSimpleName()
+            );
+        }
+        if (method.getAnnotationsByType(Evicts.class).length > 0) {
+            throw new IllegalStateException("Micro batched procedure can't evict a cache: " + method.getSimpleName());
+        }
+        if (microBatch.maxSize() <= 0) {
+            throw new IllegalStateException(
+                    "Micro batch max size must be positive, found: " + microBatch.maxSize() + " in " + method.getSimpleName()
+            );
+        }
+        if (microBatch.maxDelay() < 0) {
+            throw new IllegalStateException(
+                    "Micro batch max delay must not be negative, found: " + microBatch.maxDelay() + " in " + method.getSimpleName()
+            );
+        }
+    }
+
+    // the rows of the single cursor output are pushed to the Consumer parameter, nothing is returned
+    private static void validateRowCallback(
+            ExecutableElement method,
+            boolean hasReturn,
+            boolean hasOutput,
+            boolean hasInnerOutputs,
+            int rowCallbacks
+    ) {
+        if (rowCallbacks > 1) {
+            throw new IllegalStateException(
+                    "Method must not have more than one row callback, found: " +
+                            rowCallbacks + " in " + method.getSimpleName()
+            );
+        }
+        if (hasReturn) {
+            throw new IllegalStateException(
+                    "Method with a row callback must have void return type: " +
+                            method.getSimpleName()
+            );
+        }
+        if (!hasOutput || hasInnerOutputs) {
+            throw new IllegalStateException(
+                    "Method with a row callback must have a single @Output cursor: " +
+                            method.getSimpleName()
+            );
+        }
+    }
 }
@@ -1,16 +1,23 @@
 package com.plsql.tools.tools.extraction.extractors;
 
+import com.plsql.tools.annotations.PlsqlParam;
+import com.plsql.tools.enums.TypeMapper;
 import com.plsql.tools.tools.extraction.cache.SimpleCache;
+import com.plsql.tools.tools.extraction.info.ArrayElementInfo;
 import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
+import com.plsql.tools.tools.extraction.info.BatchElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
 import com.plsql.tools.tools.extraction.info.TypeInfo;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeMirror;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.plsql.tools.tools.CodeGenConstants.batchItemName;
 import static com.plsql.tools.tools.Tools.extractName;
+import static com.plsql.tools.tools.Tools.isRowCallback;
 
 public class ParameterExtractor {
 
@@ -30,11 +37,21 @@ public class ParameterExtractor {
     public List<ElementInfo> extractParams(ExecutableElement method) {
         List<ElementInfo> elementInfoList = new ArrayList<>();
         for (var parameter : method.getParameters()) {
+            if (isRowCallback(parameter)) {
+                // receives the output rows, it is not bound to the call
+                continue;
+            }
             var paramName = parameter.getSimpleName().toString();
             TypeInfo typeInfo = typeInfoExtractor.extractTypeInfo(parameter);
             ElementInfo elementInfo = new ElementInfo(typeInfo, paramName);
-            if (typeInfo.isSimple()) {
+            PlsqlParam plsqlParam = parameter.getAnnotation(PlsqlParam.class);
+            if (plsqlParam != null && !plsqlParam.sqlType().isBlank()) {
+                elementInfoList.add(arrayElementInfo(typeInfo, paramName, plsqlParam.sqlType()));
+            } else if (typeInfo.isSimple()) {
                 elementInfoList.add(elementInfo);
+            } else if (isBatch(typeInfo)) {
+                var element = composedElementExtractor.convertInto(typeInfo.getRawWrappedType());
+                elementInfoList.add(new BatchElementInfo(element, batchItemName(paramName), paramName));
             } else {
                 elementInfoList.add(composedElementExtractor.convertInto(parameter));
             }
@@ -42,10 +59,30 @@ public class ParameterExtractor {
         return elementInfoList;
     }
 
+    // only simple values can be held by a SQL collection type
+    private ArrayElementInfo arrayElementInfo(TypeInfo typeInfo, String paramName, String sqlType) {
+        TypeMirror mirror = typeInfo.getMirror();
+        if (mirror instanceof ArrayType arrayType && TypeMapper.isSimple(arrayType.getComponentType().toString())) {
+            return new ArrayElementInfo(typeInfo, paramName, sqlType, false);
+        }
+        if (typeInfo.isWrapped() && typeInfo.isWrappedSimple() && typeInfoExtractor.isCollection(mirror)) {
+            return new ArrayElementInfo(typeInfo, paramName, sqlType, true);
+        }
+        throw new IllegalStateException("Parameter bound to the SQL type %s must be an array or a collection of simple values, found: %s"
+                .formatted(sqlType, typeInfo.typeAsString()));
+    }
+
+    // a collection of @Record is bound one element per call
+    private boolean isBatch(TypeInfo typeInfo) {
+        return typeInfo.isWrapped() &&
+                typeInfoExtractor.isCollection(typeInfo.getMirror()) &&
+                cache.contains(typeInfo.getWrappedType());
+    }
+
     public List<String> extractPramNames(List<ElementInfo> elementInfoList) {
         List<String> paramNames = new ArrayList<>();
         for (var elementInfo : elementInfoList) {
-            if (elementInfo.getTypeInfo().isSimple()) {
+            if (elementInfo.getTypeInfo().isSimple() || elementInfo instanceof ArrayElementInfo) {
                 paramNames.add(extractName(elementInfo));
             } else {
                 paramNames.addAll(extractNestedParamNames(elementInfo.getTypeInfo().getMirror()));
@@ -9,6 +9,7 @@ import com.plsql.tools.tools.extraction.info.*;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import java.util.Arrays;
@@ -37,7 +38,7 @@ public class ReturnExtractor {
     public List<ReturnElementInfo> extractReturn(ExecutableElement method) {
         var returnType = method.getReturnType();
         if (isVoid(returnType.toString())) {
-            return Collections.emptyList();
+            return extractRowCallback(method);
         }
         Output outputs = method.getAnnotation(PlsqlCallable.class).outputs();
         boolean hasInnerOutputs = outputs.innerOutputs().length > 0;
@@ -49,6 +50,21 @@ public class ReturnExtractor {
                 : extractMultipleOutputs(method, metaInfo);
     }
 
+    // the rows of the output are pushed to the Consumer parameter, which names the mapped row
+    private List<ReturnElementInfo> extractRowCallback(ExecutableElement method) {
+        List<VariableElement> rowCallbacks = Tools.findRowCallbacks(method);
+        if (rowCallbacks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        VariableElement rowCallback = rowCallbacks.get(0);
+        TypeInfo typeInfo = typeInfoExtractor.extractTypeInfo((DeclaredType) rowCallback.asType());
+        if (!typeInfo.isWrapped() || typeInfo.isWrappedSimple()) {
+            throw new IllegalStateException("Row callback must consume a @Record class, found: " + typeInfo.typeAsString());
+        }
+        MetaInfo output = Tools.extractMetaInfo(method.getAnnotation(PlsqlCallable.class).outputs())[0];
+        return List.of(createWrappedReturnElement(typeInfo, rowCallback.getSimpleName().toString(), output));
+    }
+
     private List<ReturnElementInfo> extractSingleOutput(
             ExecutableElement method,
             MetaInfo output
@@ -15,7 +15,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TypeInfoExtractor {
     private final Types typeUtils;
@@ -77,6 +80,15 @@ public class TypeInfoExtractor {
     public boolean isOptional(TypeMirror type) {
         return isAssignableFrom(type, Optional.class.getCanonicalName());
     }
+    public boolean isStream(TypeMirror type) {
+        return isAssignableFrom(type, Stream.class.getCanonicalName());
+    }
+    public boolean isPublisher(TypeMirror type) {
+        return isAssignableFrom(type, Flow.Publisher.class.getCanonicalName());
+    }
+    public boolean isConsumer(TypeMirror type) {
+        return isAssignableFrom(type, Consumer.class.getCanonicalName());
+    }
 
     public TypeMirror eraseType(TypeMirror type) {
         return typeUtils.erasure(type);
@@ -0,0 +1,22 @@
+package com.plsql.tools.tools.extraction.info;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A collection or array of simple values bound to a schema level SQL collection type.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ArrayElementInfo extends ElementInfo {
+
+    private String sqlType;
+    // a Java collection is copied into array elements first, a Java array is handed over as is
+    private boolean isCollection;
+
+    public ArrayElementInfo(TypeInfo typeInfo, String name, String sqlType, boolean isCollection) {
+        super(typeInfo, name);
+        this.sqlType = sqlType;
+        this.isCollection = isCollection;
+    }
+}
@@ -0,0 +1,22 @@
+package com.plsql.tools.tools.extraction.info;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A {@code Collection} of {@code @Record} parameter, the procedure is called once per element.
+ * The element is bound like a composed parameter named after the loop variable.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BatchElementInfo extends ComposedElementInfo {
+
+    private String collectionName;
+
+    public BatchElementInfo(ComposedElementInfo element, String name, String collectionName) {
+        super(element.getTypeInfo(), name);
+        this.collectionName = collectionName;
+        setElementInfoList(element.getElementInfoList());
+        setNestedElementInfo(element.getNestedElementInfo());
+    }
+}
@@ -1,4 +1,26 @@
 package com.plsql.tools.tools.extraction.info;
 
-public record MetaInfo(String alias, String field) {
+import static com.plsql.tools.constants.Constants.INHERIT;
+
+public record MetaInfo(String alias, String field, int fetchSize, int lobPrefetchSize) {
+
+    public MetaInfo(String alias, String field) {
+        this(alias, field, INHERIT, INHERIT);
+    }
+
+    // keeps the values already set, fills the inherited ones with the given defaults
+    public MetaInfo withDefaults(int defaultFetchSize, int defaultLobPrefetchSize) {
+        return new MetaInfo(alias,
+                field,
+                fetchSize == INHERIT ? defaultFetchSize : fetchSize,
+                lobPrefetchSize == INHERIT ? defaultLobPrefetchSize : lobPrefetchSize);
+    }
+
+    public boolean hasFetchSize() {
+        return fetchSize > 0;
+    }
+
+    public boolean hasLobPrefetchSize() {
+        return lobPrefetchSize >= 0;
+    }
 }
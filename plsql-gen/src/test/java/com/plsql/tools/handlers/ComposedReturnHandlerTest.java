@@ -4,6 +4,7 @@ import com.plsql.tools.enums.TypeMapper;
 import com.plsql.tools.tools.extraction.Extractor;
 import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
 import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
+import com.plsql.tools.tools.extraction.info.MetaInfo;
 import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
 import com.plsql.tools.tools.extraction.info.TypeInfo;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import javax.lang.model.element.Name;
 import javax.lang.model.type.TypeMirror;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -248,6 +250,179 @@ class ComposedReturnHandlerTest {
         assertFalse(code.isEmpty());
     }
 
+    @Test
+    @DisplayName("generateCode should resolve column indexes once before iterating rows")
+    void generateCode_simpleElements_shouldResolveColumnIndexesBeforeLoop() {
+        // Arrange
+        setupBasicReturnElement("Person", "2", false);
+
+        List<AttachedElementInfo> elements = List.of(
+                createAttachedElement("firstName", "java.lang.String", true),
+                createAttachedElement("age", "java.lang.Integer", true)
+        );
+
+        when(returnElementInfo.getElementInfoList()).thenReturn(elements);
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("int firstNameIdx__$ = ResultSetTools.findColumn(rs, \"firstName\");"));
+        assertTrue(code.contains("int ageIdx__$ = ResultSetTools.findColumn(rs, \"age\");"));
+        assertTrue(code.contains("rs.getString(firstNameIdx__$)"));
+        assertTrue(code.contains("ResultSetTools.getInt(rs,ageIdx__$)"));
+        assertFalse(code.contains("rs.getString(\"firstName\")"));
+        assertTrue(code.indexOf("findColumn") < code.indexOf("do {"));
+    }
+
+    @Test
+    @DisplayName("generateCode should count every row read for the call trace")
+    void generateCode_simpleElements_shouldTraceRows() {
+        // Arrange
+        setupBasicReturnElement("Person", "2", false);
+
+        List<AttachedElementInfo> elements = List.of(
+                createAttachedElement("firstName", "java.lang.String", true)
+        );
+
+        when(returnElementInfo.getElementInfoList()).thenReturn(elements);
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.indexOf("trace__$.complete();") < code.indexOf("} else {"));
+        assertTrue(code.indexOf("do {") < code.indexOf("trace__$.row();"));
+        assertTrue(code.indexOf("trace__$.row();") < code.indexOf("while (rs.next());"));
+    }
+
+    @Test
+    @DisplayName("generateCode should leave the trace to the method when an empty cursor does not return early")
+    void generateCode_notReturning_shouldNotCompleteTheTrace() {
+        // Arrange
+        ComposedReturnHandler collecting = ComposedReturnHandler.builder()
+                .extractor(extractor)
+                .isReturnSomething(false)
+                .build();
+        setupBasicReturnElement("Person", "2", false);
+
+        List<AttachedElementInfo> elements = List.of(
+                createAttachedElement("firstName", "java.lang.String", true)
+        );
+
+        when(returnElementInfo.getElementInfoList()).thenReturn(elements);
+
+        // Act
+        String code = collecting.generateCode(returnElementInfo);
+
+        // Assert
+        assertFalse(code.contains("trace__$.complete();"));
+        assertFalse(code.contains("return "));
+        assertTrue(code.contains("trace__$.row();"));
+    }
+
+    @Test
+    @DisplayName("generateCode should read primitive fields without boxing and wrapper fields through wasNull")
+    void generateCode_primitiveAndWrapperFields_shouldOnlyBoxWrappers() {
+        // Arrange
+        setupBasicReturnElement("Account", "1", false);
+
+        List<AttachedElementInfo> elements = List.of(
+                createAttachedElement("id", "long", true),
+                createAttachedElement("balance", "double", true),
+                createAttachedElement("parentId", "java.lang.Long", true)
+        );
+
+        when(returnElementInfo.getElementInfoList()).thenReturn(elements);
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("rs.getLong(idIdx__$)"));
+        assertTrue(code.contains("rs.getDouble(balanceIdx__$)"));
+        assertTrue(code.contains("ResultSetTools.getLong(rs,parentIdIdx__$)"));
+        assertFalse(code.contains("ResultSetTools.getDouble"));
+        assertFalse(code.contains("valueOf"));
+    }
+
+    @Test
+    @DisplayName("generateCode should delegate the row to the generated row mapper of the record")
+    void generateCode_recordWithRowMapper_shouldDelegateToRowMapper() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getName()).thenReturn("Person");
+        when(returnElementInfo.getPos()).thenReturn("1");
+        when(typeInfo.typeAsString()).thenReturn("com.example.Person");
+        when(extractor.findRowMapper("com.example.Person")).thenReturn(Optional.of("com.example.PersonRowMapper"));
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("com.example.PersonRowMapper rowMapper__$ = new com.example.PersonRowMapper(rs);"));
+        assertTrue(code.contains("Person__$ = rowMapper__$.map(rs);"));
+        assertTrue(code.indexOf("new com.example.PersonRowMapper(rs)") < code.indexOf("do {"));
+        assertFalse(code.contains("findColumn"));
+        verify(extractor, never()).convertInto(any());
+    }
+
+    @Test
+    @DisplayName("generateCode should delegate nested records to their row mapper")
+    void generateCode_nestedRecordWithRowMapper_shouldDelegateNestedElement() {
+        // Arrange
+        setupBasicReturnElement("ComplexUser", "1", false);
+        TypeInfo nestedTypeInfo = mock(TypeInfo.class);
+        when(nestedTypeInfo.isSimple()).thenReturn(false);
+        when(nestedTypeInfo.typeAsString()).thenReturn("com.example.Address");
+        AttachedElementInfo nestedElement = createAttachedElementWithTypeInfo("address", nestedTypeInfo);
+        when(returnElementInfo.getElementInfoList()).thenReturn(List.of(nestedElement));
+        when(extractor.findRowMapper("com.example.ComplexUser")).thenReturn(Optional.empty());
+        when(extractor.findRowMapper("com.example.Address")).thenReturn(Optional.of("com.example.AddressRowMapper"));
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("com.example.AddressRowMapper addressMapper__$ = new com.example.AddressRowMapper(rs);"));
+        assertTrue(code.contains("com.example.Address address__$ = addressMapper__$.map(rs);"));
+        assertTrue(code.contains(".setAddress(address__$);"));
+        verify(extractor, never()).convertInto(any());
+    }
+
+    @Test
+    @DisplayName("generateCode should apply the output fetch size to the cursor before iterating")
+    void generateCode_outputWithFetchSize_shouldSetFetchSize() {
+        // Arrange
+        setupBasicReturnElement("Person", "2", false);
+        when(returnElementInfo.getOutput()).thenReturn(new MetaInfo("p_curs", "", 500, -1));
+        AttachedElementInfo element = createAttachedElement("firstName", "java.lang.String", true);
+        when(returnElementInfo.getElementInfoList()).thenReturn(List.of(element));
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("rs.setFetchSize(500);"));
+        assertTrue(code.indexOf("rs.setFetchSize(500);") < code.indexOf("rs.next()"));
+    }
+
+    @Test
+    @DisplayName("generateCode should keep the driver fetch size when none is configured")
+    void generateCode_outputWithoutFetchSize_shouldNotSetFetchSize() {
+        // Arrange
+        setupBasicReturnElement("Person", "2", false);
+        when(returnElementInfo.getOutput()).thenReturn(new MetaInfo("p_curs", ""));
+        AttachedElementInfo element = createAttachedElement("firstName", "java.lang.String", true);
+        when(returnElementInfo.getElementInfoList()).thenReturn(List.of(element));
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertFalse(code.contains("setFetchSize"));
+    }
+
     @Test
     @DisplayName("generateCode with builder should respect isToAssign flag")
     void generateCode_builderWithIsToAssignFalse_shouldNotAssign() {
@@ -0,0 +1,117 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+import com.plsql.tools.tools.extraction.info.TypeInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PublisherReturnHandler.
+ * Tests the handling of Flow.Publisher return types reading the cursor on demand.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublisherReturnHandler Tests")
+class PublisherReturnHandlerTest {
+
+    @Mock
+    private Extractor extractor;
+
+    @Mock
+    private ReturnElementInfo returnElementInfo;
+
+    @Mock
+    private TypeInfo typeInfo;
+
+    @Mock
+    private TypeMirror typeMirror;
+
+    private PublisherReturnHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new PublisherReturnHandler(extractor);
+    }
+
+    @Test
+    @DisplayName("canHandle should return true for wrapped publisher types")
+    void canHandle_wrappedPublisherType_shouldReturnTrue() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isPublisher(typeMirror)).thenReturn(true);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertTrue(result);
+        verify(extractor).isPublisher(typeMirror);
+    }
+
+    @Test
+    @DisplayName("canHandle should return false for non-wrapped types")
+    void canHandle_nonWrappedType_shouldReturnFalse() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(false);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertFalse(result);
+        verify(extractor, never()).isPublisher(any());
+    }
+
+    @Test
+    @DisplayName("generateCode should hand the cursor over to a demand driven publisher")
+    void generateCode_publisherOfRecords_shouldCreateCursorPublisher() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getName()).thenReturn("customers");
+        when(returnElementInfo.getPos()).thenReturn("1");
+        when(returnElementInfo.getElementInfoList()).thenReturn(Collections.emptyList());
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.isRecord()).thenReturn(true);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.wrappedTypeAsString()).thenReturn("com.example.Customer");
+        when(typeInfo.typeAsString()).thenReturn("java.util.concurrent.Flow.Publisher<com.example.Customer>");
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("java.util.concurrent.Flow.Publisher<com.example.Customer> customers__$ = Cursors.publisher(rs, () -> {"));
+        assertTrue(code.contains("return wrappedCustomers__$__$;"));
+        assertTrue(code.contains("}, trace__$, stmt);"));
+        assertFalse(code.contains("while"));
+    }
+
+    @Test
+    @DisplayName("generateCode should reject publishers of simple types")
+    void generateCode_publisherOfSimpleType_shouldThrowException() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrappedSimple()).thenReturn(true);
+        when(typeInfo.typeAsString()).thenReturn("java.util.concurrent.Flow.Publisher<java.lang.String>");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> handler.generateCode(returnElementInfo)
+        );
+        assertTrue(exception.getMessage().contains("@Record"));
+    }
+}
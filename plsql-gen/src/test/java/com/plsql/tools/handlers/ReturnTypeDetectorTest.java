@@ -148,6 +148,74 @@ class ReturnTypeDetectorTest {
         verify(extractor).isCollection(typeMirror);
     }
 
+    @Test
+    @DisplayName("categorize should return STREAM for Stream types")
+    void categorize_streamType_shouldReturnStream() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isSimple()).thenReturn(false);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isOptional(typeMirror)).thenReturn(false);
+        when(extractor.isCollection(typeMirror)).thenReturn(false);
+        when(extractor.isStream(typeMirror)).thenReturn(true);
+
+        // Act
+        ReturnCategory result = detector.categorize(returnElementInfo);
+
+        // Assert
+        assertEquals(ReturnCategory.STREAM, result);
+        assertTrue(result.isOpenCursor());
+        verify(extractor).isStream(typeMirror);
+    }
+
+    @Test
+    @DisplayName("categorize should return PUBLISHER for Flow.Publisher types")
+    void categorize_publisherType_shouldReturnPublisher() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isSimple()).thenReturn(false);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isOptional(typeMirror)).thenReturn(false);
+        when(extractor.isCollection(typeMirror)).thenReturn(false);
+        when(extractor.isStream(typeMirror)).thenReturn(false);
+        when(extractor.isPublisher(typeMirror)).thenReturn(true);
+
+        // Act
+        ReturnCategory result = detector.categorize(returnElementInfo);
+
+        // Assert
+        assertEquals(ReturnCategory.PUBLISHER, result);
+        assertTrue(result.isOpenCursor());
+        verify(extractor).isPublisher(typeMirror);
+    }
+
+    @Test
+    @DisplayName("categorize should return ROW_CALLBACK for Consumer types")
+    void categorize_consumerType_shouldReturnRowCallback() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isSimple()).thenReturn(false);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isOptional(typeMirror)).thenReturn(false);
+        when(extractor.isCollection(typeMirror)).thenReturn(false);
+        when(extractor.isStream(typeMirror)).thenReturn(false);
+        when(extractor.isConsumer(typeMirror)).thenReturn(true);
+
+        // Act
+        ReturnCategory result = detector.categorize(returnElementInfo);
+
+        // Assert
+        assertEquals(ReturnCategory.ROW_CALLBACK, result);
+        assertFalse(result.isOpenCursor());
+        verify(extractor).isConsumer(typeMirror);
+    }
+
     @Test
     @DisplayName("categorize should throw IllegalStateException for unknown type")
     void categorize_unknownType_shouldThrowException() {
@@ -284,7 +352,7 @@ class ReturnTypeDetectorTest {
     void returnCategory_shouldHaveAllExpectedValues() {
         // Assert - Verify all enum values exist
         ReturnCategory[] categories = ReturnCategory.values();
-        assertEquals(5, categories.length);
+        assertEquals(8, categories.length);
 
         // Verify each category exists
         assertNotNull(ReturnCategory.valueOf("SIMPLE"));
@@ -292,5 +360,8 @@ class ReturnTypeDetectorTest {
         assertNotNull(ReturnCategory.valueOf("OPTIONAL_SIMPLE"));
         assertNotNull(ReturnCategory.valueOf("OPTIONAL_COMPOSED"));
         assertNotNull(ReturnCategory.valueOf("COLLECTION"));
+        assertNotNull(ReturnCategory.valueOf("STREAM"));
+        assertNotNull(ReturnCategory.valueOf("PUBLISHER"));
+        assertNotNull(ReturnCategory.valueOf("ROW_CALLBACK"));
     }
 }
@@ -0,0 +1,100 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+import com.plsql.tools.tools.extraction.info.TypeInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RowCallbackReturnHandler.
+ * Tests the handling of Consumer parameters receiving the cursor rows.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowCallbackReturnHandler Tests")
+class RowCallbackReturnHandlerTest {
+
+    @Mock
+    private Extractor extractor;
+
+    @Mock
+    private ReturnElementInfo returnElementInfo;
+
+    @Mock
+    private TypeInfo typeInfo;
+
+    @Mock
+    private TypeMirror typeMirror;
+
+    private RowCallbackReturnHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RowCallbackReturnHandler(extractor);
+    }
+
+    @Test
+    @DisplayName("canHandle should return true for wrapped consumer types")
+    void canHandle_wrappedConsumerType_shouldReturnTrue() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isConsumer(typeMirror)).thenReturn(true);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertTrue(result);
+        verify(extractor).isConsumer(typeMirror);
+    }
+
+    @Test
+    @DisplayName("canHandle should return false for wrapped non-consumer types")
+    void canHandle_wrappedNonConsumerType_shouldReturnFalse() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isConsumer(typeMirror)).thenReturn(false);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    @DisplayName("generateCode should push every row to the consumer without building a collection")
+    void generateCode_consumerOfRecords_shouldAcceptEachRow() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getName()).thenReturn("customerHandler");
+        when(returnElementInfo.getPos()).thenReturn("pos");
+        when(returnElementInfo.getElementInfoList()).thenReturn(Collections.emptyList());
+        when(typeInfo.isRecord()).thenReturn(true);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.wrappedTypeAsString()).thenReturn("com.example.Customer");
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("do {"));
+        assertTrue(code.contains("customerHandler.accept(wrappedCustomerHandler__$__$);"));
+        assertFalse(code.contains(".add("));
+        assertFalse(code.contains("return "));
+    }
+}
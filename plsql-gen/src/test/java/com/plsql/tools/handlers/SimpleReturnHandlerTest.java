@@ -165,6 +165,41 @@ class SimpleReturnHandlerTest {
         assertFalse(code.isEmpty());
     }
 
+    @Test
+    @DisplayName("generateCode should read a wrapper out parameter as null when it is SQL NULL")
+    void generateCode_wrapperType_shouldReadThroughWasNull() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getPos()).thenReturn("2");
+        when(returnElementInfo.getName()).thenReturn("count");
+        when(typeInfo.typeAsString()).thenReturn("java.lang.Integer");
+        when(typeInfo.asTypeMapper()).thenReturn(TypeMapper.INTEGER_WRAPPER);
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("java.lang.Integer count__$ = StatementTools.getInt(stmt,2);"));
+    }
+
+    @Test
+    @DisplayName("generateCode should read a primitive out parameter with the primitive getter")
+    void generateCode_primitiveType_shouldNotBox() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getPos()).thenReturn("3");
+        when(returnElementInfo.getName()).thenReturn("count");
+        when(typeInfo.typeAsString()).thenReturn("int");
+        when(typeInfo.asTypeMapper()).thenReturn(TypeMapper.INTEGER);
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("int count__$ = stmt.getInt(3);"));
+        assertFalse(code.contains("StatementTools"));
+    }
+
     @Test
     @DisplayName("generateCode should handle boolean type")
     void generateCode_booleanType_shouldGenerateCorrectCode() {
@@ -0,0 +1,117 @@
+package com.plsql.tools.handlers;
+
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.ReturnElementInfo;
+import com.plsql.tools.tools.extraction.info.TypeInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StreamReturnHandler.
+ * Tests the handling of Stream return types lazily reading the cursor.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamReturnHandler Tests")
+class StreamReturnHandlerTest {
+
+    @Mock
+    private Extractor extractor;
+
+    @Mock
+    private ReturnElementInfo returnElementInfo;
+
+    @Mock
+    private TypeInfo typeInfo;
+
+    @Mock
+    private TypeMirror typeMirror;
+
+    private StreamReturnHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new StreamReturnHandler(extractor);
+    }
+
+    @Test
+    @DisplayName("canHandle should return true for wrapped stream types")
+    void canHandle_wrappedStreamType_shouldReturnTrue() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(extractor.isStream(typeMirror)).thenReturn(true);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertTrue(result);
+        verify(extractor).isStream(typeMirror);
+    }
+
+    @Test
+    @DisplayName("canHandle should return false for non-wrapped types")
+    void canHandle_nonWrappedType_shouldReturnFalse() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrapped()).thenReturn(false);
+
+        // Act
+        boolean result = handler.canHandle(returnElementInfo);
+
+        // Assert
+        assertFalse(result);
+        verify(extractor, never()).isStream(any());
+    }
+
+    @Test
+    @DisplayName("generateCode should hand the cursor over to a lazily drained stream")
+    void generateCode_streamOfRecords_shouldCreateCursorStream() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(returnElementInfo.getName()).thenReturn("customers");
+        when(returnElementInfo.getPos()).thenReturn("1");
+        when(returnElementInfo.getElementInfoList()).thenReturn(Collections.emptyList());
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.isRecord()).thenReturn(true);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.wrappedTypeAsString()).thenReturn("com.example.Customer");
+        when(typeInfo.typeAsString()).thenReturn("java.util.stream.Stream<com.example.Customer>");
+
+        // Act
+        String code = handler.generateCode(returnElementInfo);
+
+        // Assert
+        assertTrue(code.contains("java.util.stream.Stream<com.example.Customer> customers__$ = Cursors.stream(rs, () -> {"));
+        assertTrue(code.contains("return wrappedCustomers__$__$;"));
+        assertTrue(code.contains("}, trace__$, stmt);"));
+        assertFalse(code.contains("while"));
+    }
+
+    @Test
+    @DisplayName("generateCode should reject streams of simple types")
+    void generateCode_streamOfSimpleType_shouldThrowException() {
+        // Arrange
+        when(returnElementInfo.getTypeInfo()).thenReturn(typeInfo);
+        when(typeInfo.isWrappedSimple()).thenReturn(true);
+        when(typeInfo.typeAsString()).thenReturn("java.util.stream.Stream<java.lang.String>");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> handler.generateCode(returnElementInfo)
+        );
+        assertTrue(exception.getMessage().contains("@Record"));
+    }
+}
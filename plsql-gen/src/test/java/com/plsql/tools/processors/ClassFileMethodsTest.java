@@ -0,0 +1,45 @@
+package com.plsql.tools.processors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClassFileMethods.
+ * Tests the reading of the bytecode size of the methods of a compiled class.
+ */
+@DisplayName("ClassFileMethods Tests")
+class ClassFileMethodsTest {
+
+    @Test
+    @DisplayName("codeLengths should return the bytecode size of every method with a body")
+    void codeLengths_compiledClass_shouldReturnMethodSizes() throws IOException {
+        // Arrange
+        try (InputStream classFile = ClassFileMethods.class.getResourceAsStream("ClassFileMethods.class")) {
+
+            // Act
+            Map<String, Integer> codeLengths = ClassFileMethods.codeLengths(classFile);
+
+            // Assert
+            assertTrue(codeLengths.containsKey("codeLengths(Ljava/io/InputStream;)Ljava/util/Map;"));
+            assertTrue(codeLengths.containsKey("readConstantPool(Ljava/io/DataInputStream;)[Ljava/lang/String;"));
+            assertTrue(codeLengths.values().stream().allMatch(length -> length > 0));
+        }
+    }
+
+    @Test
+    @DisplayName("codeLengths should reject content that is not a class file")
+    void codeLengths_notAClassFile_shouldThrowException() {
+        // Arrange
+        InputStream notAClass = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> ClassFileMethods.codeLengths(notAClass));
+    }
+}
@@ -0,0 +1,197 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.BatchLoaded;
+import com.plsql.tools.annotations.PlsqlCallable;
+import com.plsql.tools.processors.MethodToProcess;
+import com.plsql.tools.tools.extraction.Extractor;
+import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchLoaderGeneratorTest {
+    private Extractor extractor;
+    private Types typeUtils;
+    private DeclaredType longType;
+    private DeclaredType customerType;
+
+    @BeforeEach
+    void setUp() {
+        extractor = mock(Extractor.class);
+        typeUtils = mock(Types.class);
+        longType = createType("java.lang.Long");
+        customerType = createType("com.example.Customer");
+        when(typeUtils.isSameType(any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == invocation.getArgument(1));
+        Element customerElement = mock(Element.class);
+        when(customerElement.asType()).thenReturn(customerType);
+        when(typeUtils.asElement(customerType)).thenReturn(customerElement);
+        AttachedElementInfo id = createAttribute("id", longType);
+        when(extractor.getAttachedElements(customerType)).thenReturn(List.of(id));
+    }
+
+    @Test
+    void shouldLoadTheKeyThroughTheBulkCallable() {
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", longType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomersByIds", "id", customerType);
+
+        String generated = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method).generate();
+
+        assertTrue(generated.contains("private final BatchLoader<java.lang.Long, com.example.Customer> findCustomerLoader__$ = " +
+                "new BatchLoader<>(keys__$ -> getCustomersByIds(keys__$), com.example.Customer::getId, 100, 2, " +
+                "java.util.concurrent.TimeUnit.MILLISECONDS);"));
+        assertTrue(generated.contains("public com.example.Customer findCustomer(java.lang.Long customerId){"));
+        assertTrue(generated.contains("return findCustomerLoader__$.load(customerId);"));
+    }
+
+    @Test
+    void shouldWrapTheLoadedRowInAnOptional() {
+        DeclaredType optionalType = createType("java.util.Optional<com.example.Customer>", customerType);
+        when(extractor.isOptional(optionalType)).thenReturn(true);
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", longType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomersByIds", "id", optionalType);
+
+        String generated = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method).generate();
+
+        assertTrue(generated.contains("return java.util.Optional.ofNullable(findCustomerLoader__$.load(customerId));"));
+    }
+
+    @Test
+    void shouldRejectUnknownBulkCallable() {
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", longType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomers", "id", customerType);
+
+        BatchLoaderGenerator generator = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("Bulk callable 'getCustomers'"));
+    }
+
+    @Test
+    void shouldRejectBulkCallableNotTakingTheKeys() {
+        DeclaredType stringType = createType("java.lang.String");
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", stringType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomersByIds", "id", customerType);
+
+        BatchLoaderGenerator generator = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("must take the list of the keys"));
+    }
+
+    @Test
+    void shouldRejectUnknownKeyAttribute() {
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", longType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomersByIds", "customerId", customerType);
+
+        BatchLoaderGenerator generator = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("Unknown key 'customerId'"));
+    }
+
+    @Test
+    void shouldRejectKeyAttributeOfAnotherType() {
+        AttachedElementInfo id = createAttribute("id", createType("java.lang.String"));
+        when(extractor.getAttachedElements(customerType)).thenReturn(List.of(id));
+        TypeElement packageClass = createPackage(createBulkMethod("getCustomersByIds", longType, customerType));
+        MethodToProcess method = createBatchLoadedMethod("getCustomersByIds", "id", customerType);
+
+        BatchLoaderGenerator generator = new BatchLoaderGenerator(extractor, typeUtils, packageClass, method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("must be a java.lang.Long"));
+    }
+
+    // Helper methods to create test objects
+    private TypeElement createPackage(ExecutableElement... methods) {
+        TypeElement packageClass = mock(TypeElement.class);
+        doReturn(List.of(methods)).when(packageClass).getEnclosedElements();
+        return packageClass;
+    }
+
+    private ExecutableElement createBulkMethod(String methodName, TypeMirror keyType, TypeMirror rowType) {
+        DeclaredType keysType = createType("java.util.List<" + keyType + ">", keyType);
+        TypeMirror erasedKeysType = createType("java.util.List");
+        when(typeUtils.erasure(keysType)).thenReturn(erasedKeysType);
+        DeclaredType rowsType = createType("java.util.List<" + rowType + ">", rowType);
+        when(extractor.isList(rowsType)).thenReturn(true);
+
+        ExecutableElement method = mock(ExecutableElement.class);
+        when(method.getKind()).thenReturn(ElementKind.METHOD);
+        Name name = createName(methodName);
+        when(method.getSimpleName()).thenReturn(name);
+        when(method.getAnnotation(PlsqlCallable.class)).thenReturn(mock(PlsqlCallable.class));
+        VariableElement keys = mock(VariableElement.class);
+        when(keys.asType()).thenReturn(keysType);
+        doReturn(List.of(keys)).when(method).getParameters();
+        doReturn(rowsType).when(method).getReturnType();
+        return method;
+    }
+
+    private MethodToProcess createBatchLoadedMethod(String bulk, String key, TypeMirror returnType) {
+        BatchLoaded batchLoaded = mock(BatchLoaded.class);
+        when(batchLoaded.bulk()).thenReturn(bulk);
+        when(batchLoaded.key()).thenReturn(key);
+        when(batchLoaded.maxBatchSize()).thenReturn(100);
+        when(batchLoaded.window()).thenReturn(2L);
+        when(batchLoaded.unit()).thenReturn(TimeUnit.MILLISECONDS);
+
+        ExecutableElement method = mock(ExecutableElement.class);
+        when(method.getKind()).thenReturn(ElementKind.METHOD);
+        Name name = createName("findCustomer");
+        when(method.getSimpleName()).thenReturn(name);
+        when(method.getAnnotation(BatchLoaded.class)).thenReturn(batchLoaded);
+        VariableElement customerId = mock(VariableElement.class);
+        Name customerIdName = createName("customerId");
+        when(customerId.getSimpleName()).thenReturn(customerIdName);
+        when(customerId.asType()).thenReturn(longType);
+        doReturn(List.of(customerId)).when(method).getParameters();
+        doReturn(returnType).when(method).getReturnType();
+        return new MethodToProcess(method, "");
+    }
+
+    private AttachedElementInfo createAttribute(String name, TypeMirror type) {
+        ExecutableElement getter = mock(ExecutableElement.class);
+        Name getterName = createName("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        when(getter.getSimpleName()).thenReturn(getterName);
+        doReturn(type).when(getter).getReturnType();
+        AttachedElementInfo attribute = new AttachedElementInfo();
+        attribute.setName(name);
+        attribute.setGetter(getter);
+        return attribute;
+    }
+
+    private DeclaredType createType(String value, TypeMirror... typeArguments) {
+        DeclaredType type = mock(DeclaredType.class);
+        when(type.getKind()).thenReturn(TypeKind.DECLARED);
+        when(type.toString()).thenReturn(value);
+        doReturn(List.of(typeArguments)).when(type).getTypeArguments();
+        return type;
+    }
+
+    private Name createName(String value) {
+        Name name = mock(Name.class);
+        when(name.toString()).thenReturn(value);
+        when(name.contentEquals(value)).thenReturn(true);
+        return name;
+    }
+}
@@ -0,0 +1,166 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.Cached;
+import com.plsql.tools.annotations.Evicts;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EvictionGeneratorTest {
+
+    @Test
+    void shouldGenerateNothingWithoutEvicts() {
+        TypeElement packageClass = createPackage(createCachedMethod("getCustomerById", "", "id"));
+        ExecutableElement method = createMethod("updateCustomer", "id");
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        assertEquals("", generator.generate());
+    }
+
+    @Test
+    void shouldEvictTheKeyBuiltFromTheParameters() {
+        TypeElement packageClass = createPackage(createCachedMethod("getCustomerById", "", "id"));
+        ExecutableElement method = createMethod("updateCustomer", "id", "name");
+        evicts(method, createEvicts("getCustomerById", "id"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        assertEquals("caches.get(\"getCustomerById\").invalidate(CacheKey.of(id));", generator.generate());
+    }
+
+    @Test
+    void shouldEvictFromTheNamedCacheWithAKeyOverARecordParameter() {
+        TypeElement packageClass = createPackage(createCachedMethod("findCustomer", "customers", "id", "region"));
+        ExecutableElement method = createMethod("saveCustomer", "customer");
+        evicts(method, createEvicts("customers", "customer.getId()", "customer.getRegion()"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        assertEquals("caches.get(\"customers\").invalidate(CacheKey.of(customer.getId(), customer.getRegion()));",
+                generator.generate());
+    }
+
+    @Test
+    void shouldClearTheWholeCacheWithoutKey() {
+        TypeElement packageClass = createPackage(
+                createCachedMethod("getCustomerById", "", "id"),
+                createCachedMethod("getCustomerFullName", "", "id"));
+        ExecutableElement method = createMethod("importCustomers", "customers");
+        evicts(method, createEvicts("getCustomerById"), createEvicts("getCustomerFullName"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, true);
+
+        String expected = "caches.get(\"getCustomerById\").invalidateAll();\n" +
+                "caches.get(\"getCustomerFullName\").invalidateAll();";
+        assertEquals(expected, generator.generate());
+    }
+
+    @Test
+    void shouldRejectUnknownCache() {
+        TypeElement packageClass = createPackage(createCachedMethod("getCustomerById", "", "id"));
+        ExecutableElement method = createMethod("updateCustomer", "id");
+        evicts(method, createEvicts("getCustomer", "id"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("Unknown cache 'getCustomer'"));
+    }
+
+    @Test
+    void shouldRejectKeyNotMatchingTheCachedParameters() {
+        TypeElement packageClass = createPackage(createCachedMethod("findCustomer", "", "id", "region"));
+        ExecutableElement method = createMethod("updateCustomer", "id");
+        evicts(method, createEvicts("findCustomer", "id"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("has 2 values, found 1"));
+    }
+
+    @Test
+    void shouldRejectKeyNotStartingWithAParameter() {
+        TypeElement packageClass = createPackage(createCachedMethod("getCustomerById", "", "id"));
+        ExecutableElement method = createMethod("updateCustomer", "customerId");
+        evicts(method, createEvicts("getCustomerById", "id"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, false);
+
+        assertThrows(IllegalStateException.class, generator::generate);
+    }
+
+    @Test
+    void shouldRejectKeyOnBatchMethod() {
+        TypeElement packageClass = createPackage(createCachedMethod("getCustomerById", "", "id"));
+        ExecutableElement method = createMethod("importCustomers", "customers");
+        evicts(method, createEvicts("getCustomerById", "customers"));
+
+        EvictionGenerator generator = new EvictionGenerator(packageClass, method, true);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("can only evict a whole cache"));
+    }
+
+    // Helper methods to create test objects
+    private TypeElement createPackage(ExecutableElement... methods) {
+        TypeElement packageClass = mock(TypeElement.class);
+        doReturn(List.of(methods)).when(packageClass).getEnclosedElements();
+        return packageClass;
+    }
+
+    private ExecutableElement createCachedMethod(String methodName, String cacheName, String... parameters) {
+        ExecutableElement method = createMethod(methodName, parameters);
+        Cached cached = mock(Cached.class);
+        when(cached.name()).thenReturn(cacheName);
+        when(method.getAnnotation(Cached.class)).thenReturn(cached);
+        return method;
+    }
+
+    private ExecutableElement createMethod(String methodName, String... parameters) {
+        ExecutableElement method = mock(ExecutableElement.class);
+        when(method.getKind()).thenReturn(ElementKind.METHOD);
+        Name name = createName(methodName);
+        when(method.getSimpleName()).thenReturn(name);
+        List<VariableElement> variables = Arrays.stream(parameters)
+                .map(parameter -> {
+                    VariableElement variable = mock(VariableElement.class);
+                    Name parameterName = createName(parameter);
+                    when(variable.getSimpleName()).thenReturn(parameterName);
+                    return variable;
+                })
+                .toList();
+        doReturn(variables).when(method).getParameters();
+        when(method.getAnnotationsByType(Evicts.class)).thenReturn(new Evicts[0]);
+        return method;
+    }
+
+    private void evicts(ExecutableElement method, Evicts... evicts) {
+        when(method.getAnnotationsByType(Evicts.class)).thenReturn(evicts);
+    }
+
+    private Evicts createEvicts(String cache, String... key) {
+        Evicts evicts = mock(Evicts.class);
+        when(evicts.cache()).thenReturn(cache);
+        when(evicts.key()).thenReturn(key);
+        return evicts;
+    }
+
+    private Name createName(String value) {
+        Name name = mock(Name.class);
+        when(name.toString()).thenReturn(value);
+        return name;
+    }
+}
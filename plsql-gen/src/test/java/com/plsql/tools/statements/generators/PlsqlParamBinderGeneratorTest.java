@@ -1,6 +1,7 @@
 package com.plsql.tools.statements.generators;
 
 import com.plsql.tools.enums.TypeMapper;
+import com.plsql.tools.tools.extraction.info.ArrayElementInfo;
 import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
 import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
@@ -89,6 +90,28 @@ public class PlsqlParamBinderGeneratorTest {
         assertEquals("stmt.setString(pos++,StringTools.toString(middleInitial));", resultWrapper);
     }
 
+    @Test
+    void shouldBindCollectionToSqlCollectionType() {
+        ArrayElementInfo idsParam = new ArrayElementInfo(mock(TypeInfo.class), "ids", "NUM_TAB", true);
+        PlsqlParamBinderGenerator generator = new PlsqlParamBinderGenerator(List.of(idsParam), false);
+
+        String result = generator.generate();
+
+        assertEquals("ArrayTools.setArray(stmt, pos++, \"NUM_TAB\", ids == null ? null : " +
+                "cnx.unwrap(oracle.jdbc.OracleConnection.class).createOracleArray(\"NUM_TAB\", ArrayTools.toArrayElements(ids)));", result);
+    }
+
+    @Test
+    void shouldBindArrayToSqlCollectionTypeWithoutCopy() {
+        ArrayElementInfo idsParam = new ArrayElementInfo(mock(TypeInfo.class), "ids", "NUM_TAB", false);
+        PlsqlParamBinderGenerator generator = new PlsqlParamBinderGenerator(List.of(idsParam), true);
+
+        String result = generator.generate();
+
+        assertEquals("ArrayTools.setArray(stmt, ++pos, \"NUM_TAB\", ids == null ? null : " +
+                "cnx.unwrap(oracle.jdbc.OracleConnection.class).createOracleArray(\"NUM_TAB\", ids));", result);
+    }
+
     @Test
     void shouldFlattenNestedComposedParameters() {
         // Create a composed parameter with nested structure
@@ -285,6 +308,23 @@ public class PlsqlParamBinderGeneratorTest {
         assertTrue(result.contains("setBoolean"));
     }
 
+    @Test
+    void shouldBindWrappersThroughNullSafeSetters() {
+        ElementInfo intParam = createSimpleParameter("id", TypeMapper.INTEGER_WRAPPER);
+        ElementInfo doubleParam = createSimpleParameter("amount", TypeMapper.DOUBLE_WRAPPER);
+        ElementInfo primitiveParam = createSimpleParameter("count", TypeMapper.INTEGER);
+
+        PlsqlParamBinderGenerator generator = new PlsqlParamBinderGenerator(
+                List.of(intParam, doubleParam, primitiveParam), false);
+
+        String result = generator.generate();
+
+        String expected = "StatementTools.setInt(stmt,pos++,id);\n" +
+                "StatementTools.setDouble(stmt,pos++,amount);\n" +
+                "stmt.setInt(pos++,count);";
+        assertEquals(expected, result);
+    }
+
     @Test
     void shouldHandleBigDecimalAndBigInteger() {
         ElementInfo bigDecParam = createSimpleParameter("decimal", TypeMapper.BIG_DECIMAL);
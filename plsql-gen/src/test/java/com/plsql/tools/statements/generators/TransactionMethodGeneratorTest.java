@@ -0,0 +1,108 @@
+package com.plsql.tools.statements.generators;
+
+import com.plsql.tools.annotations.PlsqlCallable;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionMethodGeneratorTest {
+
+    @Test
+    void shouldRunTheMethodInATransaction() {
+        ExecutableElement method = createMethod("transfer", "long", Set.of(Modifier.PUBLIC), "from", "to");
+
+        String generated = new TransactionMethodGenerator(method).generate();
+
+        assertTrue(generated.contains("@Override"));
+        assertTrue(generated.contains("public long transfer(long from, long to){"));
+        assertTrue(generated.contains("return PlsqlSession.inTransaction(() -> super.transfer(from, to));"));
+    }
+
+    @Test
+    void shouldKeepTheAccessOfAVoidMethod() {
+        ExecutableElement method = createMethod("renameCustomer", "void", Set.of(Modifier.PROTECTED), "id");
+
+        String generated = new TransactionMethodGenerator(method).generate();
+
+        assertTrue(generated.contains("protected void renameCustomer(long id){"));
+        assertTrue(generated.contains("PlsqlSession.inTransaction(() -> super.renameCustomer(id));"));
+        assertFalse(generated.contains("return"));
+    }
+
+    @Test
+    void shouldRejectAbstractMethod() {
+        ExecutableElement method = createMethod("getCustomer", "long", Set.of(Modifier.PUBLIC, Modifier.ABSTRACT), "id");
+
+        TransactionMethodGenerator generator = new TransactionMethodGenerator(method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("must be overridable"));
+    }
+
+    @Test
+    void shouldRejectCallable() {
+        ExecutableElement method = createMethod("updateCustomer", "void", Set.of(Modifier.PUBLIC), "id");
+        when(method.getAnnotation(PlsqlCallable.class)).thenReturn(mock(PlsqlCallable.class));
+
+        TransactionMethodGenerator generator = new TransactionMethodGenerator(method);
+
+        assertThrows(IllegalStateException.class, generator::generate);
+    }
+
+    @Test
+    void shouldRejectDeclaredExceptions() {
+        ExecutableElement method = createMethod("importCustomers", "void", Set.of(Modifier.PUBLIC), "id");
+        doReturn(List.of(createType("java.io.IOException"))).when(method).getThrownTypes();
+
+        TransactionMethodGenerator generator = new TransactionMethodGenerator(method);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::generate);
+        assertTrue(exception.getMessage().contains("must not declare exceptions"));
+    }
+
+    // Helper methods to create test objects
+    private ExecutableElement createMethod(String methodName, String returnType, Set<Modifier> modifiers, String... parameters) {
+        ExecutableElement method = mock(ExecutableElement.class);
+        Name name = createName(methodName);
+        when(method.getSimpleName()).thenReturn(name);
+        TypeMirror type = createType(returnType);
+        doReturn(type).when(method).getReturnType();
+        when(method.getModifiers()).thenReturn(modifiers);
+        List<VariableElement> variables = Arrays.stream(parameters)
+                .map(parameter -> {
+                    VariableElement variable = mock(VariableElement.class);
+                    Name parameterName = createName(parameter);
+                    when(variable.getSimpleName()).thenReturn(parameterName);
+                    TypeMirror parameterType = createType("long");
+                    when(variable.asType()).thenReturn(parameterType);
+                    return variable;
+                })
+                .toList();
+        doReturn(variables).when(method).getParameters();
+        return method;
+    }
+
+    private TypeMirror createType(String value) {
+        TypeMirror type = mock(TypeMirror.class);
+        when(type.toString()).thenReturn(value);
+        return type;
+    }
+
+    private Name createName(String value) {
+        Name name = mock(Name.class);
+        when(name.toString()).thenReturn(value);
+        return name;
+    }
+}
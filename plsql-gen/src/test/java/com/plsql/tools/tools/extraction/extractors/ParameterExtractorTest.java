@@ -1,7 +1,10 @@
 package com.plsql.tools.tools.extraction.extractors;
 
+import com.plsql.tools.annotations.PlsqlParam;
 import com.plsql.tools.tools.extraction.cache.SimpleCache;
+import com.plsql.tools.tools.extraction.info.ArrayElementInfo;
 import com.plsql.tools.tools.extraction.info.AttachedElementInfo;
+import com.plsql.tools.tools.extraction.info.BatchElementInfo;
 import com.plsql.tools.tools.extraction.info.ComposedElementInfo;
 import com.plsql.tools.tools.extraction.info.ElementInfo;
 import com.plsql.tools.tools.extraction.info.TypeInfo;
@@ -15,7 +18,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import java.util.Collections;
 import java.util.List;
@@ -94,6 +99,109 @@ class ParameterExtractorTest {
         assertEquals(typeInfo, elementInfo.getTypeInfo());
     }
 
+    @Test
+    @DisplayName("extractParams should skip the Consumer parameter receiving the rows")
+    void testExtractParams_rowCallbackParameter() {
+        // Arrange
+        DeclaredType consumerType = mock(DeclaredType.class);
+        TypeElement consumerElement = mock(TypeElement.class);
+        Name consumerName = mock(Name.class);
+        when(method.getParameters()).thenAnswer(inv -> List.of(parameter));
+        when(parameter.asType()).thenReturn(consumerType);
+        when(consumerType.asElement()).thenReturn(consumerElement);
+        when(consumerElement.getQualifiedName()).thenReturn(consumerName);
+        when(consumerName.contentEquals("java.util.function.Consumer")).thenReturn(true);
+
+        // Act
+        List<ElementInfo> result = extractor.extractParams(method);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(typeInfoExtractor, never()).extractTypeInfo(any(Element.class));
+        verify(composedElementExtractor, never()).convertInto(any(Element.class));
+    }
+
+    @Test
+    @DisplayName("extractParams should bind a collection of records one element per call")
+    void testExtractParams_batchParameter() {
+        // Arrange
+        TypeMirror recordMirror = mock(TypeMirror.class);
+        Element recordElement = mock(Element.class);
+        TypeInfo recordTypeInfo = mock(TypeInfo.class);
+        ComposedElementInfo recordInfo = new ComposedElementInfo(recordTypeInfo, "Customer");
+        when(method.getParameters()).thenAnswer(inv -> List.of(parameter));
+        when(parameter.getSimpleName()).thenReturn(parameterName);
+        when(parameterName.toString()).thenReturn("customers");
+        when(typeInfoExtractor.extractTypeInfo(parameter)).thenReturn(typeInfo);
+        when(typeInfo.isSimple()).thenReturn(false);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(typeInfo.getWrappedType()).thenReturn(recordMirror);
+        when(typeInfo.getRawWrappedType()).thenReturn(recordElement);
+        when(typeInfoExtractor.isCollection(typeMirror)).thenReturn(true);
+        when(cache.contains(recordMirror)).thenReturn(true);
+        when(composedElementExtractor.convertInto(recordElement)).thenReturn(recordInfo);
+
+        // Act
+        List<ElementInfo> result = extractor.extractParams(method);
+
+        // Assert
+        assertEquals(1, result.size());
+        BatchElementInfo batchInfo = assertInstanceOf(BatchElementInfo.class, result.get(0));
+        assertEquals("customersItem__$", batchInfo.getName());
+        assertEquals("customers", batchInfo.getCollectionName());
+        assertEquals(recordTypeInfo, batchInfo.getTypeInfo());
+    }
+
+    @Test
+    @DisplayName("extractParams should bind a collection of simple values to its SQL collection type")
+    void testExtractParams_sqlCollectionParameter() {
+        // Arrange
+        PlsqlParam plsqlParam = mock(PlsqlParam.class);
+        when(method.getParameters()).thenAnswer(inv -> List.of(parameter));
+        when(parameter.getSimpleName()).thenReturn(parameterName);
+        when(parameterName.toString()).thenReturn("ids");
+        when(parameter.getAnnotation(PlsqlParam.class)).thenReturn(plsqlParam);
+        when(plsqlParam.sqlType()).thenReturn("NUM_TAB");
+        when(typeInfoExtractor.extractTypeInfo(parameter)).thenReturn(typeInfo);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.isWrappedSimple()).thenReturn(true);
+        when(typeInfoExtractor.isCollection(typeMirror)).thenReturn(true);
+
+        // Act
+        List<ElementInfo> result = extractor.extractParams(method);
+
+        // Assert
+        assertEquals(1, result.size());
+        ArrayElementInfo arrayInfo = assertInstanceOf(ArrayElementInfo.class, result.get(0));
+        assertEquals("ids", arrayInfo.getName());
+        assertEquals("NUM_TAB", arrayInfo.getSqlType());
+        assertTrue(arrayInfo.isCollection());
+    }
+
+    @Test
+    @DisplayName("extractParams should reject a SQL collection type on a collection of records")
+    void testExtractParams_sqlCollectionOfRecords_shouldThrow() {
+        // Arrange
+        PlsqlParam plsqlParam = mock(PlsqlParam.class);
+        when(method.getParameters()).thenAnswer(inv -> List.of(parameter));
+        when(parameter.getSimpleName()).thenReturn(parameterName);
+        when(parameterName.toString()).thenReturn("customers");
+        when(parameter.getAnnotation(PlsqlParam.class)).thenReturn(plsqlParam);
+        when(plsqlParam.sqlType()).thenReturn("CUSTOMER_TAB");
+        when(typeInfoExtractor.extractTypeInfo(parameter)).thenReturn(typeInfo);
+        when(typeInfo.getMirror()).thenReturn(typeMirror);
+        when(typeInfo.isWrapped()).thenReturn(true);
+        when(typeInfo.isWrappedSimple()).thenReturn(false);
+        when(typeInfo.typeAsString()).thenReturn("java.util.List<Customer>");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> extractor.extractParams(method));
+        assertTrue(exception.getMessage().contains("CUSTOMER_TAB"));
+    }
+
     @Test
     @DisplayName("extractParams should extract complex parameter using ComposedElementExtractor")
     void testExtractParams_complexParameter() {